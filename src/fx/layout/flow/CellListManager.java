@@ -1,5 +1,6 @@
 package fx.layout.flow;
 
+import java.util.IdentityHashMap;
 import java.util.Optional;
 import java.util.function.Function;
 
@@ -25,6 +26,9 @@ class CellListManager<T, C extends Cell<T, ? extends Node>> {
   final LiveList<C> presentCells;
   final LiveList<Node> cellNodes;
 
+  // the item of each present cell
+  final IdentityHashMap<C, T> cellItems = new IdentityHashMap<>();
+
   final Subscription presentCellsSubscription;
 
   CellListManager(Node owner, ObservableList<T> items, Function<? super T, ? extends C> cellFactory) {
@@ -41,6 +45,7 @@ class CellListManager<T, C extends Cell<T, ? extends Node>> {
     // because stopping to observe memoized items may clear memoized items
     presentCells.forEach(cellPool::acceptCell);
     presentCellsSubscription.unsubscribe();
+    cellItems.clear();
     cellPool.dispose();
   }
 
@@ -70,6 +75,13 @@ class CellListManager<T, C extends Cell<T, ? extends Node>> {
     return cells.get(itemIndex);
   }
 
+  /**
+   * Returns the item of the given present cell, or null.
+   */
+  T itemOf(Cell<?, ?> cell) {
+    return cellItems.get(cell);
+  }
+
   /**
    * Updates the list of cells to display
    *
@@ -90,6 +102,7 @@ class CellListManager<T, C extends Cell<T, ? extends Node>> {
 
   C cellForItem(T item) {
     var cell = cellPool.getCell(item);
+    cellItems.put(cell, item);
     // apply CSS when the cell is first added to the scene
     var node = cell.getNode();
     EventStreams.nonNullValuesOf(node.sceneProperty()).subscribeForOne(scene -> node.applyCss());
@@ -130,6 +143,7 @@ class CellListManager<T, C extends Cell<T, ? extends Node>> {
   void presentCellsChanged(QuasiModification<? extends C> mod) {
     // add removed cells back to the pool
     for (var cell : mod.getRemoved()) {
+      cellItems.remove(cell);
       cellPool.acceptCell(cell);
     }
     // update indices of added cells and cells after the added cells
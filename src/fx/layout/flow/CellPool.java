@@ -1,57 +1,156 @@
 package fx.layout.flow;
 
-import java.util.LinkedList;
-import java.util.Queue;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.function.Function;
 
 /**
  * Helper class that stores a pool of reusable cells that can be updated via {@link Cell#updateItem(Object)} or
  * creates new ones via its {@link #cellFactory} if the pool is empty.
+ *
+ * <p>Cells are pooled by the <em>kind</em> of the item they were created or last updated for, as given by
+ * {@link #setCellKind(Function)}, so that e.g. a cell that renders an image is not reused for a text paragraph and
+ * rebuilt. By default all items are of the same kind. Each kind keeps at most {@link #setMaxIdleCells(int)} idle
+ * cells; beyond that, the least recently used idle cell is disposed. The most recently accepted cell is reused
+ * first. Cells handed out before the kind function was last set are disposed when they are accepted back, since
+ * their kind is no longer known.</p>
  */
 class CellPool<T, C extends Cell<T, ?>> {
 
+  static final Object DEFAULT_KIND = new Object();
+
   final Function<? super T, ? extends C> cellFactory;
-  final Queue<C> pool = new LinkedList<>();
+
+  // idle cells by kind
+  final HashMap<Object, ArrayDeque<C>> pools = new HashMap<>();
+
+  // the kind of each cell handed out since the kind function was last set
+  final IdentityHashMap<C, Object> kinds = new IdentityHashMap<>();
+
+  Function<? super T, ?> cellKind = null;
+  int maxIdleCells = Integer.MAX_VALUE;
 
   CellPool(Function<? super T, ? extends C> cellFactory) {
     this.cellFactory = cellFactory;
   }
 
   /**
-   * Returns a reusable cell that has been updated with the current item if the pool has one, or returns a
-   * newly-created one via its {@link #cellFactory}.
+   * Sets the function that returns the kind of an item (compared by {@code equals}); only cells of the same
+   * kind are reused for an item. The idle cells are disposed, and so will be the cells currently in use.
+   */
+  void setCellKind(Function<? super T, ?> cellKind) {
+    this.cellKind = cellKind;
+    clear();
+    kinds.clear();
+  }
+
+  /**
+   * Sets the maximum number of idle cells of each kind; excess idle cells are disposed.
+   */
+  void setMaxIdleCells(int maxIdleCells) {
+    this.maxIdleCells = maxIdleCells;
+    for (var pool : pools.values()) {
+      while (pool.size() > maxIdleCells) {
+        pool.pollLast().dispose(); // keep the most recently used ones
+      }
+    }
+  }
+
+  Object kindOf(T item) {
+    if (cellKind == null) {
+      return DEFAULT_KIND;
+    }
+    var kind = cellKind.apply(item);
+    return (kind == null) ? DEFAULT_KIND : kind;
+  }
+
+  /**
+   * Returns a reusable cell of the item's kind that has been updated with the current item if the pool has one,
+   * or returns a newly-created one via its {@link #cellFactory}.
    */
   C getCell(T item) {
-    C cell = pool.poll();
+    var kind = kindOf(item);
+    var pool = pools.get(kind);
+    C cell = (pool == null) ? null : pool.pollFirst();
     if (cell != null) {
       cell.updateItem(item);
     } else {
       cell = cellFactory.apply(item);
     }
+    kinds.put(cell, kind);
     return cell;
   }
 
   /**
-   * Adds the cell to the pool of reusable cells if {@link Cell#isReusable()} is true, or
-   * {@link Cell#dispose() disposes} the cell if it's not.
+   * Adds the cell to the pool of reusable cells of its kind if {@link Cell#isReusable()} is true, or
+   * {@link Cell#dispose() disposes} the cell if it's not, or if it was handed out before the kind function was
+   * last set.
    */
   void acceptCell(C cell) {
+    var kind = kinds.remove(cell);
     cell.reset();
-    if (cell.isReusable()) {
-      pool.add(cell);
+    if (kind != null && cell.isReusable()) {
+      pool(kind, cell);
     } else {
       cell.dispose();
     }
   }
 
+  void pool(Object kind, C cell) {
+    if (maxIdleCells == 0) {
+      cell.dispose();
+      return;
+    }
+    var pool = pools.computeIfAbsent(kind, k -> new ArrayDeque<>());
+    if (pool.size() >= maxIdleCells) {
+      pool.pollLast().dispose(); // the least recently used one
+    }
+    pool.addFirst(cell);
+  }
+
+  /**
+   * Creates cells for the given item until there are {@code count} idle cells of its kind, e.g. before the
+   * viewport is first shown. Cells that are not reusable are not created.
+   */
+  void prewarm(T item, int count) {
+    var kind = kindOf(item);
+    var target = Math.min(count, maxIdleCells);
+    var pool = pools.computeIfAbsent(kind, k -> new ArrayDeque<>());
+    while (pool.size() < target) {
+      var cell = cellFactory.apply(item);
+      if (!cell.isReusable()) {
+        cell.dispose();
+        return;
+      }
+      cell.reset();
+      pool.addLast(cell);
+    }
+  }
+
+  int getIdleCount() {
+    var n = 0;
+    for (var pool : pools.values()) {
+      n += pool.size();
+    }
+    return n;
+  }
+
+  void clear() {
+    for (var pool : pools.values()) {
+      for (var cell : pool) {
+        cell.dispose();
+      }
+    }
+    pools.clear();
+  }
+
   /**
    * Disposes the cell pool and prevents any memory leaks.
    */
   void dispose() {
-    for (var cell : pool) {
-      cell.dispose();
-    }
-    pool.clear();
+    clear();
+    kinds.clear();
   }
 
-}
\ No newline at end of file
+}
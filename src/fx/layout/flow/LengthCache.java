@@ -0,0 +1,101 @@
+package fx.layout.flow;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded cache of the measured lengths of cells, keyed by the identity of their item, so that an item whose
+ * cell is recycled and shown again is not measured again, e.g. when scrolling back and forth.
+ *
+ * <p>All entries are for one layout breadth; looking up a different breadth clears the cache. An item that is
+ * replaced in the list of items has a different identity, so its entry is never hit again and is eventually
+ * evicted; the least recently used entry is evicted when the capacity is exceeded. Items must therefore not
+ * change in a way that changes their length without being replaced.</p>
+ */
+final class LengthCache {
+
+  /**
+   * Compares items by identity: it is cheaper than {@code equals} for items like paragraphs, and an item that
+   * is replaced by an equal one still misses.
+   */
+  static final class Key {
+    final Object item;
+
+    Key(Object item) {
+      this.item = item;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      return other instanceof Key key && key.item == item;
+    }
+
+    @Override
+    public int hashCode() {
+      return System.identityHashCode(item);
+    }
+  }
+
+  final LinkedHashMap<Key, Double> lengths;
+
+  int capacity;
+  double breadth = Double.NaN;
+
+  long hits = 0;
+  long misses = 0;
+
+  LengthCache(int capacity) {
+    this.capacity = capacity;
+    this.lengths = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Key, Double> eldest) {
+        return size() > LengthCache.this.capacity;
+      }
+    };
+  }
+
+  void setCapacity(int capacity) {
+    this.capacity = capacity;
+    var it = lengths.keySet().iterator();
+    for (var excess = lengths.size() - capacity; excess > 0; --excess) {
+      it.next();
+      it.remove();
+    }
+  }
+
+  /**
+   * Returns the cached length of the given item at the given breadth, or NaN.
+   */
+  double get(Object item, double breadth) {
+    if (capacity == 0) {
+      return Double.NaN;
+    }
+    if (breadth != this.breadth) {
+      lengths.clear();
+      this.breadth = breadth;
+    }
+    var length = lengths.get(new Key(item));
+    if (length == null) {
+      ++misses;
+      return Double.NaN;
+    }
+    ++hits;
+    return length;
+  }
+
+  void put(Object item, double breadth, double length) {
+    if (capacity == 0) {
+      return;
+    }
+    if (breadth != this.breadth) {
+      lengths.clear();
+      this.breadth = breadth;
+    }
+    lengths.put(new Key(item), length);
+  }
+
+  int size() {
+    return lengths.size();
+  }
+
+}
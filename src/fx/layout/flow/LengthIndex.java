@@ -0,0 +1,197 @@
+package fx.layout.flow;
+
+import java.util.Arrays;
+
+/**
+ * The lengths of all the cells of a {@link Viewport} that have been measured, with the cumulative length before
+ * any cell, so that scroll positions can be computed exactly instead of from an average cell length.
+ *
+ * <p>Each item's length is either known or unknown (NaN); unknown lengths are estimated by a given length, usually
+ * the average of the known ones. Known lengths and counts are kept in two Fenwick (binary indexed) trees, so the
+ * length before an item, and the item at a given length, take O(log n) time. Measuring an item updates the trees in
+ * O(log n); inserting or removing items splices the array of lengths and rebuilds the trees in O(n) when they are
+ * next queried, so that a burst of modifications is paid for once.</p>
+ *
+ * <p>A Fenwick tree is used instead of a {@link fx.util.tree.FingerTree} since the latter locates positions by
+ * integer metrics only.</p>
+ */
+final class LengthIndex {
+
+  /**
+   * The item at some length, and the remaining length from the start of that item.
+   */
+  record Position(int index, double offset) {}
+
+  // NaN for unknown lengths
+  double[] lengths;
+  int size;
+
+  // 1-based Fenwick trees of known lengths and known counts; invalid when dirty
+  double[] sums = new double[1];
+  int[] counts = new int[1];
+  boolean dirty = true;
+
+  double knownSum = 0.0;
+  int knownCount = 0;
+
+  LengthIndex(int size) {
+    this.lengths = new double[Math.max(size, 16)];
+    Arrays.fill(lengths, Double.NaN);
+    this.size = size;
+  }
+
+  int size() {
+    return size;
+  }
+
+  boolean isKnown(int index) {
+    return !Double.isNaN(lengths[index]);
+  }
+
+  /**
+   * Returns the first item at or after {@code from} whose length is unknown, or {@link #size()} if there is none.
+   */
+  int nextUnknown(int from) {
+    var i = from;
+    while (i < size && !Double.isNaN(lengths[i])) {
+      ++i;
+    }
+    return i;
+  }
+
+  /**
+   * Returns the average known length, or NaN if there is none.
+   */
+  double averageKnownLength() {
+    return (knownCount == 0) ? Double.NaN : knownSum / knownCount;
+  }
+
+  /**
+   * Replaces {@code removedSize} items at {@code from} by {@code addedSize} items of unknown length.
+   */
+  void replace(int from, int removedSize, int addedSize) {
+    for (var i = from; i < from + removedSize; ++i) {
+      if (isKnown(i)) {
+        knownSum -= lengths[i];
+        --knownCount;
+      }
+    }
+    var newSize = size - removedSize + addedSize;
+    var tail = size - from - removedSize;
+    if (newSize > lengths.length) {
+      var newLengths = new double[Math.max(newSize, 2 * lengths.length)];
+      System.arraycopy(lengths, 0, newLengths, 0, from);
+      System.arraycopy(lengths, from + removedSize, newLengths, from + addedSize, tail);
+      lengths = newLengths;
+    } else {
+      System.arraycopy(lengths, from + removedSize, lengths, from + addedSize, tail);
+    }
+    Arrays.fill(lengths, from, from + addedSize, Double.NaN);
+    Arrays.fill(lengths, newSize, Math.max(size, newSize), Double.NaN);
+    size = newSize;
+    dirty = true;
+  }
+
+  void set(int index, double length) {
+    assert !Double.isNaN(length);
+    update(index, length);
+  }
+
+  void forget(int index) {
+    update(index, Double.NaN);
+  }
+
+  void update(int index, double length) {
+    var old = lengths[index];
+    if (Double.compare(old, length) == 0) {
+      return;
+    }
+    lengths[index] = length;
+    var sumDelta = 0.0;
+    var countDelta = 0;
+    if (!Double.isNaN(old)) {
+      sumDelta -= old;
+      --countDelta;
+    }
+    if (!Double.isNaN(length)) {
+      sumDelta += length;
+      ++countDelta;
+    }
+    knownSum += sumDelta;
+    knownCount += countDelta;
+    if (!dirty) {
+      for (var i = index + 1; i <= size; i += i & -i) {
+        sums[i] += sumDelta;
+        counts[i] += countDelta;
+      }
+    }
+  }
+
+  void rebuild() {
+    if (sums.length < size + 1) {
+      sums = new double[lengths.length + 1];
+      counts = new int[lengths.length + 1];
+    } else {
+      Arrays.fill(sums, 0, size + 1, 0.0);
+      Arrays.fill(counts, 0, size + 1, 0);
+    }
+    for (var i = 1; i <= size; ++i) {
+      var length = lengths[i - 1];
+      if (!Double.isNaN(length)) {
+        sums[i] += length;
+        counts[i] += 1;
+      }
+      var parent = i + (i & -i);
+      if (parent <= size) {
+        sums[parent] += sums[i];
+        counts[parent] += counts[i];
+      }
+    }
+    dirty = false;
+  }
+
+  /**
+   * Returns the total length of the items before the given one.
+   */
+  double lengthBefore(int index, double unknownLength) {
+    assert index >= 0 && index <= size;
+    if (dirty) {
+      rebuild();
+    }
+    var sum = 0.0;
+    var count = 0;
+    for (var i = index; i > 0; i -= i & -i) {
+      sum += sums[i];
+      count += counts[i];
+    }
+    return sum + (index - count) * unknownLength;
+  }
+
+  double totalLength(double unknownLength) {
+    return knownSum + (size - knownCount) * unknownLength;
+  }
+
+  /**
+   * Returns the item at the given length from the start of the first item. A length beyond the last item
+   * returns {@link #size()} as the index, and the length beyond the last item as the offset.
+   */
+  Position locate(double length, double unknownLength) {
+    if (dirty) {
+      rebuild();
+    }
+    var pos = 0;
+    var acc = 0.0;
+    for (var step = Integer.highestOneBit(size); step > 0; step >>= 1) {
+      var next = pos + step;
+      if (next <= size) {
+        var len = sums[next] + (step - counts[next]) * unknownLength;
+        if (acc + len <= length) {
+          pos = next;
+          acc += len;
+        }
+      }
+    }
+    return new Position(pos, length - acc);
+  }
+
+}
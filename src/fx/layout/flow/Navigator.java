@@ -11,6 +11,7 @@ import fx.react.Subscription;
 import fx.react.collection.LiveList;
 import fx.react.collection.MemoizedList;
 import fx.react.collection.QuasiChange;
+import fx.react.value.Var;
 
 /**
  * Responsible for laying out cells' nodes within the viewport based on a single anchor node. In a layout call,
@@ -19,6 +20,11 @@ import fx.react.collection.QuasiChange;
  * are reached or there are no other cells' nodes to render. In this latter case (when there is not enough content to
  * fill up the entire viewport), the displayed cells are repositioned towards the "ground," based on the
  * {@link Viewport}'s {@link Gravity} value, and any remaining unused space counts as the "sky."
+ *
+ * <p>When {@link #incrementalLayout} is set, a modification of the items that lies entirely before or after the
+ * visible cells, while they cover the viewport, does not request a layout, and a layout caused only by modified
+ * items or cells that need layout keeps the cells before the first such item in place and only re-places the cells
+ * from it onwards, provided the result is the one a full layout from the target position would give.</p>
  */
 class Navigator<T, C extends Cell<T, ?>> extends Region implements TargetPositionVisitor {
 
@@ -35,6 +41,15 @@ class Navigator<T, C extends Cell<T, ?>> extends Region implements TargetPositio
   int firstVisibleIndex = -1;
   int lastVisibleIndex = -1;
 
+  final Var<Boolean> incrementalLayout = Var.newSimpleVar(false);
+
+  // the lowest index of an item modified within the viewport since the last layout, in incremental mode
+  int dirtyFrom = Integer.MAX_VALUE;
+  // the visible cells covered the whole viewport at the last layout, at this breadth and length
+  boolean viewportCovered = false;
+  double laidOutBreadth = Double.NaN;
+  double laidOutLength = Double.NaN;
+
   Navigator(CellListManager<T, C> cellListManager, CellPositioner<T, C> positioner, OrientationHelper orientation, ObjectProperty<Gravity> gravity, SizeTracker sizeTracker) {
     this.cellListManager = cellListManager;
     this.cells = cellListManager.getLazyCellList();
@@ -56,6 +71,8 @@ class Navigator<T, C extends Cell<T, ?>> extends Region implements TargetPositio
 
   @Override
   protected void layoutChildren() {
+    var dirty = dirtyFrom;
+    dirtyFrom = Integer.MAX_VALUE;
     // invalidate breadth for each cell that has dirty layout
     var n = cells.getMemoizedCount();
     for (var i = 0; i < n; ++i) {
@@ -63,13 +80,69 @@ class Navigator<T, C extends Cell<T, ?>> extends Region implements TargetPositio
       var node = cells.get(j).getNode();
       if (node instanceof Parent && ((Parent) node).isNeedsLayout()) {
         sizeTracker.forgetSizeOf(j);
+        dirty = Math.min(dirty, j);
       }
     }
-    if (!cells.isEmpty()) {
+    if (!cells.isEmpty() && !(incrementalLayout.getValue() && relayoutFrom(dirty))) {
       targetPosition.clamp(cells.size()).accept(this);
     }
     currentPosition = getCurrentPosition();
     targetPosition = currentPosition;
+    laidOutBreadth = sizeTracker.getCellLayoutBreadth();
+    laidOutLength = sizeTracker.getViewportLength();
+    viewportCovered = !cells.isEmpty() && isViewportCovered(lastVisibleIndex, false);
+  }
+
+  /**
+   * Re-places the cells from the given one to the end of the viewport after the cell before it, which stays in
+   * place with all the cells before it (the first visible cell is placed at the current position), unless the
+   * target position changed, the viewport was resized, or the re-placed cells would have to be shifted towards
+   * the ground.
+   *
+   * @return false if the viewport must be laid out from the target position instead
+   */
+  boolean relayoutFrom(int itemIndex) {
+    if (targetPosition != currentPosition || itemIndex < firstVisibleIndex || itemIndex > cells.size()
+        || laidOutBreadth != sizeTracker.getCellLayoutBreadth() || laidOutLength != sizeTracker.getViewportLength()) {
+      return false;
+    }
+    var anchor = itemIndex - 1;
+    if (itemIndex == firstVisibleIndex) {
+      // the first visible item itself was modified: place it at the current position
+      if (!(currentPosition instanceof StartOffStart start) || itemIndex == cells.size()) {
+        return false;
+      }
+      positioner.placeStartAt(itemIndex, start.offsetFromStart);
+      anchor = itemIndex;
+    } else if (positioner.getCellIfVisible(firstVisibleIndex).isEmpty() || positioner.getCellIfVisible(anchor).isEmpty()) {
+      return false;
+    }
+    var last = fillForwardFrom0(anchor);
+    if (!isViewportCovered(last, true)) {
+      return false;
+    }
+    while (last > firstVisibleIndex && orientation.minY(positioner.getVisibleCell(last)) >= sizeTracker.getViewportLength()) {
+      --last;
+    }
+    lastVisibleIndex = last;
+    positioner.cropTo(firstVisibleIndex, last + 1);
+    return true;
+  }
+
+  /**
+   * Whether the cells from the first visible one to the given one cover the viewport, or, if {@code orAtGround},
+   * are where {@link #fillViewportFrom(int)} would leave them: at the front of the viewport with the front gravity.
+   */
+  boolean isViewportCovered(int lastIndex, boolean orAtGround) {
+    var start = orientation.minY(positioner.getVisibleCell(firstVisibleIndex));
+    var end = orientation.maxY(positioner.getVisibleCell(lastIndex));
+    if (start > 0.0) {
+      return false;
+    } else if (end >= sizeTracker.getViewportLength()) {
+      return true;
+    } else {
+      return orAtGround && gravity.get() == Gravity.FRONT && firstVisibleIndex == 0 && start == 0.0;
+    }
   }
 
   /**
@@ -99,11 +172,39 @@ class Navigator<T, C extends Cell<T, ?>> extends Region implements TargetPositio
   }
 
   void itemsChanged(QuasiChange<?> ch) {
+    if (!incrementalLayout.getValue()) {
+      for (var mod : ch) {
+        targetPosition = targetPosition.transformByChange(mod.getFrom(), mod.getRemovedSize(), mod.getAddedSize());
+      }
+      requestLayout();
+      // TODO: could optimize to only request layout if target position changed or cells in the viewport are affected
+      return;
+    }
+    // the visible cells stay in place if all the modifications are outside of them
+    var outside = viewportCovered && targetPosition == currentPosition;
     for (var mod : ch) {
-      targetPosition = targetPosition.transformByChange(mod.getFrom(), mod.getRemovedSize(), mod.getAddedSize());
+      var from = mod.getFrom();
+      var delta = mod.getAddedSize() - mod.getRemovedSize();
+      targetPosition = targetPosition.transformByChange(from, mod.getRemovedSize(), mod.getAddedSize());
+      // nothing to do for a modification after the viewport
+      if (from <= lastVisibleIndex && from + mod.getRemovedSize() <= firstVisibleIndex) {
+        // before the viewport: only the indices of the visible cells change
+        firstVisibleIndex += delta;
+        lastVisibleIndex += delta;
+        if (dirtyFrom != Integer.MAX_VALUE) {
+          dirtyFrom += delta;
+        }
+      } else if (from <= lastVisibleIndex) {
+        // in the viewport: the cells from the first modified one are re-placed
+        outside = false;
+        dirtyFrom = Math.min(dirtyFrom, from);
+      }
+    }
+    if (outside) {
+      currentPosition = targetPosition;
+    } else {
+      requestLayout();
     }
-    requestLayout();
-    // TODO: could optimize to only request layout if target position changed or cells in the viewport are affected
   }
 
   void showLengthRegion(int itemIndex, double fromY, double toY) {
@@ -1,5 +1,6 @@
 package fx.layout.flow;
 
+import fx.react.value.DoubleVal;
 import fx.react.value.Val;
 import fx.react.value.Var;
 import javafx.beans.property.DoubleProperty;
@@ -52,11 +53,7 @@ interface OrientationHelper {
   }
 
   default Val<Double> minYProperty(Node node) {
-    return Val.combine(
-      layoutYProperty(node),
-      node.layoutBoundsProperty(),
-      (layoutY, layoutBounds) -> layoutY.doubleValue() + minY(layoutBounds)
-    );
+    return DoubleVal.create(() -> minY(node), layoutYProperty(node), node.layoutBoundsProperty());
   }
 
   default double minY(Node node) {
@@ -0,0 +1,155 @@
+package fx.layout.flow;
+
+import java.time.Duration;
+
+import javafx.beans.value.ObservableValue;
+import javafx.collections.ObservableList;
+import javafx.scene.Group;
+
+import fx.react.EventStream;
+import fx.react.Subscription;
+import fx.react.value.Val;
+
+/**
+ * Measures the lengths of the cells that have not been displayed yet, in the background, and adds them to the
+ * {@link LengthIndex} of a {@link SizeTracker}, so that the scroll geometry of a large list converges to the exact
+ * one without scrolling through it.
+ *
+ * <p>On every animation tick, cells are taken from the {@link CellPool}, added to a hidden, unmanaged group in the
+ * viewport (so that CSS applies to them), measured at the current layout breadth and returned to the pool, until
+ * the time budget for the frame is spent. Items whose cells are present in the viewport are measured by the
+ * layout itself. The ticks are observed only while the viewport is {@code active} (showing, visible and laid out)
+ * and some length after the ones already measured is unknown; otherwise no timer runs. Measuring resumes when
+ * the viewport becomes active again, or from the first length that becomes unknown.</p>
+ */
+final class PreMeasurer<T, C extends Cell<T, ?>> {
+
+  final ObservableList<T> items;
+  final CellListManager<T, C> cellListManager;
+  final OrientationHelper orientation;
+  final SizeTracker sizeTracker;
+  final ObservableValue<Boolean> active;
+  final EventStream<?> ticks;
+  final Group measuringArea = new Group();
+  final Subscription subscription;
+
+  long budgetNanos;
+
+  // items before it have known lengths or were present
+  int cursor = 0;
+
+  // null while not measuring
+  Subscription ticking = null;
+
+  /**
+   * @param active whether the viewport may be measured in: it is showing, visible and does not need layout
+   * @param ticks emits once per frame while observed, e.g. {@link fx.react.EventStreams#animationTicks()}
+   */
+  PreMeasurer(ObservableList<T> items, CellListManager<T, C> cellListManager, OrientationHelper orientation, SizeTracker sizeTracker, Duration budgetPerFrame, ObservableValue<Boolean> active, EventStream<?> ticks) {
+    this.items = items;
+    this.cellListManager = cellListManager;
+    this.orientation = orientation;
+    this.sizeTracker = sizeTracker;
+    this.active = active;
+    this.ticks = ticks;
+    this.budgetNanos = budgetPerFrame.toNanos();
+    measuringArea.setManaged(false);
+    measuringArea.setVisible(false);
+    this.subscription = Subscription.multi(
+      sizeTracker.unknownLengths.subscribe(this::measureFrom),
+      Val.observeChanges(active, (obs, oldVal, newVal) -> update())
+    );
+    update();
+  }
+
+  void dispose() {
+    subscription.unsubscribe();
+    stopTicking();
+  }
+
+  void setBudget(Duration budgetPerFrame) {
+    budgetNanos = budgetPerFrame.toNanos();
+  }
+
+  boolean isMeasuring() {
+    return ticking != null;
+  }
+
+  void measureFrom(int itemIndex) {
+    cursor = Math.min(cursor, itemIndex);
+    update();
+  }
+
+  /**
+   * Observes the ticks if, and only if, the viewport is active and a length at or after the cursor is unknown.
+   */
+  void update() {
+    var index = sizeTracker.lengthIndex;
+    var measure = index != null && Boolean.TRUE.equals(active.getValue()) && hasUnknownLengths(index);
+    if (measure && ticking == null) {
+      ticking = ticks.subscribe(t -> measureFrame());
+    } else if (!measure) {
+      stopTicking();
+    }
+  }
+
+  boolean hasUnknownLengths(LengthIndex index) {
+    cursor = index.nextUnknown(Math.min(cursor, index.size()));
+    return cursor < index.size();
+  }
+
+  void stopTicking() {
+    if (ticking != null) {
+      ticking.unsubscribe();
+      ticking = null;
+    }
+  }
+
+  void measureFrame() {
+    var index = sizeTracker.lengthIndex;
+    if (index == null || !Boolean.TRUE.equals(active.getValue())) {
+      update();
+      return;
+    }
+    var deadline = System.nanoTime() + budgetNanos;
+    var breadth = sizeTracker.getCellLayoutBreadth();
+    var cells = cellListManager.getLazyCellList();
+    var measured = 0;
+    while (hasUnknownLengths(index) && System.nanoTime() < deadline) {
+      if (cursor < cells.size() && cells.isMemoized(cursor)) {
+        ++cursor; // measured by the layout
+        continue;
+      }
+      index.set(cursor, measure(cursor, breadth));
+      ++cursor;
+      ++measured;
+    }
+    if (measured > 0) {
+      sizeTracker.indexedLengthsMeasured();
+    }
+    update();
+  }
+
+  double measure(int itemIndex, double breadth) {
+    var item = items.get(itemIndex);
+    var cached = sizeTracker.lengthCache.get(item, breadth);
+    if (!Double.isNaN(cached)) {
+      return cached;
+    }
+    var pool = cellListManager.cellPool;
+    var cell = pool.getCell(item);
+    cell.updateIndex(itemIndex);
+    var node = cell.getNode();
+    measuringArea.getChildren().add(node);
+    try {
+      node.applyCss();
+      var length = orientation.prefLength(cell, breadth);
+      sizeTracker.lengthCache.put(item, breadth, length);
+      return length;
+    } finally {
+      measuringArea.getChildren().remove(node);
+      pool.acceptCell(cell);
+    }
+  }
+
+}
@@ -8,38 +8,61 @@ import javafx.beans.value.ObservableObjectValue;
 import javafx.geometry.Bounds;
 import javafx.scene.control.IndexRange;
 
+import fx.react.EventSource;
 import fx.react.EventStreams;
 import fx.react.Subscription;
+import fx.react.collection.LiveList;
 import fx.react.collection.MemoizedList;
+import fx.react.value.DoubleVal;
 import fx.react.value.Val;
 import fx.react.value.ValBase;
+import fx.react.value.Var;
 
 /**
  * Estimates the size of the entire viewport (if it was actually completely rendered) based on the known sizes of the
  * {@link Cell}s whose nodes are currently displayed in the viewport and an estimated average of
  * {@link Cell}s whose nodes are not displayed in the viewport. The meaning of {@link #breadthForCells} and
  * {@link #totalLengthEstimate} are dependent upon which implementation of {@link OrientationHelper} is used.
+ *
+ * <p>When {@link #lengthIndexed} is set, the known lengths are also kept in a {@link LengthIndex}, so that a
+ * length offset can be mapped back to the item at that offset consistently with {@link #lengthOffsetEstimate}
+ * (see {@link #locate(double)}), instead of by the average length alone.</p>
  */
 class SizeTracker {
 
   final OrientationHelper orientation;
   final ObservableObjectValue<Bounds> viewportBounds;
   final MemoizedList<? extends Cell<?, ?>> cells;
+  final Function<? super Cell<?, ?>, ?> itemOf;
 
   final MemoizedList<Double> breadths;
   final Val<Double> maxKnownMinBreadth;
 
   /** Stores either the greatest minimum cell's node's breadth or the viewport's breadth */
-  final Val<Double> breadthForCells;
+  final DoubleVal breadthForCells;
 
   final MemoizedList<Double> lengths;
 
+  /** Lengths of recently measured items; empty unless given a capacity */
+  final LengthCache lengthCache = new LengthCache(0);
+
   /** Stores either null or the average length of the cells' nodes currently displayed in the viewport */
   final Val<Double> averageLengthEstimate;
 
   final Val<Double> totalLengthEstimate;
   final Val<Double> lengthOffsetEstimate;
 
+  final Var<Boolean> lengthIndexed = Var.newSimpleVar(false);
+
+  /** null unless {@link #lengthIndexed} */
+  LengthIndex lengthIndex = null;
+
+  /** Changed when lengths measured outside of {@link #lengths} are added to the index */
+  final Var<Integer> lengthIndexRevision = Var.newSimpleVar(0);
+
+  /** Emits the index of the first of the indexed lengths that have become unknown */
+  final EventSource<Integer> unknownLengths = new EventSource<>();
+
   final Subscription subscription;
 
   /**
@@ -47,26 +70,53 @@ class SizeTracker {
    *
    * @param orientation if vertical, breadth = width and length = height;
    *                    if horizontal, breadth = height and length = width
+   * @param itemOf returns the item of a cell in {@code lazyCells}, or null; used to cache lengths by item
    */
-  SizeTracker(OrientationHelper orientation, ObservableObjectValue<Bounds> viewportBounds, MemoizedList<? extends Cell<?, ?>> lazyCells) {
+  SizeTracker(OrientationHelper orientation, ObservableObjectValue<Bounds> viewportBounds, MemoizedList<? extends Cell<?, ?>> lazyCells, Function<? super Cell<?, ?>, ?> itemOf) {
     this.orientation = orientation;
     this.viewportBounds = viewportBounds;
     this.cells = lazyCells;
+    this.itemOf = itemOf;
     this.breadths = lazyCells.map(orientation::minBreadth).memoize();
     this.maxKnownMinBreadth = breadths.memoizedItems().reduce(Math::max).orElseConst(0.0);
 
-    this.breadthForCells = Val.combine(
+    this.breadthForCells = DoubleVal.create(
+      () -> Math.max(maxKnownMinBreadth.getValue(), orientation.breadth(viewportBounds.get())),
       maxKnownMinBreadth,
-      viewportBounds,
-      (a, b) -> Math.max(a, orientation.breadth(b))
+      viewportBounds
     );
 
     Val<Function<Cell<?, ?>, Double>> lengthFn =
       (orientation instanceof HorizontalHelper ? breadthForCells : avoidFalseInvalidations(breadthForCells))
-      .map(breadth -> cell -> orientation.prefLength(cell, breadth));
+      .map(breadth -> cell -> lengthOf(cell, breadth));
 
     this.lengths = cells.mapDynamic(lengthFn).memoize();
 
+    // keep the index in sync before the estimates below are recomputed
+    var indexSubscription = Subscription.multi(
+      lengthIndexed.values().subscribe(this::setLengthIndexed),
+      LiveList.observeQuasiChanges(lengths, ch -> {
+        if (lengthIndex != null) {
+          for (var mod : ch) {
+            lengthIndex.replace(mod.getFrom(), mod.getRemovedSize(), mod.getAddedSize());
+            if (mod.getAddedSize() > 0) {
+              unknownLengths.push(mod.getFrom());
+            }
+          }
+        }
+      }),
+      lengths.memoizedItems().observeQuasiModifications(mod -> {
+        if (lengthIndex != null) {
+          for (var i = mod.getFrom(); i < mod.getFrom() + mod.getAddedSize(); ++i) {
+            var itemIndex = lengths.indexOfMemoizedItem(i);
+            if (itemIndex < lengthIndex.size()) {
+              lengthIndex.set(itemIndex, lengths.memoizedItems().get(i));
+            }
+          }
+        }
+      })
+    );
+
     var knownLengths = this.lengths.memoizedItems();
     var sumOfKnownLengths = knownLengths.reduce((a, b) -> a + b).orElseConst(0.0);
     var knownLengthCount = knownLengths.sizeProperty();
@@ -83,11 +133,13 @@ class SizeTracker {
       }, sumOfKnownLengths, knownLengthCount);
 
     this.totalLengthEstimate =
-      Val.combine(
-        averageLengthEstimate,
-        cells.sizeProperty(),
-        (avg, n) -> n * avg
-    );
+      Val.create(() -> {
+        var unknownLength = unknownLengthEstimate();
+        if (unknownLength == null) {
+          return null;
+        }
+        return lengthIndex != null ? lengthIndex.totalLength(unknownLength) : cells.size() * unknownLength;
+      }, averageLengthEstimate, cells.sizeProperty(), lengths, lengthIndexed, lengthIndexRevision);
 
     Val<Integer> firstVisibleIndex =
       Val.create(() ->
@@ -118,25 +170,101 @@ class SizeTracker {
         (firstIdx, knownCnt, avgLen) -> (firstIdx - knownCnt) * avgLen
       );
 
+    var lengthBeforeFirstVisibleCell =
+      Val.create(() -> {
+        if (lengthIndex != null) {
+          var first = firstVisibleIndex.getValue();
+          var unknownLength = unknownLengthEstimate();
+          if (first == null || unknownLength == null) {
+            return null;
+          }
+          return lengthIndex.lengthBefore(Math.min(first, lengthIndex.size()), unknownLength);
+        }
+        var known = totalKnownLengthBeforeFirstVisibleCell.getValue();
+        var unknown = unknownLengthEstimateBeforeFirstVisibleCell.getValue();
+        return (known == null || unknown == null) ? null : known + unknown;
+      }, totalKnownLengthBeforeFirstVisibleCell, unknownLengthEstimateBeforeFirstVisibleCell, firstVisibleIndex, lengths, lengthIndexed, lengthIndexRevision);
+
     var firstCellMinY =
       firstVisibleCell.flatMap(orientation::minYProperty);
 
     this.lengthOffsetEstimate =
       Val.wrap(
         EventStreams.combine(
-          totalKnownLengthBeforeFirstVisibleCell.values(), // a
-          unknownLengthEstimateBeforeFirstVisibleCell.values(), // b
-          firstCellMinY.values() // c = minY
+          lengthBeforeFirstVisibleCell.values(), // a
+          firstCellMinY.values() // b = minY
         )
-        .filter(t -> t.a() != null && t.b() != null && t.c() != null)
+        .filter(t -> t.a() != null && t.b() != null)
         .thenRetainLatestFor(Duration.ofMillis(1))
-        .map(t -> Double.valueOf(t.a() + t.b() - t.c()))
+        .map(t -> Double.valueOf(t.a() - t.b()))
         .toBinding(0.0)
       );
 
     // pinning totalLengthEstimate and lengthOffsetEstimate
     // binds it all together and enables memoization
-    this.subscription = Subscription.multi(totalLengthEstimate.pin(), lengthOffsetEstimate.pin());
+    this.subscription = Subscription.multi(indexSubscription, totalLengthEstimate.pin(), lengthOffsetEstimate.pin());
+  }
+
+  void setLengthIndexed(boolean indexed) {
+    if (!indexed) {
+      lengthIndex = null;
+    } else if (lengthIndex == null) {
+      lengthIndex = new LengthIndex(lengths.size());
+      var known = lengths.memoizedItems();
+      for (var i = 0; i < known.size(); ++i) {
+        lengthIndex.set(lengths.indexOfMemoizedItem(i), known.get(i));
+      }
+    }
+  }
+
+  /**
+   * Returns the length of the cells whose length is not known: the average known length.
+   */
+  Double unknownLengthEstimate() {
+    var avg = averageLengthEstimate.getValue();
+    if (lengthIndex != null) {
+      var indexAvg = lengthIndex.averageKnownLength(); // includes lengths measured off-screen
+      return Double.isNaN(indexAvg) ? avg : Double.valueOf(indexAvg);
+    }
+    return avg;
+  }
+
+  /**
+   * To be called after lengths were added to the index directly, to update the estimates.
+   */
+  void indexedLengthsMeasured() {
+    lengthIndexRevision.setValue(lengthIndexRevision.getValue() + 1);
+  }
+
+  /**
+   * Returns the item at the given length offset from the start of the first item, and the offset into that
+   * item, if the lengths are indexed and can be estimated.
+   */
+  Optional<LengthIndex.Position> locate(double lengthOffset) {
+    if (lengthIndex == null) {
+      return Optional.empty();
+    }
+    var unknownLength = unknownLengthEstimate();
+    return unknownLength == null ? Optional.empty() : Optional.of(lengthIndex.locate(lengthOffset, unknownLength));
+  }
+
+  /**
+   * Measures the given cell, unless the length of its item at the given breadth is cached.
+   */
+  double lengthOf(Cell<?, ?> cell, double breadth) {
+    var item = itemOf.apply(cell);
+    if (item == null) {
+      return orientation.prefLength(cell, breadth);
+    }
+    var cached = lengthCache.get(item, breadth);
+    if (!Double.isNaN(cached)) {
+      return cached;
+    }
+    var length = orientation.prefLength(cell, breadth);
+    if (cell.getNode().getScene() != null) { // CSS has been applied
+      lengthCache.put(item, breadth, length);
+    }
+    return length;
   }
 
   static <T> Val<T> avoidFalseInvalidations(Val<T> src) {
@@ -188,12 +316,16 @@ class SizeTracker {
   double breadthFor(int itemIndex) {
     assert cells.isMemoized(itemIndex);
     breadths.force(itemIndex, itemIndex + 1);
-    return breadthForCells.getValue();
+    return breadthForCells.getAsDouble();
   }
 
   void forgetSizeOf(int itemIndex) {
     breadths.forget(itemIndex, itemIndex + 1);
     lengths.forget(itemIndex, itemIndex + 1);
+    if (lengthIndex != null) {
+      lengthIndex.forget(itemIndex);
+      unknownLengths.push(itemIndex);
+    }
   }
 
   double lengthFor(int itemIndex) {
@@ -201,7 +333,7 @@ class SizeTracker {
   }
 
   double getCellLayoutBreadth() {
-    return breadthForCells.getValue();
+    return breadthForCells.getAsDouble();
   }
 
 }
@@ -1,5 +1,6 @@
 package fx.layout.flow;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -20,6 +21,7 @@ import javafx.scene.input.ScrollEvent;
 import javafx.scene.layout.Region;
 import javafx.scene.shape.Rectangle;
 
+import fx.react.EventStreams;
 import fx.react.value.Val;
 import fx.react.value.Var;
 import fx.util.Lists;
@@ -112,6 +114,139 @@ public class Viewport<T, C extends Cell<T, ?>> extends Region implements Virtual
     return lengthOffsetEstimate;
   }
 
+  /**
+   * Whether the measured lengths of the cells are indexed, so that scrolling to a length offset (e.g. by dragging
+   * the scroll bar) lands on the item at that offset, consistently with {@link #lengthOffsetEstimateProperty()},
+   * rather than on a guess from the average cell length. This is useful for cells of very different lengths;
+   * it costs about 20 bytes per item. Off by default.
+   */
+  public Var<Boolean> lengthIndexedProperty() {
+    return sizeTracker.lengthIndexed;
+  }
+
+  public boolean isLengthIndexed() {
+    return sizeTracker.lengthIndexed.getValue();
+  }
+
+  public void setLengthIndexed(boolean indexed) {
+    sizeTracker.lengthIndexed.setValue(indexed);
+  }
+
+  /**
+   * Sets the number of items whose measured length is cached, so that the cells of items that are shown again
+   * at the same breadth, e.g. when scrolling back, do not have to be measured again; 0 (no cache) by default.
+   * Items are compared by identity, so the items must not change in a way that changes the length of their
+   * cells without being replaced in the list of items.
+   */
+  public void setLengthCacheCapacity(int capacity) {
+    if (capacity < 0) {
+      throw new IllegalArgumentException("Negative capacity: " + capacity);
+    }
+    sizeTracker.lengthCache.setCapacity(capacity);
+  }
+
+  public int getLengthCacheCapacity() {
+    return sizeTracker.lengthCache.capacity;
+  }
+
+  /**
+   * Sets the function that returns the kind of an item; an idle cell is only reused for an item of the kind it
+   * was created or last updated for, so that e.g. cells of image paragraphs are not reused for text paragraphs.
+   * The kinds are compared by {@code equals}; by default all items are of the same kind. Idle cells are disposed.
+   */
+  public void setCellKind(Function<? super T, ?> cellKind) {
+    cellListManager.cellPool.setCellKind(cellKind);
+  }
+
+  /**
+   * Sets the maximum number of idle (reusable) cells kept for each kind of item; unlimited by default. Excess
+   * idle cells, e.g. after the viewport has shrunk, are disposed.
+   */
+  public void setMaxIdleCells(int maxIdleCells) {
+    if (maxIdleCells < 0) {
+      throw new IllegalArgumentException("Negative maximum: " + maxIdleCells);
+    }
+    cellListManager.cellPool.setMaxIdleCells(maxIdleCells);
+  }
+
+  /**
+   * Creates reusable cells for the given item until there are {@code count} idle cells of its kind, so that the
+   * first layouts of a large list do not have to create them. Does nothing for cells that are not reusable.
+   */
+  public void prewarmCells(T item, int count) {
+    cellListManager.cellPool.prewarm(item, count);
+  }
+
+  final Var<Boolean> preMeasured = Var.newSimpleVar(false);
+
+  Duration preMeasurementBudget = Duration.ofMillis(2);
+  PreMeasurer<T, C> preMeasurer = null;
+
+  /**
+   * Whether the lengths of the cells that have not been displayed are measured in the background, during the
+   * pulses in which this viewport is showing, visible and does not need layout, so that the scroll geometry of a
+   * large list converges to the exact one. No timer runs once every length is known. Setting it also {@linkplain #lengthIndexedProperty() indexes the lengths}. Off by default.
+   *
+   * @see #setPreMeasurementBudget(Duration)
+   */
+  public Var<Boolean> preMeasuredProperty() {
+    return preMeasured;
+  }
+
+  public boolean isPreMeasured() {
+    return preMeasured.getValue();
+  }
+
+  public void setPreMeasured(boolean value) {
+    preMeasured.setValue(value);
+  }
+
+  /**
+   * Sets the time per frame spent measuring cells in the background; 2 ms by default.
+   */
+  public void setPreMeasurementBudget(Duration budgetPerFrame) {
+    preMeasurementBudget = budgetPerFrame;
+    if (preMeasurer != null) {
+      preMeasurer.setBudget(budgetPerFrame);
+    }
+  }
+
+  void preMeasuredChanged(boolean value) {
+    if (value && preMeasurer == null) {
+      setLengthIndexed(true);
+      var showing = Val.showingProperty(this);
+      var active = Val.create(
+        () -> showing.getValue() && isVisible() && !isNeedsLayout(),
+        showing, visibleProperty(), needsLayoutProperty()
+      );
+      preMeasurer = new PreMeasurer<>(items, cellListManager, orientation, sizeTracker, preMeasurementBudget, active, EventStreams.animationTicks());
+      getChildren().add(preMeasurer.measuringArea);
+    } else if (!value && preMeasurer != null) {
+      preMeasurer.dispose();
+      getChildren().remove(preMeasurer.measuringArea);
+      preMeasurer = null;
+    }
+  }
+
+  /**
+   * Whether the layout is incremental: modifying items entirely before or after the visible cells does not lay
+   * out the viewport again while they cover it, and modifying visible items, or cells that need layout, only
+   * re-measures and re-places the cells from the first modified one onwards, e.g. when typing in a paragraph.
+   * Whenever the result could differ from a full layout, e.g. after scrolling or resizing, the viewport is laid
+   * out fully. Off by default.
+   */
+  public Var<Boolean> incrementalLayoutProperty() {
+    return navigator.incrementalLayout;
+  }
+
+  public boolean isIncrementalLayout() {
+    return navigator.incrementalLayout.getValue();
+  }
+
+  public void setIncrementalLayout(boolean value) {
+    navigator.incrementalLayout.setValue(value);
+  }
+
   Viewport(ObservableList<T> items, Function<? super T, ? extends C> cellFactory, OrientationHelper orientation, Gravity gravity) {
     this.getStyleClass().add("virtual-flow");
     this.items = items;
@@ -119,7 +254,7 @@ public class Viewport<T, C extends Cell<T, ?>> extends Region implements Virtual
     this.cellListManager = new CellListManager<T, C>(this, items, cellFactory);
     this.gravity.set(gravity);
     var cells = cellListManager.getLazyCellList();
-    this.sizeTracker = new SizeTracker(orientation, layoutBoundsProperty(), cells);
+    this.sizeTracker = new SizeTracker(orientation, layoutBoundsProperty(), cells, cellListManager::itemOf);
     this.cellPositioner = new CellPositioner<>(cellListManager, orientation, sizeTracker);
     this.navigator = new Navigator<>(cellListManager, cellPositioner, orientation, this.gravity, sizeTracker);
 
@@ -127,6 +262,7 @@ public class Viewport<T, C extends Cell<T, ?>> extends Region implements Virtual
     clipProperty().bind(Val.map(layoutBoundsProperty(), b -> new Rectangle(b.getWidth(), b.getHeight())));
 
     lengthOffsetEstimate = new StableBidirectionalVar<>(sizeTracker.lengthOffsetEstimateProperty(), this::setLengthOffset);
+    preMeasured.addListener((obs, oldVal, newVal) -> preMeasuredChanged(newVal));
 
     // scroll content by mouse scroll
     this.addEventHandler(ScrollEvent.ANY, se -> {
@@ -137,6 +273,7 @@ public class Viewport<T, C extends Cell<T, ?>> extends Region implements Virtual
   }
 
   public void dispose() {
+    preMeasuredChanged(false);
     navigator.dispose();
     sizeTracker.dispose();
     cellListManager.dispose();
@@ -504,6 +641,16 @@ public class Viewport<T, C extends Cell<T, ?>> extends Region implements Virtual
     if (items.isEmpty()) {
       return;
     }
+    var indexed = sizeTracker.locate(pixels);
+    if (indexed.isPresent()) {
+      var position = indexed.get();
+      if (position.index() < items.size()) {
+        navigator.setTargetPosition(new StartOffStart(position.index(), -position.offset()));
+      } else {
+        navigator.setTargetPosition(new EndOffEnd(items.size() - 1, 0.0));
+      }
+      return;
+    }
     // guess the first visible cell and its offset in the viewport
     var avgLen = sizeTracker.getAverageLengthEstimate().orElse(0.0);
     if (avgLen == 0.0) {
@@ -0,0 +1,60 @@
+package fx.react;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import fx.react.util.NotificationAccumulator;
+
+/**
+ * See {@link EventStream#threadBridgeBatched(Executor, Executor, NotificationAccumulator)}
+ */
+class BatchedThreadBridge<T> extends EventStreamBase<T> {
+
+  // stands for null events, which the queue does not accept
+  static final Object NULL = new Object();
+
+  final EventStream<T> input;
+  final Executor sourceThreadExecutor;
+  final Executor targetThreadExecutor;
+  final ConcurrentLinkedQueue<Object> queue = new ConcurrentLinkedQueue<>();
+  final AtomicBoolean drainScheduled = new AtomicBoolean();
+
+  BatchedThreadBridge(EventStream<T> input, Executor sourceThreadExecutor, Executor targetThreadExecutor, NotificationAccumulator<Consumer<? super T>, T, ?> accumulation) {
+    super(accumulation);
+    this.input = input;
+    this.sourceThreadExecutor = sourceThreadExecutor;
+    this.targetThreadExecutor = targetThreadExecutor;
+  }
+
+  @Override
+  protected Subscription observeInputs() {
+    var subscription = new CompletableFuture<Subscription>();
+    sourceThreadExecutor.execute(() -> {
+      subscription.complete(input.subscribe(e -> {
+        queue.add((e == null) ? NULL : e);
+        if (drainScheduled.compareAndSet(false, true)) {
+          targetThreadExecutor.execute(this::drain);
+        }
+      }));
+    });
+    return () -> subscription.thenAcceptAsync(Subscription::unsubscribe, sourceThreadExecutor);
+  }
+
+  /**
+   * Emits all queued events, on the target thread. The events are accumulated for each observer first,
+   * so that e.g. only the latest one is delivered.
+   */
+  @SuppressWarnings("unchecked")
+  void drain() {
+    drainScheduled.set(false); // events queued from now on are drained by the next task
+    Object e;
+    while ((e = queue.poll()) != null) {
+      enqueueNotifications((e == NULL) ? null : (T) e);
+    }
+    notifyObservers();
+  }
+
+}
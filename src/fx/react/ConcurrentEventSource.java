@@ -0,0 +1,198 @@
+package fx.react;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+
+/**
+ * An {@link EventSource} that accepts pushes from any number of threads and emits the events on a consumer
+ * executor, such as {@code Platform::runLater}.
+ *
+ * <p>Pushed events are added to a lock-free ring buffer. The buffer is drained by a single task on the consumer
+ * executor, which emits all the events pushed so far; a new task is only submitted when no drain is pending.
+ * Compared to {@link EventStream#threadBridge(Executor, Executor)}, this saves an executor task per event.</p>
+ *
+ * <p>Events pushed by one thread are emitted in the order they were pushed. What happens when the buffer is
+ * full depends on the {@link Overflow} policy, see the factory methods. The source must only be observed on the
+ * consumer thread.</p>
+ */
+public final class ConcurrentEventSource<T> extends EventStreamBase<T> implements EventSink<T> {
+
+  /**
+   * What {@link #push(Object)} does when the buffer is full.
+   */
+  public enum Overflow {
+    /** The oldest buffered event is dropped. */
+    DROP_OLDEST,
+    /** The event is reduced into a single pending event, emitted after the buffered ones. */
+    COALESCE,
+    /** The pushing thread waits until the consumer has made room. */
+    BLOCK
+  }
+
+  /**
+   * Drops the oldest buffered event when the buffer is full, so that pushing never waits.
+   */
+  public static <T> ConcurrentEventSource<T> droppingOldest(int capacity, Executor consumer) {
+    return new ConcurrentEventSource<>(capacity, consumer, Overflow.DROP_OLDEST, null);
+  }
+
+  /**
+   * When the buffer is full, reduces the pushed events into a single event until the consumer catches up,
+   * so that pushing never waits and no event is lost. Events pushed during overflow are reduced under a lock.
+   */
+  public static <T> ConcurrentEventSource<T> coalescing(int capacity, Executor consumer, BinaryOperator<T> reduction) {
+    return new ConcurrentEventSource<>(capacity, consumer, Overflow.COALESCE, reduction);
+  }
+
+  /**
+   * Makes the pushing thread wait while the buffer is full. Must not be pushed to from the consumer thread.
+   */
+  public static <T> ConcurrentEventSource<T> blocking(int capacity, Executor consumer) {
+    return new ConcurrentEventSource<>(capacity, consumer, Overflow.BLOCK, null);
+  }
+
+  static final Object NONE = new Object();
+
+  final RingBuffer<T> buffer;
+  final Executor consumer;
+  final Overflow overflow;
+  final BinaryOperator<T> reduction;
+  final Consumer<T> emitter = this::emit;
+  final AtomicBoolean drainScheduled = new AtomicBoolean();
+  final AtomicLong dropped = new AtomicLong();
+  final AtomicLong coalesced = new AtomicLong();
+
+  // COALESCE: set while events are being reduced into pending; guarded by this
+  volatile boolean overflowing = false;
+  Object pending = NONE;
+
+  ConcurrentEventSource(int capacity, Executor consumer, Overflow overflow, BinaryOperator<T> reduction) {
+    this.buffer = new RingBuffer<>(capacity);
+    this.consumer = consumer;
+    this.overflow = overflow;
+    this.reduction = reduction;
+  }
+
+  public Overflow getOverflow() {
+    return overflow;
+  }
+
+  /**
+   * Returns the number of events dropped by {@link Overflow#DROP_OLDEST}.
+   */
+  public long getDroppedCount() {
+    return dropped.get();
+  }
+
+  /**
+   * Returns the number of events reduced into another one by {@link Overflow#COALESCE}.
+   */
+  public long getCoalescedCount() {
+    return coalesced.get();
+  }
+
+  /**
+   * Adds the given event to the buffer; it will be emitted on the consumer executor. May be called from any thread.
+   */
+  @Override
+  public void push(T value) {
+    if (overflowing || !buffer.offer(value)) {
+      switch (overflow) {
+        case DROP_OLDEST -> {
+          while (!buffer.offer(value)) {
+            if (buffer.poll(e -> {})) {
+              dropped.incrementAndGet();
+            }
+          }
+        }
+        case COALESCE -> coalesce(value);
+        case BLOCK -> {
+          var spins = 0;
+          while (!buffer.offer(value)) {
+            scheduleDrain();
+            if (++spins < 100) {
+              Thread.onSpinWait();
+            } else {
+              LockSupport.parkNanos(10_000);
+            }
+          }
+        }
+      }
+    }
+    scheduleDrain();
+  }
+
+  @SuppressWarnings("unchecked")
+  synchronized void coalesce(T value) {
+    if (!overflowing && buffer.offer(value)) {
+      return; // the consumer made room in the meantime
+    }
+    overflowing = true;
+    if (pending == NONE) {
+      pending = value;
+    } else {
+      pending = reduction.apply((T) pending, value);
+      coalesced.incrementAndGet();
+    }
+  }
+
+  synchronized Object takePending() {
+    var res = pending;
+    pending = NONE;
+    return res;
+  }
+
+  synchronized boolean endOverflow() {
+    if (pending == NONE) {
+      overflowing = false;
+      return true;
+    }
+    return false;
+  }
+
+  void scheduleDrain() {
+    if (drainScheduled.compareAndSet(false, true)) {
+      consumer.execute(this::drain);
+    }
+  }
+
+  /**
+   * Emits the buffered events, on the consumer thread.
+   */
+  @SuppressWarnings("unchecked")
+  void drain() {
+    try {
+      while (buffer.poll(emitter)) {
+        // emitted
+      }
+      while (overflowing) {
+        var p = takePending();
+        // events buffered before the overflow started were pushed before the pending ones
+        while (buffer.poll(emitter)) {
+          // emitted
+        }
+        if (p != NONE) {
+          emit((T) p);
+        }
+        if (endOverflow()) {
+          break;
+        }
+      }
+    } finally {
+      drainScheduled.set(false);
+    }
+    if (!buffer.isEmpty() || overflowing) {
+      scheduleDrain(); // pushed after the buffer was found empty
+    }
+  }
+
+  @Override
+  protected Subscription observeInputs() {
+    return Subscription.EMPTY;
+  }
+
+}
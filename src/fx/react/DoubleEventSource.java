@@ -0,0 +1,21 @@
+package fx.react;
+
+/**
+ * A {@link DoubleEventStream} that emits every value pushed to it, without boxing it; the {@code double}
+ * counterpart of {@link EventSource}.
+ */
+public class DoubleEventSource extends DoubleEventStreamBase {
+
+  /**
+   * Make this event stream immediately emit the given value.
+   */
+  public final void push(double value) {
+    emit(value);
+  }
+
+  @Override
+  protected final Subscription observeInputs() {
+    return Subscription.EMPTY;
+  }
+
+}
@@ -0,0 +1,114 @@
+package fx.react;
+
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleToIntFunction;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * A stream of {@code double} events, which are emitted and passed through its operators without boxing.
+ * Use {@link #boxed()} where an {@link EventStream} is needed.
+ */
+public interface DoubleEventStream extends Observable<DoubleConsumer> {
+
+  default Subscription subscribe(DoubleConsumer subscriber) {
+    return observe(subscriber);
+  }
+
+  /**
+   * Returns a stream that emits {@code f} applied to each event of this stream.
+   */
+  default DoubleEventStream map(DoubleUnaryOperator f) {
+    return new DoubleEventStreamBase() {
+      @Override
+      protected Subscription observeInputs() {
+        return DoubleEventStream.this.subscribe(value -> emit(f.applyAsDouble(value)));
+      }
+    };
+  }
+
+  /**
+   * Returns a stream that emits {@code f} applied to each event of this stream.
+   */
+  default IntEventStream mapToInt(DoubleToIntFunction f) {
+    return new IntEventStreamBase() {
+      @Override
+      protected Subscription observeInputs() {
+        return DoubleEventStream.this.subscribe(value -> emit(f.applyAsInt(value)));
+      }
+    };
+  }
+
+  /**
+   * Returns a stream that emits the events of this stream that satisfy {@code predicate}.
+   */
+  default DoubleEventStream filter(DoublePredicate predicate) {
+    return new DoubleEventStreamBase() {
+      @Override
+      protected Subscription observeInputs() {
+        return DoubleEventStream.this.subscribe(value -> {
+          if (predicate.test(value)) {
+            emit(value);
+          }
+        });
+      }
+    };
+  }
+
+  /**
+   * Returns a stream that, for each event of this stream, emits the event reduced with the previously emitted
+   * value, starting with {@code unit} whenever the returned stream starts observing this one.
+   */
+  default DoubleEventStream accumulate(double unit, DoubleBinaryOperator reduction) {
+    return new DoubleEventStreamBase() {
+      double accumulated;
+      @Override
+      protected Subscription observeInputs() {
+        accumulated = unit;
+        return DoubleEventStream.this.subscribe(value -> {
+          accumulated = reduction.applyAsDouble(accumulated, value);
+          emit(accumulated);
+        });
+      }
+    };
+  }
+
+  /**
+   * Returns a stream that, once both streams have emitted, emits {@code f} applied to the latest events of
+   * both whenever either of them emits; the {@code double} counterpart of
+   * {@link EventStreams#combine(EventStream, EventStream)}.
+   */
+  static DoubleEventStream combine(DoubleEventStream a, DoubleEventStream b, DoubleBinaryOperator f) {
+    return new DoubleEventStreamBase() {
+      double latestA, latestB;
+      boolean hasA, hasB;
+      @Override
+      protected Subscription observeInputs() {
+        hasA = hasB = false;
+        return Subscription.multi(
+          a.subscribe(value -> { latestA = value; hasA = true; tryEmit(); }),
+          b.subscribe(value -> { latestB = value; hasB = true; tryEmit(); })
+        );
+      }
+      void tryEmit() {
+        if (hasA && hasB) {
+          emit(f.applyAsDouble(latestA, latestB));
+        }
+      }
+    };
+  }
+
+  /**
+   * Returns an {@link EventStream} that emits the events of this stream, boxed.
+   */
+  default EventStream<Double> boxed() {
+    return new EventStreamBase<Double>() {
+      @Override
+      protected Subscription observeInputs() {
+        return DoubleEventStream.this.subscribe(value -> emit(value));
+      }
+    };
+  }
+
+}
@@ -0,0 +1,32 @@
+package fx.react;
+
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+
+import fx.react.util.NotificationAccumulator;
+
+/**
+ * Base class for {@code double} event streams; see {@link IntEventStreamBase}.
+ */
+public abstract class DoubleEventStreamBase extends ObservableBase<DoubleConsumer, Double> implements DoubleEventStream {
+
+  // delivers the event being emitted to an observer
+  final Consumer<DoubleConsumer> delivery = observer -> observer.accept(this.emitted);
+  double emitted;
+
+  protected final void emit(double value) {
+    var outer = emitted;
+    emitted = value;
+    try {
+      forEachObserver(delivery);
+    } finally {
+      emitted = outer;
+    }
+  }
+
+  @Override
+  public NotificationAccumulator<DoubleConsumer, Double, ?> defaultNotificationAccumulator() {
+    return NotificationAccumulator.nonAccumulativeDoubleStreamNotifications();
+  }
+
+}
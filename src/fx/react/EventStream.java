@@ -30,8 +30,10 @@ import fx.react.util.AccumulatorSize;
 import fx.react.util.FxTimer;
 import fx.react.util.NotificationAccumulator;
 import fx.react.util.Timer;
+import fx.react.util.TimerScheduler;
 import fx.react.value.Val;
 import fx.util.Either;
+import fx.util.Try;
 import static fx.react.EventStreams.*;
 
 /**
@@ -318,6 +320,35 @@ public interface EventStream<T> extends Observable<Consumer<? super T>> {
     return new MappedToTaskStream<>(this, f);
   }
 
+  /**
+   * Applies {@code f} to every event of this stream on {@code executor} and emits the result of the latest one
+   * on the JavaFX application thread. Equivalent to
+   * {@code mapLatestAsync(f, executor, maxConcurrency, Platform::runLater)}.
+   * @see #mapLatestAsync(Function, Executor, int, Executor)
+   */
+  default <U> AwaitingEventStream<Try<U>> mapLatestAsync(Function<? super T, ? extends U> f, Executor executor, int maxConcurrency) {
+    return mapLatestAsync(f, executor, maxConcurrency, Platform::runLater);
+  }
+
+  /**
+   * Applies {@code f} to every event of this stream on {@code executor} and emits the result of the latest one,
+   * like {@code mapToCompletionStage(...).awaitLatest(...)}, but superseded work does not keep running: when
+   * an event arrives, the computation for the previous event is cancelled and its thread is interrupted.
+   *
+   * <p>At most {@code maxConcurrency} computations run at a time, counting cancelled ones that have not
+   * noticed the interruption yet. When that many are running, the latest event waits for one of them to
+   * return, and replaces any event that was already waiting; events never queue up. With a single-threaded
+   * {@code executor}, use a {@code maxConcurrency} of 1. On Java 21 or later, a virtual thread per task
+   * executor makes the threads themselves cheap.</p>
+   *
+   * <p>If {@code f} throws an exception {@code e}, {@code Try.failure(e)} is emitted.</p>
+   * @param clientThreadExecutor single-thread executor that executes actions
+   * on the same thread on which this event stream lives.
+   */
+  default <U> AwaitingEventStream<Try<U>> mapLatestAsync(Function<? super T, ? extends U> f, Executor executor, int maxConcurrency, Executor clientThreadExecutor) {
+    return new LatestAsyncStream<>(this, f, executor, maxConcurrency, clientThreadExecutor);
+  }
+
   /**
    * A more efficient equivalent to
    * {@code filter(predicate).map(f)}.
@@ -1297,6 +1328,57 @@ public interface EventStream<T> extends Observable<Consumer<? super T>> {
     return reduceSuccessions(map, reduction, timeout, scheduler, eventThreadExecutor);
   }
 
+  /**
+   * An analog to
+   * {@link #reduceSuccessions(BinaryOperator, Duration)}
+   * that uses timers of the given scheduler.
+   *
+   * @param reduction function to reduce two events into one.
+   * @param timeout the maximum time difference between two subsequent
+   * events that can still be accumulated.
+   * @param scheduler creates the timer of the timeout expiration. The
+   * returned stream emits events on the thread of that timer.
+   */
+  default AwaitingEventStream<T> reduceSuccessions(BinaryOperator<T> reduction, Duration timeout, TimerScheduler scheduler) {
+    return reduceSuccessions(Function.identity(), reduction, timeout, scheduler);
+  }
+
+  /**
+   * An analog to
+   * {@link #reduceSuccessions(Function, BiFunction, Duration)}
+   * that uses timers of the given scheduler.
+   *
+   * @param initialTransformation function to transform a single event
+   * from this stream to an event that can be emitted from the returned
+   * stream.
+   * @param reduction function to accumulate an event to the stored value
+   * @param timeout the maximum time difference between two subsequent
+   * events that can still be accumulated.
+   * @param scheduler creates the timer of the timeout expiration. The
+   * returned stream emits events on the thread of that timer.
+   */
+  default <U> AwaitingEventStream<U> reduceSuccessions(Function<? super T, ? extends U> initialTransformation, BiFunction<? super U, ? super T, ? extends U> reduction, Duration timeout, TimerScheduler scheduler) {
+    Function<Runnable, Timer> timerFactory = action -> scheduler.create(timeout, action);
+    return new SuccessionReducingStream<T, U>(this, initialTransformation, reduction, timerFactory);
+  }
+
+  /**
+   * An analog to
+   * {@link #reduceSuccessions(Supplier, BiFunction, Duration)}
+   * that uses timers of the given scheduler.
+   *
+   * @param unitSupplier function that provides the unit element
+   * @param reduction function to accumulate an event to the stored value
+   * @param timeout the maximum time difference between two subsequent
+   * events that can still be accumulated.
+   * @param scheduler creates the timer of the timeout expiration. The
+   * returned stream emits events on the thread of that timer.
+   */
+  default <U> AwaitingEventStream<U> reduceSuccessions(Supplier<? extends U> unitSupplier, BiFunction<? super U, ? super T, ? extends U> reduction, Duration timeout, TimerScheduler scheduler) {
+    Function<T, U> map = t -> reduction.apply(unitSupplier.get(), t);
+    return reduceSuccessions(map, reduction, timeout, scheduler);
+  }
+
   /**
    * Returns an event stream that, when events are emitted from this stream
    * in close temporal succession, emits only the last event of the
@@ -1334,6 +1416,18 @@ public interface EventStream<T> extends Observable<Consumer<? super T>> {
     return reduceSuccessions((a, b) -> b, timeout, scheduler, eventThreadExecutor);
   }
 
+  /**
+   * An analog to {@link #successionEnds(Duration)} that uses timers of the
+   * given scheduler.
+   * @param timeout the maximum time difference between two subsequent events
+   * in a <em>close</em> succession.
+   * @param scheduler creates the timer of the timeout expiration. The
+   * returned stream emits events on the thread of that timer.
+   */
+  default AwaitingEventStream<T> successionEnds(Duration timeout, TimerScheduler scheduler) {
+    return reduceSuccessions((a, b) -> b, timeout, scheduler);
+  }
+
   /**
    * Returns an event stream that emits the first event emitted from this
    * stream and then, if the next event arrives within the given duration
@@ -1355,6 +1449,19 @@ public interface EventStream<T> extends Observable<Consumer<? super T>> {
     return new ThenAccumulateForStream<>(this, initialTransformation, reduction, deconstruction, timerFactory);
   }
 
+  /**
+   * An analog to
+   * {@link #thenAccumulateFor(Duration, Function, BiFunction, Function)}
+   * that uses timers of the given scheduler.
+   *
+   * @param scheduler creates the timer of the {@code duration} expiration.
+   * The returned stream emits events on the thread of that timer.
+   */
+  default <A> AwaitingEventStream<T> thenAccumulateFor(Duration duration, Function<? super T, ? extends A> initialTransformation, BiFunction<? super A, ? super T, ? extends A> reduction, Function<? super A, List<T>> deconstruction, TimerScheduler scheduler) {
+    Function<Runnable, Timer> timerFactory = action -> scheduler.create(duration, action);
+    return new ThenAccumulateForStream<>(this, initialTransformation, reduction, deconstruction, timerFactory);
+  }
+
   /**
    * A variant of
    * {@link #thenAccumulateFor(Duration, Function, BiFunction, Function)}
@@ -1371,6 +1478,19 @@ public interface EventStream<T> extends Observable<Consumer<? super T>> {
     return thenAccumulateFor(duration, initialTransformation, reduction, deconstruction, scheduler, eventThreadExecutor);
   }
 
+  /**
+   * An analog to
+   * {@link #thenAccumulateFor(Duration, Supplier, BiFunction, Function)}
+   * that uses timers of the given scheduler.
+   *
+   * @param scheduler creates the timer of the {@code duration} expiration.
+   * The returned stream emits events on the thread of that timer.
+   */
+  default <A> AwaitingEventStream<T> thenAccumulateFor(Duration duration, Supplier<? extends A> unit, BiFunction<? super A, ? super T, ? extends A> reduction, Function<? super A, List<T>> deconstruction, TimerScheduler scheduler) {
+    Function<? super T, ? extends A> initialTransformation = t -> reduction.apply(unit.get(), t);
+    return thenAccumulateFor(duration, initialTransformation, reduction, deconstruction, scheduler);
+  }
+
   /**
    * Returns an event stream that emits the first event emitted from this
    * stream and then reduces all following events that arrive within the
@@ -1388,6 +1508,18 @@ public interface EventStream<T> extends Observable<Consumer<? super T>> {
     return thenAccumulateFor(duration, Function.identity(), reduction, Collections::singletonList, scheduler, eventThreadExecutor);
   }
 
+  /**
+   * An analog to
+   * {@link #thenReduceFor(Duration, BinaryOperator)}
+   * that uses timers of the given scheduler.
+   *
+   * @param scheduler creates the timer of the {@code duration} expiration.
+   * The returned stream emits events on the thread of that timer.
+   */
+  default AwaitingEventStream<T> thenReduceFor(Duration duration, BinaryOperator<T> reduction, TimerScheduler scheduler) {
+    return thenAccumulateFor(duration, Function.identity(), reduction, Collections::singletonList, scheduler);
+  }
+
   /**
    * Returns an event stream that emits the first event emitted from this
    * stream and then remembers, but does not emit, the latest event emitted
@@ -1403,6 +1535,18 @@ public interface EventStream<T> extends Observable<Consumer<? super T>> {
     return thenReduceFor(duration, (a, b) -> b, scheduler, eventThreadExecutor);
   }
 
+  /**
+   * An analog to
+   * {@link #thenRetainLatestFor(Duration)}
+   * that uses timers of the given scheduler.
+   *
+   * @param scheduler creates the timer of the {@code duration} expiration.
+   * The returned stream emits events on the thread of that timer.
+   */
+  default AwaitingEventStream<T> thenRetainLatestFor(Duration duration, TimerScheduler scheduler) {
+    return thenReduceFor(duration, (a, b) -> b, scheduler);
+  }
+
   /**
    * Returns an event stream that emits the first event emitted from this
    * stream and then ignores the following events for the given duration.
@@ -1417,6 +1561,18 @@ public interface EventStream<T> extends Observable<Consumer<? super T>> {
     return thenAccumulateFor(duration, t -> Collections.<T>emptyList(), (l, t) -> l, Function.<List<T>>identity(), scheduler, eventThreadExecutor);
   }
 
+  /**
+   * An analog to
+   * {@link #thenIgnoreFor(Duration)}
+   * that uses timers of the given scheduler.
+   *
+   * @param scheduler creates the timer of the {@code duration} expiration.
+   * The returned stream emits events on the thread of that timer.
+   */
+  default AwaitingEventStream<T> thenIgnoreFor(Duration duration, TimerScheduler scheduler) {
+    return thenAccumulateFor(duration, t -> Collections.<T>emptyList(), (l, t) -> l, Function.<List<T>>identity(), scheduler);
+  }
+
   default <A> EventStream<T> onRecurseAccumulate(Function<? super T, ? extends A> initialTransformation, BiFunction<? super A, ? super T, ? extends A> reduction, Function<? super A, AccumulatorSize> size, Function<? super A, ? extends T> head, Function<? super A, ? extends A> tail) {
     return new RecursiveStream<T>(this, NotificationAccumulator.accumulativeStreamNotifications(size, head, tail, initialTransformation, reduction));
   }
@@ -1455,6 +1611,27 @@ public interface EventStream<T> extends Observable<Consumer<? super T>> {
     return new ThreadBridge<T>(this, sourceThreadExecutor, targetThreadExecutor);
   }
 
+  /**
+   * Same as {@link #threadBridge(Executor, Executor)}, but the events are queued and emitted in batches:
+   * a single task on {@code targetThreadExecutor} emits all the events queued since the previous task.
+   * With {@code Platform::runLater} as the target, this is about one task per pulse instead of one per event.
+   * @see #threadBridgeBatched(Executor, Executor, NotificationAccumulator)
+   */
+  default EventStream<T> threadBridgeBatched(Executor sourceThreadExecutor, Executor targetThreadExecutor) {
+    return threadBridgeBatched(sourceThreadExecutor, targetThreadExecutor, NotificationAccumulator.queuingStreamNotifications());
+  }
+
+  /**
+   * Same as {@link #threadBridgeBatched(Executor, Executor)}, but each batch of events is accumulated
+   * for each observer with {@code accumulation} before it is delivered, e.g.
+   * {@link NotificationAccumulator#retainLatestStreamNotifications()} delivers only the latest event of a batch
+   * and {@link NotificationAccumulator#reducingStreamNotifications(BinaryOperator)} delivers the events of a batch
+   * reduced to one.
+   */
+  default EventStream<T> threadBridgeBatched(Executor sourceThreadExecutor, Executor targetThreadExecutor, NotificationAccumulator<Consumer<? super T>, T, ?> accumulation) {
+    return new BatchedThreadBridge<>(this, sourceThreadExecutor, targetThreadExecutor, accumulation);
+  }
+
   /**
    * Transfers events from the JavaFX application thread to another thread.
    * Equivalent to
@@ -32,6 +32,7 @@ import fx.react.collection.ModifiedList;
 import fx.react.collection.LiveList;
 import fx.react.util.FxTimer;
 import fx.react.util.Timer;
+import fx.react.util.TimerScheduler;
 import fx.util.Either;
 
 public class EventStreams {
@@ -333,6 +334,28 @@ public class EventStreams {
     };
   }
 
+  /**
+   * Returns an event stream that emits periodic <i>ticks</i> using a timer
+   * of the given scheduler. The first tick is emitted after
+   * {@code interval} amount of time has passed. The returned stream may
+   * only be used from the thread of that timer.
+   *
+   * <p>As with all lazily bound streams, ticks are emitted only when there
+   * is at least one subscriber to the returned stream. This means that to
+   * release associated resources, it suffices to unsubscribe from the
+   * returned stream.
+   */
+  public static EventStream<?> ticks(Duration interval, TimerScheduler scheduler) {
+    return new EventStreamBase<Void>() {
+      final Timer timer = scheduler.createPeriodic(interval, () -> emit(null));
+      @Override
+      protected Subscription observeInputs() {
+        timer.restart();
+        return timer::stop;
+      }
+    };
+  }
+
   /**
    * Returns a {@link #ticks(Duration)} EventStream whose timer restarts whenever
    * impulse emits an event.
@@ -0,0 +1,21 @@
+package fx.react;
+
+/**
+ * An {@link IntEventStream} that emits every value pushed to it, without boxing it; the {@code int}
+ * counterpart of {@link EventSource}.
+ */
+public class IntEventSource extends IntEventStreamBase {
+
+  /**
+   * Make this event stream immediately emit the given value.
+   */
+  public final void push(int value) {
+    emit(value);
+  }
+
+  @Override
+  protected final Subscription observeInputs() {
+    return Subscription.EMPTY;
+  }
+
+}
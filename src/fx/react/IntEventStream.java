@@ -0,0 +1,114 @@
+package fx.react;
+
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * A stream of {@code int} events, which are emitted and passed through its operators without boxing.
+ * Use {@link #boxed()} where an {@link EventStream} is needed.
+ */
+public interface IntEventStream extends Observable<IntConsumer> {
+
+  default Subscription subscribe(IntConsumer subscriber) {
+    return observe(subscriber);
+  }
+
+  /**
+   * Returns a stream that emits {@code f} applied to each event of this stream.
+   */
+  default IntEventStream map(IntUnaryOperator f) {
+    return new IntEventStreamBase() {
+      @Override
+      protected Subscription observeInputs() {
+        return IntEventStream.this.subscribe(value -> emit(f.applyAsInt(value)));
+      }
+    };
+  }
+
+  /**
+   * Returns a stream that emits {@code f} applied to each event of this stream.
+   */
+  default DoubleEventStream mapToDouble(IntToDoubleFunction f) {
+    return new DoubleEventStreamBase() {
+      @Override
+      protected Subscription observeInputs() {
+        return IntEventStream.this.subscribe(value -> emit(f.applyAsDouble(value)));
+      }
+    };
+  }
+
+  /**
+   * Returns a stream that emits the events of this stream that satisfy {@code predicate}.
+   */
+  default IntEventStream filter(IntPredicate predicate) {
+    return new IntEventStreamBase() {
+      @Override
+      protected Subscription observeInputs() {
+        return IntEventStream.this.subscribe(value -> {
+          if (predicate.test(value)) {
+            emit(value);
+          }
+        });
+      }
+    };
+  }
+
+  /**
+   * Returns a stream that, for each event of this stream, emits the event reduced with the previously emitted
+   * value, starting with {@code unit} whenever the returned stream starts observing this one.
+   */
+  default IntEventStream accumulate(int unit, IntBinaryOperator reduction) {
+    return new IntEventStreamBase() {
+      int accumulated;
+      @Override
+      protected Subscription observeInputs() {
+        accumulated = unit;
+        return IntEventStream.this.subscribe(value -> {
+          accumulated = reduction.applyAsInt(accumulated, value);
+          emit(accumulated);
+        });
+      }
+    };
+  }
+
+  /**
+   * Returns a stream that, once both streams have emitted, emits {@code f} applied to the latest events of
+   * both whenever either of them emits; the {@code int} counterpart of
+   * {@link EventStreams#combine(EventStream, EventStream)}.
+   */
+  static IntEventStream combine(IntEventStream a, IntEventStream b, IntBinaryOperator f) {
+    return new IntEventStreamBase() {
+      int latestA, latestB;
+      boolean hasA, hasB;
+      @Override
+      protected Subscription observeInputs() {
+        hasA = hasB = false;
+        return Subscription.multi(
+          a.subscribe(value -> { latestA = value; hasA = true; tryEmit(); }),
+          b.subscribe(value -> { latestB = value; hasB = true; tryEmit(); })
+        );
+      }
+      void tryEmit() {
+        if (hasA && hasB) {
+          emit(f.applyAsInt(latestA, latestB));
+        }
+      }
+    };
+  }
+
+  /**
+   * Returns an {@link EventStream} that emits the events of this stream, boxed.
+   */
+  default EventStream<Integer> boxed() {
+    return new EventStreamBase<Integer>() {
+      @Override
+      protected Subscription observeInputs() {
+        return IntEventStream.this.subscribe(value -> emit(value));
+      }
+    };
+  }
+
+}
@@ -0,0 +1,34 @@
+package fx.react;
+
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+import fx.react.util.NotificationAccumulator;
+
+/**
+ * Base class for {@code int} event streams. {@link #emit(int)} calls the observers directly, in the order they
+ * were added, without boxing the event or allocating a notification per observer. An event emitted by an
+ * observer is delivered to all observers before the current event is delivered to the remaining ones.
+ */
+public abstract class IntEventStreamBase extends ObservableBase<IntConsumer, Integer> implements IntEventStream {
+
+  // delivers the event being emitted to an observer
+  final Consumer<IntConsumer> delivery = observer -> observer.accept(this.emitted);
+  int emitted;
+
+  protected final void emit(int value) {
+    var outer = emitted;
+    emitted = value;
+    try {
+      forEachObserver(delivery);
+    } finally {
+      emitted = outer;
+    }
+  }
+
+  @Override
+  public NotificationAccumulator<IntConsumer, Integer, ?> defaultNotificationAccumulator() {
+    return NotificationAccumulator.nonAccumulativeIntStreamNotifications();
+  }
+
+}
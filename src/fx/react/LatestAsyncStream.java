@@ -0,0 +1,135 @@
+package fx.react;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.function.Function;
+
+import javafx.beans.binding.BooleanBinding;
+import javafx.beans.value.ObservableBooleanValue;
+
+import fx.util.Try;
+
+/**
+ * See {@link EventStream#mapLatestAsync(Function, Executor, int, Executor)}
+ */
+class LatestAsyncStream<T, U> extends EventStreamBase<Try<U>> implements AwaitingEventStream<Try<U>> {
+
+  static final Object NONE = new Object();
+
+  final EventStream<T> source;
+  final Function<? super T, ? extends U> f;
+  final Executor executor;
+  final int maxConcurrency;
+  final Executor clientThreadExecutor;
+
+  // all accessed on the client thread only
+  long revision = 0;
+  int running = 0; // computations started and not returned yet, including cancelled ones
+  FutureTask<U> current = null; // the computation for the latest event, or null
+  Object waiting = NONE; // the latest event, if its computation has not been started yet
+
+  BooleanBinding pending = null;
+
+  LatestAsyncStream(EventStream<T> source, Function<? super T, ? extends U> f, Executor executor, int maxConcurrency, Executor clientThreadExecutor) {
+    if (maxConcurrency < 1) {
+      throw new IllegalArgumentException("maxConcurrency must be positive: " + maxConcurrency);
+    }
+    this.source = source;
+    this.f = f;
+    this.executor = executor;
+    this.maxConcurrency = maxConcurrency;
+    this.clientThreadExecutor = clientThreadExecutor;
+  }
+
+  @Override
+  public ObservableBooleanValue pendingProperty() {
+    if (pending == null) {
+      pending = new BooleanBinding() {
+        @Override
+        protected boolean computeValue() {
+          return current != null || waiting != NONE;
+        }
+      };
+    }
+    return pending;
+  }
+
+  @Override
+  public boolean isPending() {
+    return current != null || waiting != NONE;
+  }
+
+  @Override
+  protected Subscription observeInputs() {
+    var sub = source.subscribe(this::supersede);
+    return () -> {
+      sub.unsubscribe();
+      ++revision;
+      cancelCurrent();
+      waiting = NONE;
+      invalidatePending();
+    };
+  }
+
+  void supersede(T event) {
+    ++revision; // increment before cancelling, so that a cancelled result is never emitted
+    cancelCurrent();
+    if (running < maxConcurrency) {
+      waiting = NONE;
+      start(event);
+    } else {
+      waiting = event; // replaces an older waiting event, which is dropped
+    }
+    invalidatePending();
+  }
+
+  void cancelCurrent() {
+    if (current != null) {
+      current.cancel(true); // interrupts the computation
+      current = null;
+    }
+  }
+
+  void start(T event) {
+    var rev = revision;
+    var task = new FutureTask<U>(() -> f.apply(event));
+    current = task;
+    ++running;
+    executor.execute(() -> {
+      try {
+        task.run(); // returns when f returns, even if cancelled meanwhile
+      } finally {
+        clientThreadExecutor.execute(() -> finished(task, rev));
+      }
+    });
+  }
+
+  @SuppressWarnings("unchecked")
+  void finished(FutureTask<U> task, long rev) {
+    --running;
+    if (rev == revision && task == current) {
+      current = null;
+      try {
+        emit(Try.success(task.get()));
+      } catch (ExecutionException e) {
+        emit(Try.failure(e.getCause()));
+      } catch (InterruptedException e) {
+        throw new AssertionError("Unreachable code", e); // the task is done
+      }
+    }
+    if (waiting != NONE && running < maxConcurrency) {
+      var event = (T) waiting;
+      waiting = NONE;
+      start(event);
+    }
+    invalidatePending();
+  }
+
+  void invalidatePending() {
+    if (pending != null) {
+      pending.invalidate();
+    }
+  }
+
+}
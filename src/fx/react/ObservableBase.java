@@ -23,6 +23,7 @@ import fx.util.Vector;
 public abstract class ObservableBase<O, T> implements ProperObservable<O, T> {
 
   Vector<O> observers = null;
+  boolean indexedObservers = false;
   Subscription inputSubscription = null;
   final NotificationAccumulator<O, T, ?> pendingNotifications;
 
@@ -49,6 +50,33 @@ public abstract class ObservableBase<O, T> implements ProperObservable<O, T> {
     return inputSubscription != null;
   }
 
+  /**
+   * Makes the given observable keep its observers in a registry that adds and removes an observer in
+   * O(1) instead of O(n) and does not copy the observers when one is added or removed during notification.
+   * Use it for observables with many observers that come and go. An observer removed during notification is
+   * usually not notified anymore, but if so many observers are removed that the registry compacts its storage,
+   * the notification that is under way still reaches the observers removed after the compaction. An observer
+   * added during notification is not notified of the event being delivered. If the same observer is added more
+   * than once, {@link #removeObserver(Object)} removes the one added last, whereas the default registry removes
+   * the one added first; this changes the order in which the remaining ones are notified. Does nothing if
+   * {@code observable} is not an {@linkplain ObservableBase}.
+   * @return {@code observable}
+   */
+  public static <T extends Observable<?>> T withIndexedObservers(T observable) {
+    if (observable instanceof ObservableBase<?, ?> base) {
+      base.useIndexedObservers();
+    }
+    return observable;
+  }
+
+  /**
+   * Switches this observable to the observer registry described in {@link #withIndexedObservers(Observable)}.
+   */
+  protected final void useIndexedObservers() {
+    indexedObservers = true;
+    observers = Vectors.indexed(observers);
+  }
+
   protected final int getObserverCount() {
     return Vectors.size(observers);
   }
@@ -82,7 +110,7 @@ public abstract class ObservableBase<O, T> implements ProperObservable<O, T> {
    * @param action action to execute for each observer.
    */
   protected final void forEachObserver(Consumer<O> action) {
-    Vectors.forEach(observers, o -> action.accept(o));
+    Vectors.forEach(observers, action);
   }
 
   /**
@@ -105,7 +133,7 @@ public abstract class ObservableBase<O, T> implements ProperObservable<O, T> {
 
   @Override
   public final void addObserver(O observer) {
-    observers = Vectors.add(observers, observer);
+    observers = indexedObservers ? Vectors.addIndexed(observers, observer) : Vectors.add(observers, observer);
     if (Vectors.size(observers) == 1) {
       inputSubscription = observeInputs();
     }
@@ -0,0 +1,101 @@
+package fx.react;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * A bounded lock-free queue that may be used by many threads at once (D. Vyukov's bounded MPMC queue).
+ *
+ * <p>Every slot has a sequence number that tells whether it may be written or read in the current lap:
+ * a producer claims the slot at {@code tail} by advancing {@code tail} when the slot's sequence equals
+ * {@code tail}, and publishes the item by setting the sequence to {@code tail + 1}; a consumer claims the slot
+ * at {@code head} when its sequence is {@code head + 1}, and frees it for the next lap.</p>
+ */
+final class RingBuffer<T> {
+
+  final int mask;
+  final AtomicReferenceArray<T> items;
+  final AtomicLongArray sequences;
+  final AtomicLong head = new AtomicLong();
+  final AtomicLong tail = new AtomicLong();
+
+  /**
+   * Creates a buffer for at least {@code capacity} items; the capacity is rounded up to a power of two.
+   */
+  RingBuffer(int capacity) {
+    if (capacity < 1 || capacity > (1 << 30)) {
+      throw new IllegalArgumentException("capacity: " + capacity);
+    }
+    var n = Integer.highestOneBit(capacity);
+    if (n < capacity) {
+      n <<= 1;
+    }
+    this.mask = n - 1;
+    this.items = new AtomicReferenceArray<>(n);
+    this.sequences = new AtomicLongArray(n);
+    for (var i = 0; i < n; ++i) {
+      sequences.set(i, i);
+    }
+  }
+
+  int capacity() {
+    return mask + 1;
+  }
+
+  /**
+   * Adds the item at the tail, unless the buffer is full.
+   * @return whether the item was added
+   */
+  boolean offer(T item) {
+    var pos = tail.get();
+    while (true) {
+      var slot = (int) pos & mask;
+      var diff = sequences.get(slot) - pos;
+      if (diff == 0) {
+        if (tail.compareAndSet(pos, pos + 1)) {
+          items.lazySet(slot, item);
+          sequences.set(slot, pos + 1); // publishes the item
+          return true;
+        }
+        pos = tail.get();
+      } else if (diff < 0) {
+        return false; // the slot still holds an item from the previous lap
+      } else {
+        pos = tail.get(); // another producer claimed the slot
+      }
+    }
+  }
+
+  /**
+   * Removes the item at the head.
+   * @return whether an item was removed; its value is passed to {@code consumer}
+   */
+  boolean poll(Consumer<? super T> consumer) {
+    var pos = head.get();
+    while (true) {
+      var slot = (int) pos & mask;
+      var diff = sequences.get(slot) - (pos + 1);
+      if (diff == 0) {
+        if (head.compareAndSet(pos, pos + 1)) {
+          var item = items.get(slot);
+          items.lazySet(slot, null);
+          sequences.set(slot, pos + mask + 1); // frees the slot for the next lap
+          consumer.accept(item);
+          return true;
+        }
+        pos = head.get();
+      } else if (diff < 0) {
+        return false; // empty, or the item is not published yet
+      } else {
+        pos = head.get(); // another consumer took the item
+      }
+    }
+  }
+
+  boolean isEmpty() {
+    return head.get() >= tail.get();
+  }
+
+}
@@ -0,0 +1,129 @@
+package fx.react.collection;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import fx.util.tree.FingerTree;
+import fx.util.tree.ToSemigroup;
+
+/**
+ * Same as {@link ListChangeAccumulator}, but keeps the accumulated modifications in a {@link FingerTree}, so that
+ * adding a modification takes O(log k) time for k accumulated modifications instead of O(k). Use it to accumulate
+ * large batches of scattered modifications; for a few modifications, {@link ListChangeAccumulator} is cheaper.
+ *
+ * <p>Each modification is stored relative to the end of the previous one (its "gap"), instead of at its
+ * absolute position. Therefore inserting or merging a modification never needs to shift the positions of the
+ * modifications after it; only the gap of the next one changes. {@link #fetch()} computes the absolute
+ * positions in a single pass.</p>
+ */
+public final class IndexedListChangeAccumulator<E> {
+
+  /**
+   * A modification that starts {@code gap} elements after the end of the previous one.
+   */
+  record Entry<E>(int gap, List<? extends E> removed, int addedSize) {
+    int span() {
+      return gap + addedSize;
+    }
+  }
+
+  /**
+   * Sums the spans, so that the summary of the first i entries is the end position of the i-th modification.
+   */
+  static final ToSemigroup<Entry<?>, Integer> SPAN = new ToSemigroup<>() {
+    @Override public Integer apply(Entry<?> entry) { return entry.span(); }
+    @Override public Integer reduce(Integer left, Integer right) { return left + right; }
+  };
+
+  FingerTree<Entry<E>, Integer> entries = FingerTree.empty(SPAN);
+
+  public boolean isEmpty() {
+    return entries.isEmpty();
+  }
+
+  public int getModificationCount() {
+    return entries.getLeafCount();
+  }
+
+  /**
+   * Returns the accumulated modifications, sorted by position, and resets this accumulator.
+   */
+  public QuasiChange<E> fetch() {
+    var res = new QuasiListChange<E>(entries.getLeafCount());
+    entries.fold(0, (end, entry) -> {
+      var from = end + entry.gap();
+      res.add(new QuasiListModification<>(from, entry.removed(), entry.addedSize()));
+      return from + entry.addedSize();
+    });
+    entries = FingerTree.empty(SPAN);
+    return res;
+  }
+
+  public IndexedListChangeAccumulator<E> add(QuasiChange<? extends E> change) {
+    for (var mod : change) {
+      add(mod);
+    }
+    return this;
+  }
+
+  public IndexedListChangeAccumulator<E> add(QuasiModification<? extends E> mod) {
+    var n = entries.getLeafCount();
+    var total = end(n);
+    var from = mod.getFrom();
+    var to = from + mod.getRemovedSize();
+
+    // the first modification that ends at or after "from"
+    var first = (n == 0 || from > total) ? n : entries.locateRegressively(Integer::intValue, from).major;
+
+    // the last modification that starts at or before "to"
+    int last;
+    if (to >= total) {
+      last = n - 1;
+    } else {
+      var loc = entries.locateProgressively(Integer::intValue, to);
+      last = (loc.minor >= entries.getLeaf(loc.major).gap()) ? loc.major : loc.major - 1;
+    }
+
+    QuasiModification<? extends E> merged;
+    if (last < first) { // no overlap
+      merged = mod;
+    } else {
+      var overlapping = new ArrayList<QuasiModification<? extends E>>(last - first + 1);
+      var end = end(first);
+      for (var i = first; i <= last; ++i) {
+        var entry = entries.getLeaf(i);
+        var start = end + entry.gap();
+        overlapping.add(new QuasiListModification<>(start, entry.removed(), entry.addedSize()));
+        end = start + entry.addedSize();
+      }
+      var joined = ListChangeAccumulator.join(overlapping, mod.getRemoved(), mod.getFrom());
+      merged = ListChangeAccumulator.combine(joined, mod);
+    }
+
+    // the modifications [first, last] are replaced by the merged one
+    var prevEnd = end(first);
+    var replacedEnd = end(last + 1); // end of the last replaced modification, or prevEnd if none
+    var diff = mod.getAddedSize() - mod.getRemovedSize();
+    var entry = new Entry<E>(merged.getFrom() - prevEnd, merged.getRemoved(), merged.getAddedSize());
+    var split = entries.split(first);
+    var rest = split.b().split(last + 1 - first).b();
+    if (!rest.isEmpty()) {
+      // the next modification keeps its absolute position, shifted by this modification
+      var next = rest.getLeaf(0);
+      var nextFrom = replacedEnd + next.gap() + diff;
+      var newNext = new Entry<E>(nextFrom - merged.getTo(), next.removed(), next.addedSize());
+      rest = rest.updateLeaf(0, newNext);
+    }
+    entries = split.a().append(entry).join(rest);
+    return this;
+  }
+
+  /**
+   * Returns the end position of the {@code count}-th modification, i.e. the summed spans of the first
+   * {@code count} modifications.
+   */
+  int end(int count) {
+    return (count == 0) ? 0 : entries.getSummaryBetween(0, count).orElse(0);
+  }
+
+}
@@ -6,7 +6,7 @@ import javafx.collections.ObservableList;
 
 import fx.react.Subscription;
 import fx.react.value.ValBase;
-import fx.util.tree.FingerTree;
+import fx.util.tree.ChunkedFingerTree;
 import fx.util.tree.ToSemigroup;
 
 class ListReduction<T> extends ValBase<T> {
@@ -15,7 +15,7 @@ class ListReduction<T> extends ValBase<T> {
   final BinaryOperator<T> reduction;
   final ToSemigroup<T, T> monoid;
 
-  FingerTree<T, T> tree = null;
+  ChunkedFingerTree<T, T> tree = null;
 
   ListReduction(ObservableList<T> input, BinaryOperator<T> reduction) {
     this.input = input;
@@ -36,13 +36,13 @@ class ListReduction<T> extends ValBase<T> {
   @Override
   protected Subscription connect() {
     assert tree == null;
-    tree = FingerTree.mkTree(input, monoid);
+    tree = ChunkedFingerTree.mkTree(input, monoid);
     return LiveList
       .observeChanges(input, ch -> {
         for (var mod : ch) {
-          FingerTree<T, T> left = tree.split(mod.getFrom()).a();
-          FingerTree<T, T> right = tree.split(mod.getFrom() + mod.getRemovedSize()).b();
-          FingerTree<T, T> middle = FingerTree.mkTree(mod.getAddedSubList(), monoid);
+          var left = tree.split(mod.getFrom()).a();
+          var right = tree.split(mod.getFrom() + mod.getRemovedSize()).b();
+          ChunkedFingerTree<T, T> middle = ChunkedFingerTree.mkTree(mod.getAddedSubList(), monoid);
           tree = left.join(middle).join(right);
         }
         invalidate();
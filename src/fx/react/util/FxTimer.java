@@ -11,6 +11,11 @@ import javafx.util.Duration;
  */
 public class FxTimer implements Timer {
 
+  static final TimerScheduler SCHEDULER = new TimerScheduler() {
+    @Override public Timer create(java.time.Duration delay, Runnable action) { return FxTimer.create(delay, action); }
+    @Override public Timer createPeriodic(java.time.Duration interval, Runnable action) { return FxTimer.createPeriodic(interval, action); }
+  };
+
   /**
    * Prepares a (stopped) timer that lasts for {@code delay} and whose action runs when timer <em>ends</em>.
    */
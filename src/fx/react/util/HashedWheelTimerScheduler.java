@@ -0,0 +1,209 @@
+package fx.react.util;
+
+import java.time.Duration;
+import java.util.ArrayList;
+
+/**
+ * A {@link TimerScheduler} for many concurrent timers, such as one per caret or tooltip.
+ *
+ * <p>Instead of a platform timer per {@link Timer}, the timers are kept in a <em>hashed wheel</em>: a ring of
+ * buckets, one per tick, where a timer due in {@code n} ticks is put in the bucket {@code n} places ahead of the
+ * current one. {@link Timer#restart()} and {@link Timer#stop()} take O(1) time. A single periodic timer of the
+ * given driver scheduler advances the wheel by one bucket per tick and fires the due timers of that bucket; it
+ * runs only while any timer is scheduled. Timers due more than a full turn of the wheel ahead stay in their
+ * bucket until the wheel has gone round often enough.</p>
+ *
+ * <p>Restarting a scheduled timer, as debouncing streams such as
+ * {@link fx.react.EventStream#successionEnds(Duration, TimerScheduler)} do on every event, only moves its
+ * deadline; the timer is moved to the bucket of its new deadline when the wheel reaches its current bucket.</p>
+ *
+ * <p>The timers fire at tick granularity: a timer fires on the first tick at or after its delay has elapsed,
+ * measured from the last tick. The created timers are manipulated from and execute their action on the thread
+ * of the driver scheduler.</p>
+ *
+ * <p>{@link #fx()} is a wheel shared by the JavaFX application thread that ticks about once per frame.</p>
+ */
+public final class HashedWheelTimerScheduler implements TimerScheduler {
+
+  static HashedWheelTimerScheduler shared = null;
+
+  /**
+   * Returns the wheel shared by the timers of the JavaFX application thread, with a tick of 16 ms (one frame
+   * at 60 fps) and 512 buckets. May only be used on the JavaFX application thread.
+   */
+  public static HashedWheelTimerScheduler fx() {
+    if (shared == null) {
+      shared = new HashedWheelTimerScheduler(Duration.ofMillis(16), 512, TimerScheduler.fx());
+    }
+    return shared;
+  }
+
+  final class WheelTimer implements Timer {
+    final long ticks;
+    final boolean periodic;
+    final Runnable action;
+
+    long deadline;
+    long seq = 0;
+    long firingSeq;
+
+    // bucket list links; prev is null when this timer is not scheduled
+    WheelTimer prev;
+    WheelTimer next;
+
+    WheelTimer(Duration delay, Runnable action, boolean periodic) {
+      this.ticks = Math.max(1, (delay.toNanos() + tickNanos - 1) / tickNanos);
+      this.action = action;
+      this.periodic = periodic;
+    }
+
+    @Override
+    public void restart() {
+      if (prev != null && !advancing) {
+        // the new deadline is later, so the wheel reaches the current bucket first
+        ++seq;
+        deadline = tick + ticks;
+      } else {
+        stop();
+        schedule(this, tick + ticks);
+      }
+    }
+
+    @Override
+    public void stop() {
+      ++seq;
+      if (prev != null) {
+        unlink(this);
+      }
+    }
+  }
+
+  final long tickNanos;
+  final int mask;
+
+  // bucket heads are sentinels, so that linking and unlinking need no special cases
+  final WheelTimer[] buckets;
+
+  final Timer driver;
+
+  long tick = 0;
+  int scheduled = 0;
+  boolean advancing = false;
+
+  /**
+   * @param tickDuration the granularity of the timers.
+   * @param wheelSize the number of buckets; rounded up to a power of two. Timers due within
+   * {@code tickDuration * wheelSize} are fired without going round the wheel.
+   * @param driver the scheduler of the timer that advances the wheel.
+   */
+  public HashedWheelTimerScheduler(Duration tickDuration, int wheelSize, TimerScheduler driver) {
+    if (tickDuration.isNegative() || tickDuration.isZero()) {
+      throw new IllegalArgumentException("Tick duration must be positive: " + tickDuration);
+    }
+    if (wheelSize <= 0 || wheelSize > 1 << 30) {
+      throw new IllegalArgumentException("Wheel size out of range: " + wheelSize);
+    }
+    var size = Integer.highestOneBit(wheelSize);
+    if (size < wheelSize) {
+      size <<= 1;
+    }
+    this.tickNanos = tickDuration.toNanos();
+    this.mask = size - 1;
+    this.buckets = new WheelTimer[size];
+    for (var i = 0; i < size; ++i) {
+      var head = new WheelTimer(tickDuration, null, false);
+      head.prev = head;
+      head.next = head;
+      buckets[i] = head;
+    }
+    this.driver = driver.createPeriodic(tickDuration, this::advance);
+  }
+
+  @Override
+  public Timer create(Duration delay, Runnable action) {
+    return new WheelTimer(delay, action, false);
+  }
+
+  @Override
+  public Timer createPeriodic(Duration interval, Runnable action) {
+    return new WheelTimer(interval, action, true);
+  }
+
+  /**
+   * Returns the number of scheduled timers.
+   */
+  public int getScheduledCount() {
+    return scheduled;
+  }
+
+  void schedule(WheelTimer timer, long deadline) {
+    timer.deadline = deadline;
+    link(timer, buckets[(int) deadline & mask]);
+    if (scheduled++ == 0 && !advancing) {
+      driver.restart();
+    }
+  }
+
+  void unlink(WheelTimer timer) {
+    detach(timer);
+    if (--scheduled == 0 && !advancing) {
+      driver.stop();
+    }
+  }
+
+  static void link(WheelTimer timer, WheelTimer head) {
+    timer.prev = head.prev;
+    timer.next = head;
+    head.prev.next = timer;
+    head.prev = timer;
+  }
+
+  static void detach(WheelTimer timer) {
+    timer.prev.next = timer.next;
+    timer.next.prev = timer.prev;
+    timer.prev = null;
+    timer.next = null;
+  }
+
+  /**
+   * Moves to the next bucket and fires its due timers. A due timer that is stopped or restarted by the action
+   * of another one that fires before it does not fire.
+   */
+  void advance() {
+    ++tick;
+    var bucket = (int) tick & mask;
+    var head = buckets[bucket];
+    var due = new ArrayList<WheelTimer>();
+    for (var timer = head.next; timer != head; ) {
+      var next = timer.next;
+      if (timer.deadline <= tick) {
+        timer.firingSeq = timer.seq;
+        due.add(timer);
+      } else if (((int) timer.deadline & mask) != bucket) {
+        // restarted since it was put in this bucket
+        detach(timer);
+        link(timer, buckets[(int) timer.deadline & mask]);
+      }
+      timer = next;
+    }
+    // the driver keeps running while the actions stop and restart timers
+    advancing = true;
+    try {
+      for (var timer : due) {
+        if (timer.firingSeq == timer.seq) {
+          unlink(timer);
+          if (timer.periodic) {
+            schedule(timer, tick + timer.ticks);
+          }
+          timer.action.run();
+        }
+      }
+    } finally {
+      advancing = false;
+      if (scheduled == 0) {
+        driver.stop();
+      }
+    }
+  }
+
+}
@@ -0,0 +1,23 @@
+package fx.react.util;
+
+import java.util.NoSuchElementException;
+import java.util.function.DoubleConsumer;
+
+class NonAccumulativeDoubleStreamNotifications extends NotificationAccumulatorBase<DoubleConsumer, Double, Double> implements NoAccumulation<Double> {
+
+  @Override
+  protected AccumulatorSize size(DoubleConsumer observer, Double accumulatedValue) {
+    return AccumulatorSize.ONE;
+  }
+
+  @Override
+  protected Runnable head(DoubleConsumer observer, Double accumulatedValue) {
+    return () -> observer.accept(accumulatedValue);
+  }
+
+  @Override
+  protected Double tail(DoubleConsumer observer, Double accumulatedValue) {
+    throw new NoSuchElementException();
+  }
+
+}
@@ -0,0 +1,23 @@
+package fx.react.util;
+
+import java.util.NoSuchElementException;
+import java.util.function.IntConsumer;
+
+class NonAccumulativeIntStreamNotifications extends NotificationAccumulatorBase<IntConsumer, Integer, Integer> implements NoAccumulation<Integer> {
+
+  @Override
+  protected AccumulatorSize size(IntConsumer observer, Integer accumulatedValue) {
+    return AccumulatorSize.ONE;
+  }
+
+  @Override
+  protected Runnable head(IntConsumer observer, Integer accumulatedValue) {
+    return () -> observer.accept(accumulatedValue);
+  }
+
+  @Override
+  protected Integer tail(IntConsumer observer, Integer accumulatedValue) {
+    throw new NoSuchElementException();
+  }
+
+}
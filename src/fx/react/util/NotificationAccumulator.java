@@ -5,7 +5,9 @@ import java.util.Iterator;
 import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
 import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
 import java.util.function.Function;
+import java.util.function.IntConsumer;
 
 import fx.react.collection.ListModificationSequence;
 import fx.react.collection.Observer;
@@ -42,6 +44,14 @@ public interface NotificationAccumulator<O, V, A> {
     return new NonAccumulativeStreamNotifications<T>();
   }
 
+  static NotificationAccumulator<IntConsumer, Integer, Integer> nonAccumulativeIntStreamNotifications() {
+    return new NonAccumulativeIntStreamNotifications();
+  }
+
+  static NotificationAccumulator<DoubleConsumer, Double, Double> nonAccumulativeDoubleStreamNotifications() {
+    return new NonAccumulativeDoubleStreamNotifications();
+  }
+
   static <E> NotificationAccumulator<Observer<? super E, ?>, QuasiChange<? extends E>, ListModificationSequence<E>> listNotifications() {
     return new ListNotifications<E>();
   }
@@ -0,0 +1,34 @@
+package fx.react.util;
+
+import java.time.Duration;
+
+/**
+ * Creates {@link Timer}s. All timers created by a scheduler share its associated thread, and their actions are
+ * executed on that thread.
+ *
+ * <p>The default scheduler, {@link #fx()}, creates an {@link FxTimer} (a {@link javafx.animation.Timeline}) per
+ * timer. {@link HashedWheelTimerScheduler} drives any number of timers with a single periodic timer, and
+ * {@link VirtualTimeScheduler} runs them against a manually advanced clock, for deterministic tests.</p>
+ */
+public interface TimerScheduler {
+
+  /**
+   * Returns a scheduler of timers that are manipulated from and execute their action on the JavaFX application
+   * thread.
+   */
+  static TimerScheduler fx() {
+    return FxTimer.SCHEDULER;
+  }
+
+  /**
+   * Prepares a (stopped) timer that lasts for {@code delay} and whose action runs when timer <em>ends</em>.
+   */
+  Timer create(Duration delay, Runnable action);
+
+  /**
+   * Prepares a (stopped) timer that lasts for {@code interval} and that executes the given action periodically
+   * when the timer <em>ends</em>.
+   */
+  Timer createPeriodic(Duration interval, Runnable action);
+
+}
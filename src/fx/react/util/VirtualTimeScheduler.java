@@ -0,0 +1,136 @@
+package fx.react.util;
+
+import java.time.Duration;
+import java.util.PriorityQueue;
+
+/**
+ * A {@link TimerScheduler} whose clock only moves when told to, for fast and deterministic tests and benchmarks
+ * of time-based streams, without a JavaFX toolkit or sleeping threads.
+ *
+ * <p>The clock starts at zero. {@link #advanceBy(Duration)} moves it forward and runs the actions of the timers
+ * that become due, on the calling thread, in the order of their deadlines; timers due at the same time run in
+ * the order they were scheduled. While an action runs, {@link #now()} is its deadline, so timers that it
+ * restarts are scheduled relative to that time, and run within the same call if they become due.</p>
+ *
+ * <p>The created timers are manipulated from the thread that advances the clock.</p>
+ */
+public final class VirtualTimeScheduler implements TimerScheduler {
+
+  record Scheduled(long deadline, long order, VirtualTimer timer, long seq) implements Comparable<Scheduled> {
+    @Override
+    public int compareTo(Scheduled that) {
+      var res = Long.compare(this.deadline, that.deadline);
+      return (res != 0) ? res : Long.compare(this.order, that.order);
+    }
+  }
+
+  final class VirtualTimer implements Timer {
+    final long delay;
+    final boolean periodic;
+    final Runnable action;
+
+    // a restart or stop invalidates the previously scheduled entry, which is then skipped
+    long seq = 0;
+    boolean scheduled = false;
+
+    VirtualTimer(Duration delay, Runnable action, boolean periodic) {
+      this.delay = delay.toNanos();
+      this.action = action;
+      this.periodic = periodic;
+    }
+
+    @Override
+    public void restart() {
+      stop();
+      schedule(this, now + delay);
+    }
+
+    @Override
+    public void stop() {
+      ++seq;
+      if (scheduled) {
+        scheduled = false;
+        --pending;
+      }
+    }
+  }
+
+  final PriorityQueue<Scheduled> queue = new PriorityQueue<>();
+
+  long now = 0;
+  long order = 0;
+  int pending = 0;
+
+  @Override
+  public Timer create(Duration delay, Runnable action) {
+    return new VirtualTimer(delay, action, false);
+  }
+
+  @Override
+  public Timer createPeriodic(Duration interval, Runnable action) {
+    if (interval.isNegative() || interval.isZero()) {
+      throw new IllegalArgumentException("Interval must be positive: " + interval);
+    }
+    return new VirtualTimer(interval, action, true);
+  }
+
+  /**
+   * Returns the current time of this scheduler's clock.
+   */
+  public Duration now() {
+    return Duration.ofNanos(now);
+  }
+
+  /**
+   * Returns the number of scheduled timers.
+   */
+  public int getPendingCount() {
+    return pending;
+  }
+
+  /**
+   * Moves the clock forward by the given amount of time, running the actions of the timers that become due.
+   *
+   * @return the number of actions run.
+   */
+  public int advanceBy(Duration amount) {
+    if (amount.isNegative()) {
+      throw new IllegalArgumentException("Cannot go back in time: " + amount);
+    }
+    var target = now + amount.toNanos();
+    var count = 0;
+    while (!queue.isEmpty() && queue.peek().deadline() <= target) {
+      var next = queue.poll();
+      var timer = next.timer();
+      if (next.seq() != timer.seq) {
+        continue; // stopped or restarted
+      }
+      now = next.deadline();
+      timer.scheduled = false;
+      --pending;
+      if (timer.periodic) {
+        schedule(timer, now + timer.delay);
+      }
+      ++count;
+      timer.action.run();
+    }
+    now = target;
+    return count;
+  }
+
+  /**
+   * Runs the actions of the timers that are due now, e.g. timers with zero delay.
+   *
+   * @return the number of actions run.
+   */
+  public int runDue() {
+    return advanceBy(Duration.ZERO);
+  }
+
+  void schedule(VirtualTimer timer, long deadline) {
+    timer.scheduled = true;
+    ++pending;
+    queue.add(new Scheduled(deadline, order++, timer, timer.seq));
+  }
+
+}
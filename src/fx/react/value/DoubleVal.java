@@ -0,0 +1,106 @@
+package fx.react.value;
+
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleSupplier;
+import java.util.function.DoubleToIntFunction;
+import java.util.function.DoubleUnaryOperator;
+
+import javafx.beans.InvalidationListener;
+
+import fx.react.DoubleEventStream;
+import fx.react.DoubleEventStreamBase;
+import fx.react.Subscription;
+
+/**
+ * A {@link Val} of {@code double}s whose value is computed, stored and passed to its primitive operators
+ * without boxing. The observers of a {@linkplain Val} receive the old value as an object; see
+ * {@link DoubleValBase} for when it is boxed.
+ */
+public interface DoubleVal extends Val<Double> {
+
+  double getAsDouble();
+
+  @Override
+  default Double getValue() {
+    return getAsDouble();
+  }
+
+  /**
+   * Returns a {@linkplain DoubleVal} whose value is {@code f} applied to the value of this one.
+   */
+  default DoubleVal mapToDouble(DoubleUnaryOperator f) {
+    return create(() -> f.applyAsDouble(getAsDouble()), this);
+  }
+
+  /**
+   * Returns an {@link IntVal} whose value is {@code f} applied to the value of this {@linkplain DoubleVal}.
+   */
+  default IntVal mapToInt(DoubleToIntFunction f) {
+    return IntVal.create(() -> f.applyAsInt(getAsDouble()), this);
+  }
+
+  /**
+   * Returns a stream of the values of this {@linkplain DoubleVal}. The returned stream emits the current value
+   * for each new subscriber and then the new value whenever the value changes.
+   */
+  default DoubleEventStream doubleValues() {
+    return new DoubleEventStreamBase() {
+      double last;
+      @Override
+      protected Subscription observeInputs() {
+        last = getAsDouble();
+        return observeInvalidations(oldValue -> {
+          var value = getAsDouble();
+          if (Double.compare(value, last) != 0) {
+            last = value;
+            emit(value);
+          }
+        });
+      }
+      @Override
+      protected void newObserver(DoubleConsumer observer) {
+        observer.accept(getAsDouble());
+      }
+    };
+  }
+
+  /**
+   * Same as {@link Val#suspendable()}, but the returned {@linkplain SuspendableVal} can still be read without
+   * boxing.
+   */
+  @Override
+  default SuspendableDoubleVal suspendable() {
+    return (this instanceof SuspendableDoubleVal sv) ? sv : new SuspendableDoubleValWrapper(this);
+  }
+
+  /**
+   * Returns a {@linkplain DoubleVal} whose value is computed by {@code computeValue} and that is invalidated
+   * whenever one of the {@code dependencies} is.
+   */
+  static DoubleVal create(DoubleSupplier computeValue, javafx.beans.Observable... dependencies) {
+    return new DoubleValBase() {
+      @Override
+      protected Subscription connect() {
+        InvalidationListener listener = obs -> invalidate();
+        for (var dep : dependencies) {
+          dep.addListener(listener);
+        }
+        return () -> {
+          for (var dep : dependencies) {
+            dep.removeListener(listener);
+          }
+        };
+      }
+      @Override
+      protected double computeValue() {
+        return computeValue.getAsDouble();
+      }
+    };
+  }
+
+  static DoubleVal combine(DoubleVal a, DoubleVal b, DoubleBinaryOperator f) {
+    return create(() -> f.applyAsDouble(a.getAsDouble(), b.getAsDouble()), a, b);
+  }
+
+}
@@ -0,0 +1,68 @@
+package fx.react.value;
+
+import java.util.function.Consumer;
+
+import fx.react.Subscription;
+
+/**
+ * Same as {@link ValBase}, but the value is an unboxed {@code double}. The value is boxed at most once per
+ * change: when it is requested as an object, or when the observers are notified of an invalidation.
+ */
+public abstract class DoubleValBase extends PropagatedValBase<Double> implements DoubleVal, ProperVal<Double> {
+
+  double value = 0;
+  Double boxed = null; // value boxed, or null if not boxed yet
+
+  @Override
+  public final double getAsDouble() {
+    if (!valid || !isObservingInputs()) {
+      recomputing();
+      value = computeValue();
+      boxed = null;
+      valid = true;
+    }
+    return value;
+  }
+
+  @Override
+  public final Double getValue() {
+    var v = getAsDouble();
+    if (boxed == null) {
+      boxed = v;
+    }
+    return boxed;
+  }
+
+  @Override
+  protected final Subscription observeInputs() {
+    valid = false;
+    return connect();
+  }
+
+  protected final void invalidate() {
+    propagateInvalidation();
+  }
+
+  @Override
+  final Double currentValue() {
+    if (boxed == null) {
+      boxed = value;
+    }
+    return boxed;
+  }
+
+  @Override
+  protected final void newObserver(Consumer<? super Double> oldValueObserver) {
+    // make sure the current value is valid, so that the observer
+    // does not miss any invalidations or changes
+    getAsDouble();
+  }
+
+  /**
+   * See {@link ValBase#connect()}.
+   */
+  protected abstract Subscription connect();
+
+  protected abstract double computeValue();
+
+}
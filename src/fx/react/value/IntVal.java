@@ -0,0 +1,106 @@
+package fx.react.value;
+
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntSupplier;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntUnaryOperator;
+
+import javafx.beans.InvalidationListener;
+
+import fx.react.IntEventStream;
+import fx.react.IntEventStreamBase;
+import fx.react.Subscription;
+
+/**
+ * A {@link Val} of {@code int}s whose value is computed, stored and passed to its primitive operators without
+ * boxing. The observers of a {@linkplain Val} receive the old value as an object; see {@link IntValBase} for
+ * when it is boxed.
+ */
+public interface IntVal extends Val<Integer> {
+
+  int getAsInt();
+
+  @Override
+  default Integer getValue() {
+    return getAsInt();
+  }
+
+  /**
+   * Returns an {@linkplain IntVal} whose value is {@code f} applied to the value of this one.
+   */
+  default IntVal mapToInt(IntUnaryOperator f) {
+    return create(() -> f.applyAsInt(getAsInt()), this);
+  }
+
+  /**
+   * Returns a {@link DoubleVal} whose value is {@code f} applied to the value of this {@linkplain IntVal}.
+   */
+  default DoubleVal mapToDouble(IntToDoubleFunction f) {
+    return DoubleVal.create(() -> f.applyAsDouble(getAsInt()), this);
+  }
+
+  /**
+   * Returns a stream of the values of this {@linkplain IntVal}. The returned stream emits the current value for
+   * each new subscriber and then the new value whenever the value changes.
+   */
+  default IntEventStream intValues() {
+    return new IntEventStreamBase() {
+      int last;
+      @Override
+      protected Subscription observeInputs() {
+        last = getAsInt();
+        return observeInvalidations(oldValue -> {
+          var value = getAsInt();
+          if (value != last) {
+            last = value;
+            emit(value);
+          }
+        });
+      }
+      @Override
+      protected void newObserver(IntConsumer observer) {
+        observer.accept(getAsInt());
+      }
+    };
+  }
+
+  /**
+   * Same as {@link Val#suspendable()}, but the returned {@linkplain SuspendableVal} can still be read without
+   * boxing.
+   */
+  @Override
+  default SuspendableIntVal suspendable() {
+    return (this instanceof SuspendableIntVal sv) ? sv : new SuspendableIntValWrapper(this);
+  }
+
+  /**
+   * Returns an {@linkplain IntVal} whose value is computed by {@code computeValue} and that is invalidated
+   * whenever one of the {@code dependencies} is.
+   */
+  static IntVal create(IntSupplier computeValue, javafx.beans.Observable... dependencies) {
+    return new IntValBase() {
+      @Override
+      protected Subscription connect() {
+        InvalidationListener listener = obs -> invalidate();
+        for (var dep : dependencies) {
+          dep.addListener(listener);
+        }
+        return () -> {
+          for (var dep : dependencies) {
+            dep.removeListener(listener);
+          }
+        };
+      }
+      @Override
+      protected int computeValue() {
+        return computeValue.getAsInt();
+      }
+    };
+  }
+
+  static IntVal combine(IntVal a, IntVal b, IntBinaryOperator f) {
+    return create(() -> f.applyAsInt(a.getAsInt(), b.getAsInt()), a, b);
+  }
+
+}
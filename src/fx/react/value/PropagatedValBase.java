@@ -0,0 +1,55 @@
+package fx.react.value;
+
+import java.util.function.Consumer;
+
+import fx.react.ObservableBase;
+
+/**
+ * The state and invalidation logic shared by {@link ValBase}, {@link IntValBase} and {@link DoubleValBase}, so
+ * that the boxed and the primitive {@linkplain Val}s take part in the same {@link TopologicalPropagation}.
+ */
+abstract class PropagatedValBase<T> extends ObservableBase<Consumer<? super T>, T> {
+
+  boolean valid = false; // irrelevant when not isObservingInputs()
+
+  // used by TopologicalPropagation
+  int height = 0;
+  TopologicalPropagation.Pending pending = null;
+
+  /**
+   * Returns the last computed value, to be passed to the observers as the old value.
+   * Only called while the value is valid.
+   */
+  abstract T currentValue();
+
+  /**
+   * Counts a recomputation of the value in the active propagation, if any.
+   */
+  static void recomputing() {
+    var propagation = TopologicalPropagation.current();
+    if (propagation != null) {
+      ++propagation.recomputations;
+    }
+  }
+
+  /**
+   * Marks the value invalid and notifies the observers, either immediately or, when a
+   * {@link TopologicalPropagation} is active on this thread, in its next pulse.
+   */
+  final void propagateInvalidation() {
+    var propagation = TopologicalPropagation.current();
+    if (propagation != null) {
+      propagation.invalidate(this);
+    } else if (valid) {
+      var oldValue = currentValue();
+      valid = false;
+      notifyObservers(oldValue);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  final void notifyInvalidated(Object oldValue) {
+    notifyObservers((T) oldValue);
+  }
+
+}
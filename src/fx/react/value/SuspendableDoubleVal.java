@@ -0,0 +1,18 @@
+package fx.react.value;
+
+/**
+ * A {@link SuspendableVal} whose value can be read without boxing.
+ */
+public interface SuspendableDoubleVal extends DoubleVal, SuspendableVal<Double> {
+
+  @Override
+  default Double getValue() {
+    return getAsDouble();
+  }
+
+  @Override
+  default SuspendableDoubleVal suspendable() {
+    return this;
+  }
+
+}
@@ -0,0 +1,43 @@
+package fx.react.value;
+
+import java.util.function.Consumer;
+
+import fx.react.SuspendableBase;
+import fx.react.util.AccumulatorSize;
+import fx.react.util.NotificationAccumulator;
+
+class SuspendableDoubleValWrapper extends SuspendableBase<Consumer<? super Double>, Double, Double> implements SuspendableDoubleVal, ProperVal<Double> {
+
+  final DoubleVal delegate;
+
+  SuspendableDoubleValWrapper(DoubleVal obs) {
+    super(obs.invalidations(), NotificationAccumulator.retainOldestValNotifications());
+    this.delegate = obs;
+  }
+
+  @Override
+  public double getAsDouble() {
+    return delegate.getAsDouble();
+  }
+
+  @Override
+  public Double getValue() {
+    return delegate.getValue(); // boxed at most once per change by the delegate
+  }
+
+  @Override
+  protected AccumulatorSize sizeOf(Double accum) {
+    return AccumulatorSize.ONE;
+  }
+
+  @Override
+  protected Double headOf(Double accum) {
+    return accum;
+  }
+
+  @Override
+  protected Double tailOf(Double accum) {
+    throw new UnsupportedOperationException("Cannot take a tail of a single value");
+  }
+
+}
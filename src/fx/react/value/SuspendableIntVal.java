@@ -0,0 +1,18 @@
+package fx.react.value;
+
+/**
+ * A {@link SuspendableVal} whose value can be read without boxing.
+ */
+public interface SuspendableIntVal extends IntVal, SuspendableVal<Integer> {
+
+  @Override
+  default Integer getValue() {
+    return getAsInt();
+  }
+
+  @Override
+  default SuspendableIntVal suspendable() {
+    return this;
+  }
+
+}
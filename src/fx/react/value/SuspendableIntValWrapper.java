@@ -0,0 +1,43 @@
+package fx.react.value;
+
+import java.util.function.Consumer;
+
+import fx.react.SuspendableBase;
+import fx.react.util.AccumulatorSize;
+import fx.react.util.NotificationAccumulator;
+
+class SuspendableIntValWrapper extends SuspendableBase<Consumer<? super Integer>, Integer, Integer> implements SuspendableIntVal, ProperVal<Integer> {
+
+  final IntVal delegate;
+
+  SuspendableIntValWrapper(IntVal obs) {
+    super(obs.invalidations(), NotificationAccumulator.retainOldestValNotifications());
+    this.delegate = obs;
+  }
+
+  @Override
+  public int getAsInt() {
+    return delegate.getAsInt();
+  }
+
+  @Override
+  public Integer getValue() {
+    return delegate.getValue(); // boxed at most once per change by the delegate
+  }
+
+  @Override
+  protected AccumulatorSize sizeOf(Integer accum) {
+    return AccumulatorSize.ONE;
+  }
+
+  @Override
+  protected Integer headOf(Integer accum) {
+    return accum;
+  }
+
+  @Override
+  protected Integer tailOf(Integer accum) {
+    throw new UnsupportedOperationException("Cannot take a tail of a single value");
+  }
+
+}
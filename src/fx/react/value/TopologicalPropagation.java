@@ -0,0 +1,180 @@
+package fx.react.value;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import fx.react.Guard;
+import fx.react.Suspendable;
+
+/**
+ * Opt-in glitch-free propagation of {@link Val} invalidations.
+ *
+ * <p>By default, {@linkplain ValBase#invalidate() invalidating} a {@linkplain Val} notifies its observers
+ * immediately, depth-first. In a diamond-shaped graph, where {@code d} depends on {@code b} and {@code c}, which
+ * both depend on {@code a}, invalidating {@code a} notifies the observers of {@code d} twice, and the first time
+ * {@code d} is recomputed from the new value of {@code b} and the old value of {@code c}.</p>
+ *
+ * <p>While this propagation is {@linkplain #suspend() suspended} on the current thread (a <em>transaction</em>),
+ * invalidated {@linkplain Val}s are marked invalid, but their observers are not notified. When the outermost
+ * transaction ends, the invalidated {@linkplain Val}s are notified in the order of their height in the
+ * dependency graph, lowest first (a <em>pulse</em>). Invalidations caused by these notifications are scheduled
+ * in the same pulse. A {@linkplain Val} is notified at most once per pulse, after everything it depends on has
+ * been invalidated, so an observer that recomputes its value sees a consistent state. Within a transaction,
+ * however, the {@linkplain Val}s that depend on an invalidated one are not invalidated yet, and may return
+ * their old values.</p>
+ *
+ * <p>The heights are learned as invalidations propagate: a {@linkplain Val} that is invalidated while the
+ * observers of another one are being notified is placed above it. Therefore the first pulse through a new
+ * graph may still notify a {@linkplain Val} more than once; subsequent pulses do not.</p>
+ *
+ * <p>Only one propagation can be active on a thread at a time.</p>
+ */
+public final class TopologicalPropagation implements Suspendable {
+
+  /**
+   * An invalidated {@linkplain Val} whose observers have not been notified yet.
+   */
+  static final class Pending implements Comparable<Pending> {
+    final PropagatedValBase<?> node;
+    final Object oldValue;
+    final long order;
+    final int height;
+
+    Pending(PropagatedValBase<?> node, Object oldValue, long order) {
+      this.node = node;
+      this.oldValue = oldValue;
+      this.order = order;
+      this.height = node.height;
+    }
+
+    @Override
+    public int compareTo(Pending that) {
+      var res = Integer.compare(this.height, that.height);
+      return (res != 0) ? res : Long.compare(this.order, that.order);
+    }
+  }
+
+  static final ThreadLocal<TopologicalPropagation> CURRENT = new ThreadLocal<>();
+
+  // number of threads with an active propagation; spares a thread-local lookup when there is none
+  static final AtomicInteger ACTIVE = new AtomicInteger();
+
+  /**
+   * Returns the propagation active on the current thread, or {@code null}.
+   */
+  static TopologicalPropagation current() {
+    return (ACTIVE.get() == 0) ? null : CURRENT.get();
+  }
+
+  final PriorityQueue<Pending> queue = new PriorityQueue<>();
+  int depth = 0;
+  long order = 0;
+  PropagatedValBase<?> notifying = null;
+
+  long pulses = 0;
+  long notifications = 0;
+  long recomputations = 0;
+  long coalesced = 0;
+
+  @Override
+  public Guard suspend() {
+    var current = CURRENT.get();
+    if (current == null) {
+      CURRENT.set(this);
+      ACTIVE.incrementAndGet();
+    } else if (current != this) {
+      throw new IllegalStateException("Another propagation is active on this thread");
+    }
+    ++depth;
+    return ((Guard) this::release).closeableOnce();
+  }
+
+  /**
+   * Returns the number of completed pulses.
+   */
+  public long getPulseCount() {
+    return pulses;
+  }
+
+  /**
+   * Returns the number of times the observers of a {@linkplain Val} were notified during pulses.
+   */
+  public long getNotificationCount() {
+    return notifications;
+  }
+
+  /**
+   * Returns the number of times a {@linkplain Val} recomputed its value during transactions and pulses.
+   */
+  public long getRecomputationCount() {
+    return recomputations;
+  }
+
+  /**
+   * Returns the number of invalidations of a {@linkplain Val} that was already waiting to be notified.
+   * Without this propagation, each of them would have notified the observers of that {@linkplain Val}
+   * again, and possibly caused a recomputation.
+   */
+  public long getAvoidedRecomputationCount() {
+    return coalesced;
+  }
+
+  void invalidate(PropagatedValBase<?> node) {
+    if (notifying != null && node.height <= notifying.height) {
+      node.height = notifying.height + 1;
+      if (node.pending != null) {
+        // move it above the node that invalidated it
+        queue.remove(node.pending);
+        node.pending = new Pending(node, node.pending.oldValue, node.pending.order);
+        queue.add(node.pending);
+      }
+    }
+    if (node.pending != null) {
+      node.valid = false; // may have been recomputed in the meantime
+      ++coalesced;
+    } else if (node.valid) {
+      var oldValue = node.currentValue();
+      node.valid = false;
+      node.pending = new Pending(node, oldValue, order++);
+      queue.add(node.pending);
+    }
+  }
+
+  void release() {
+    if (depth > 1) {
+      --depth;
+      return;
+    }
+    try {
+      pulse(); // transactions opened by observers are nested in this one
+    } finally {
+      depth = 0;
+      for (var pending : queue) {
+        pending.node.pending = null;
+      }
+      queue.clear();
+      CURRENT.remove();
+      ACTIVE.decrementAndGet();
+    }
+  }
+
+  void pulse() {
+    if (queue.isEmpty()) {
+      return;
+    }
+    while (!queue.isEmpty()) {
+      var pending = queue.poll();
+      var node = pending.node;
+      node.pending = null;
+      notifying = node;
+      try {
+        ++notifications;
+        node.notifyInvalidated(pending.oldValue);
+      } finally {
+        notifying = null;
+      }
+    }
+    ++pulses;
+  }
+
+}
@@ -2,17 +2,16 @@ package fx.react.value;
 
 import java.util.function.Consumer;
 
-import fx.react.ObservableBase;
 import fx.react.Subscription;
 
-public abstract class ValBase<T> extends ObservableBase<Consumer<? super T>, T> implements ProperVal<T> {
+public abstract class ValBase<T> extends PropagatedValBase<T> implements ProperVal<T> {
 
-  boolean valid = false; // irrelevant when not isObservingInputs()
   T value = null;
 
   @Override
   public final T getValue() {
     if (!valid || !isObservingInputs()) {
+      recomputing();
       value = computeValue();
       valid = true;
     }
@@ -26,10 +25,12 @@ public abstract class ValBase<T> extends ObservableBase<Consumer<? super T>, T>
   }
 
   protected final void invalidate() {
-    if (valid) {
-      valid = false;
-      notifyObservers(value);
-    }
+    propagateInvalidation();
+  }
+
+  @Override
+  final T currentValue() {
+    return value;
   }
 
   @Override
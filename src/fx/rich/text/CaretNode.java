@@ -20,14 +20,17 @@ import javafx.util.Duration;
 
 import fx.react.EventStream;
 import fx.react.EventStreams;
+import fx.react.ObservableBase;
 import fx.react.Subscription;
 import fx.react.Suspendable;
 import fx.react.SuspendableNo;
+import fx.react.value.IntVal;
+import fx.react.value.SuspendableIntVal;
 import fx.react.value.SuspendableVal;
 import fx.react.value.Val;
 import fx.react.value.Var;
 import fx.rich.text.model.PlainTextChange;
-import fx.rich.text.model.TwoDimensional;
+import fx.rich.text.util.CharSequenceIterator;
 import fx.state.StateMachine;
 
 import static fx.react.EventStreams.*;
@@ -100,11 +103,11 @@ public class CaretNode extends Path implements Caret, Comparable<CaretNode> {
     return position;
   }
 
-  final SuspendableVal<Integer> paragraphIndex;
+  final SuspendableIntVal paragraphIndex;
 
   @Override
   public final int getParagraphIndex() {
-    return paragraphIndex.getValue();
+    return paragraphIndex.getAsInt();
   }
 
   @Override
@@ -124,11 +127,11 @@ public class CaretNode extends Path implements Caret, Comparable<CaretNode> {
     return lineIndex;
   }
 
-  final SuspendableVal<Integer> columnPosition;
+  final SuspendableIntVal columnPosition;
 
   @Override
   public final int getColumnPosition() {
-    return columnPosition.getValue();
+    return columnPosition.getAsInt();
   }
 
   @Override
@@ -238,8 +241,9 @@ public class CaretNode extends Path implements Caret, Comparable<CaretNode> {
       internalTextPosition,
       area.getParagraphs()
     );
-    paragraphIndex = caretPosition2D.map(TwoDimensional.Position::getMajor).suspendable();
-    columnPosition = caretPosition2D.map(TwoDimensional.Position::getMinor).suspendable();
+    paragraphIndex = IntVal.create(() -> caretPosition2D.getValue().getMajor(), caretPosition2D).suspendable();
+    // observed by the paragraph cells, which come and go as they are recycled
+    columnPosition = ObservableBase.withIndexedObservers(IntVal.create(() -> caretPosition2D.getValue().getMinor(), caretPosition2D).suspendable());
 
     // when content is updated by an area, update the caret of all the other
     // clones that also display the same document
@@ -446,7 +450,7 @@ public class CaretNode extends Path implements Caret, Comparable<CaretNode> {
     if (area.getLength() == 0) {
       return;
     }
-    breakIterator.setText(area.getText());
+    breakIterator.setText(new CharSequenceIterator(area.getTextView()));
     if (followingNotPreceding) {
       breakIterator.following(getPosition());
     } else {
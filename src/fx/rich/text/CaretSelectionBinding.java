@@ -18,6 +18,7 @@ import fx.react.value.Val;
 import fx.react.value.Var;
 
 import fx.rich.text.model.StyledDocument;
+import fx.rich.text.util.CharSequenceIterator;
 
 class CaretSelectionBinding<PS, SEG, S> implements CaretSelectionBind<PS, SEG, S> {
 
@@ -402,7 +403,7 @@ class CaretSelectionBinding<PS, SEG, S> implements CaretSelectionBind<PS, SEG, S
     if (getAreaLength() == 0) {
       return;
     }
-    breakIterator.setText(getArea().getText());
+    breakIterator.setText(new CharSequenceIterator(getArea().getTextView()));
     var position = calculatePositionViaBreakingForwards(numOfBreaks, breakIterator, getPosition());
     moveTo(position, NavigationActions.SelectionPolicy.CLEAR);
   }
@@ -412,7 +413,7 @@ class CaretSelectionBinding<PS, SEG, S> implements CaretSelectionBind<PS, SEG, S
     if (getAreaLength() == 0) {
       return;
     }
-    breakIterator.setText(getArea().getText());
+    breakIterator.setText(new CharSequenceIterator(getArea().getTextView()));
     var position = calculatePositionViaBreakingBackwards(numOfBreaks, breakIterator, getPosition());
     moveTo(position, NavigationActions.SelectionPolicy.CLEAR);
   }
@@ -455,7 +456,7 @@ class CaretSelectionBinding<PS, SEG, S> implements CaretSelectionBind<PS, SEG, S
     if (getAreaLength() == 0) {
       return;
     }
-    breakIterator.setText(getArea().getText());
+    breakIterator.setText(new CharSequenceIterator(getArea().getTextView()));
     var position = calculatePositionViaBreakingForwards(numOfBreaks, breakIterator, getStartPosition());
     updateStartTo(position);
   }
@@ -465,7 +466,7 @@ class CaretSelectionBinding<PS, SEG, S> implements CaretSelectionBind<PS, SEG, S
     if (getAreaLength() == 0) {
       return;
     }
-    breakIterator.setText(getArea().getText());
+    breakIterator.setText(new CharSequenceIterator(getArea().getTextView()));
     var position = calculatePositionViaBreakingBackwards(numOfBreaks, breakIterator, getStartPosition());
     updateStartTo(position);
   }
@@ -485,7 +486,7 @@ class CaretSelectionBinding<PS, SEG, S> implements CaretSelectionBind<PS, SEG, S
     if (getAreaLength() == 0) {
       return;
     }
-    breakIterator.setText(getArea().getText());
+    breakIterator.setText(new CharSequenceIterator(getArea().getTextView()));
     var position = calculatePositionViaBreakingForwards(numOfBreaks, breakIterator, getStartPosition());
     updateEndTo(position);
   }
@@ -495,7 +496,7 @@ class CaretSelectionBinding<PS, SEG, S> implements CaretSelectionBind<PS, SEG, S
     if (getAreaLength() == 0) {
       return;
     }
-    breakIterator.setText(getArea().getText());
+    breakIterator.setText(new CharSequenceIterator(getArea().getTextView()));
     var position = calculatePositionViaBreakingBackwards(numOfBreaks, breakIterator, getStartPosition());
     updateEndTo(position);
   }
@@ -518,7 +519,7 @@ class CaretSelectionBinding<PS, SEG, S> implements CaretSelectionBind<PS, SEG, S
       return;
     }
     var breakIterator = BreakIterator.getWordInstance(getArea().getLocale());
-    breakIterator.setText(getArea().getText());
+    breakIterator.setText(new CharSequenceIterator(getArea().getTextView()));
     var start = calculatePositionViaBreakingBackwards(1, breakIterator, wordPositionInArea);
     var end = calculatePositionViaBreakingForwards(1, breakIterator, wordPositionInArea);
     selectRange(start, end);
@@ -571,7 +572,7 @@ class CaretSelectionBinding<PS, SEG, S> implements CaretSelectionBind<PS, SEG, S
   @Override
   public void moveToPrevChar(NavigationActions.SelectionPolicy selectionPolicy) {
     if (getPosition() > 0) {
-      var newCaretPos = Character.offsetByCodePoints(getArea().getText(), getPosition(), -1);
+      var newCaretPos = Character.offsetByCodePoints(getArea().getTextView(), getPosition(), -1);
       moveTo(newCaretPos, selectionPolicy);
     }
   }
@@ -579,7 +580,7 @@ class CaretSelectionBinding<PS, SEG, S> implements CaretSelectionBind<PS, SEG, S
   @Override
   public void moveToNextChar(NavigationActions.SelectionPolicy selectionPolicy) {
     if (getPosition() < getAreaLength()) {
-      var newCaretPos = Character.offsetByCodePoints(getArea().getText(), getPosition(), 1);
+      var newCaretPos = Character.offsetByCodePoints(getArea().getTextView(), getPosition(), 1);
       moveTo(newCaretPos, selectionPolicy);
     }
   }
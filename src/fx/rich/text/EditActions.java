@@ -131,7 +131,7 @@ public interface EditActions<PS, SEG, S> extends TextEditingArea<PS, SEG, S> {
   default void deletePreviousChar() {
     var end = getCaretPosition();
     if (end > 0) {
-      var start = Character.offsetByCodePoints(getText(), end, -1);
+      var start = Character.offsetByCodePoints(getTextView(), end, -1);
       deleteText(start, end);
     }
   }
@@ -143,7 +143,7 @@ public interface EditActions<PS, SEG, S> extends TextEditingArea<PS, SEG, S> {
   default void deleteNextChar() {
     var start = getCaretPosition();
     if (start < getLength()) {
-      var end = Character.offsetByCodePoints(getText(), start, 1);
+      var end = Character.offsetByCodePoints(getTextView(), start, 1);
       deleteText(start, end);
     }
   }
@@ -64,6 +64,7 @@ import fx.undo.UndoManager;
 import fx.react.EventStream;
 import fx.react.EventStreams;
 import fx.react.Guard;
+import fx.react.ObservableBase;
 import fx.react.Subscription;
 import fx.react.Suspendable;
 import fx.react.SuspendableEventStream;
@@ -87,6 +88,7 @@ import fx.rich.text.model.StyleSpans;
 import fx.rich.text.model.StyledDocument;
 import fx.rich.text.model.StyledSegment;
 import fx.rich.text.model.TextOps;
+import fx.rich.text.model.TextSearch;
 import fx.rich.text.model.TwoDimensional;
 import fx.rich.text.model.TwoLevelNavigator;
 import fx.rich.text.util.SubscribeableContentsObsSet;
@@ -698,6 +700,11 @@ public class GenericStyledArea<PS, SEG, S> extends Region implements TextEditing
     return content.textProperty();
   }
 
+  @Override
+  public final CharSequence getTextView() {
+    return content.getTextView();
+  }
+
   // rich text
   @Override
   public final StyledDocument<PS, SEG, S> getDocument() {
@@ -1006,13 +1013,14 @@ public class GenericStyledArea<PS, SEG, S> extends Region implements TextEditing
     IntUnaryOperator cellLength = i -> virtualFlow.getCell(i).getNode().getLineCount();
     paragraphLineNavigator = new TwoLevelNavigator(cellCount, cellLength);
 
-    viewportDirty = merge(
+    // observed by every caret and selection, whose subscriptions come and go as paragraph cells are recycled
+    viewportDirty = ObservableBase.withIndexedObservers(merge(
       // no need to check for width & height invalidations as scroll values update when these do
       // scale
       invalidationsOf(scaleXProperty()), invalidationsOf(scaleYProperty()),
       // scroll
       invalidationsOf(estimatedScrollXProperty()), invalidationsOf(estimatedScrollYProperty())
-    ).suppressible();
+    ).suppressible());
 
     autoCaretBlinksSteam = EventStreams.valuesOf(
       focusedProperty().and(editableProperty()).and(disabledProperty().not())
@@ -1712,6 +1720,28 @@ public class GenericStyledArea<PS, SEG, S> extends Region implements TextEditing
     return new MultiChangeBuilder<>(this, initialNumOfChanges);
   }
 
+  /**
+   * Replaces every match of the given search in this area's text with the given text in a single
+   * multi-change (see {@link #createMultiChange()}), so that it can be undone in one step.
+   *
+   * @return the number of replaced matches
+   */
+  public int replaceAll(TextSearch search, String replacement) {
+    var matches = search.findAll(content);
+    if (matches.isEmpty()) {
+      return 0;
+    }
+    var doc = ReadOnlyStyledDocument.fromString(replacement, getInitialParagraphStyle(), getInitialTextStyle(), getSegOps());
+    var builder = createMultiChange(matches.size());
+    var delta = 0; // the replacements are given in the coordinates of the document updated by the previous ones
+    for (var match : matches) {
+      builder.replaceAbsolutely(match.getStart() + delta, match.getEnd() + delta, doc);
+      delta += doc.length() - match.getLength();
+    }
+    builder.commit();
+    return matches.size();
+  }
+
   /**
    * Convenience method to fold (hide/collapse) the currently selected paragraphs,
    * into (i.e. excluding) the first paragraph of the range.
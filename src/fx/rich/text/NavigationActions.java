@@ -2,6 +2,8 @@ package fx.rich.text;
 
 import java.text.BreakIterator;
 
+import fx.rich.text.util.CharSequenceIterator;
+
 /**
  * Specifies actions for moving the caret and/or making a selection for a {@link TextEditingArea}.
  */
@@ -103,7 +105,7 @@ public interface NavigationActions<PS, SEG, S> extends TextEditingArea<PS, SEG,
     }
 
     var wordBreakIterator = BreakIterator.getWordInstance(getLocale());
-    wordBreakIterator.setText(getText());
+    wordBreakIterator.setText(new CharSequenceIterator(getTextView()));
     wordBreakIterator.preceding(getCaretPosition());
     for (var i = 1; i < n; i++) {
       wordBreakIterator.previous();
@@ -121,7 +123,7 @@ public interface NavigationActions<PS, SEG, S> extends TextEditingArea<PS, SEG,
     }
 
     var wordBreakIterator = BreakIterator.getWordInstance();
-    wordBreakIterator.setText(getText());
+    wordBreakIterator.setText(new CharSequenceIterator(getTextView()));
     wordBreakIterator.following(getCaretPosition());
     for (var i = 1; i < n; i++) {
       wordBreakIterator.next();
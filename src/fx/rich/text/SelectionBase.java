@@ -22,6 +22,7 @@ import static fx.react.EventStreams.*;
 
 import fx.rich.text.model.StyledDocument;
 import fx.rich.text.model.TwoDimensional.Position;
+import fx.rich.text.util.CharSequenceIterator;
 import static fx.rich.text.model.TwoDimensional.Bias.*;
 
 /**
@@ -459,7 +460,7 @@ public class SelectionBase<PS, SEG, S> implements Selection<PS, SEG, S>, Compara
       return;
     }
     var breakIterator = BreakIterator.getWordInstance(getArea().getLocale());
-    breakIterator.setText(area.getText());
+    breakIterator.setText(new CharSequenceIterator(area.getTextView()));
     breakIterator.preceding(wordPositionInArea);
     breakIterator.next();
     var wordStart = breakIterator.current();
@@ -546,7 +547,7 @@ public class SelectionBase<PS, SEG, S> implements Selection<PS, SEG, S>, Compara
     if (area.getLength() == 0) {
       return;
     }
-    breakIterator.setText(area.getText());
+    breakIterator.setText(new CharSequenceIterator(area.getTextView()));
     int pos;
     Runnable updateSelection;
     if (updateStartNotEnd) {
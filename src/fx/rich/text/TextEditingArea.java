@@ -62,6 +62,16 @@ public interface TextEditingArea<PS, SEG, S> {
 
   ObservableValue<String> textProperty();
 
+  /**
+   * Text content of this text-editing area as a {@link CharSequence}. Unlike {@link #getText()}, the text need
+   * not be copied into one string, which makes it the better choice for scanning the text, e.g. with a
+   * {@link java.text.BreakIterator} or a regular expression. The returned view does not reflect subsequent
+   * edits of this text-editing area.
+   */
+  default CharSequence getTextView() {
+    return getText();
+  }
+
   /**
    * Rich-text content of this text-editing area.
    * The returned document is immutable, it does not reflect
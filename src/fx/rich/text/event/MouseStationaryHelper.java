@@ -12,6 +12,7 @@ import javafx.scene.input.MouseEvent;
 
 import fx.react.EventStream;
 import fx.react.Subscription;
+import fx.react.util.HashedWheelTimerScheduler;
 import fx.util.Either;
 
 /**
@@ -39,7 +40,7 @@ public class MouseStationaryHelper {
   public EventStream<Either<Point2D, Void>> events(Duration delay) {
     var mouseEvents = eventsOf(node, MouseEvent.ANY);
     var stationaryPositions = mouseEvents
-      .successionEnds(delay)
+      .successionEnds(delay, HashedWheelTimerScheduler.fx())
       .filter(e -> e.getEventType() == MOUSE_MOVED)
       .map(e -> new Point2D(e.getX(), e.getY())
     );
@@ -0,0 +1,80 @@
+package fx.rich.text.model;
+
+import java.util.Objects;
+
+/**
+ * A {@link CharSequence} view of the text of a {@link ReadOnlyStyledDocument} or a {@link MappedStyledDocument},
+ * with {@code '\n'} between paragraphs. Characters are read from the paragraphs in place instead of from a copy of the whole text;
+ * {@link #charAt(int)} takes O(log n) time and {@link #subSequence(int, int)} creates another view without
+ * copying. Obtain one from {@link StyledDocument#getTextView()}.
+ *
+ * <p>The view remembers the paragraph of the last accessed character, so that sequential access (as done by
+ * {@link java.util.regex.Matcher}) only looks up the paragraph tree when it moves backwards or skips ahead.
+ * Because of that, one view must not be used from several threads at once.</p>
+ */
+public final class DocumentText implements CharSequence {
+
+  final StyledDocument<?, ?, ?> doc;
+  final int start;
+  final int end;
+
+  // the paragraph of the last accessed character and its offsets in the document
+  Paragraph<?, ?, ?> par = null;
+  int parIndex = -1;
+  int parStart;
+  int parEnd;
+
+  DocumentText(StyledDocument<?, ?, ?> doc) {
+    this(doc, 0, doc.length());
+  }
+
+  DocumentText(StyledDocument<?, ?, ?> doc, int start, int end) {
+    this.doc = doc;
+    this.start = start;
+    this.end = end;
+  }
+
+  @Override
+  public int length() {
+    return end - start;
+  }
+
+  @Override
+  public char charAt(int index) {
+    Objects.checkIndex(index, length());
+    var offset = start + index;
+    if (par == null || offset < parStart || offset > parEnd) {
+      seek(offset);
+    }
+    return (offset == parEnd) ? '\n' : par.charAt(offset - parStart);
+  }
+
+  void seek(int offset) {
+    if (par != null && offset == parEnd + 1) {
+      ++parIndex; // moved past the line terminator
+      parStart = offset;
+    } else if (doc instanceof ReadOnlyStyledDocument<?, ?, ?> rosd) {
+      var pos = rosd.locate(offset);
+      parIndex = pos.major;
+      parStart = offset - pos.minor;
+    } else {
+      var pos = doc.offsetToPosition(offset, TwoDimensional.Bias.Forward);
+      parIndex = pos.getMajor();
+      parStart = offset - pos.getMinor();
+    }
+    par = doc.getParagraph(parIndex);
+    parEnd = parStart + par.length();
+  }
+
+  @Override
+  public DocumentText subSequence(int start, int end) {
+    Objects.checkFromToIndex(start, end, length());
+    return new DocumentText(doc, this.start + start, this.start + end);
+  }
+
+  @Override
+  public String toString() {
+    return (start == 0 && end == doc.length()) ? doc.getText() : doc.getText(start, end);
+  }
+
+}
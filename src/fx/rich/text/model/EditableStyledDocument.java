@@ -169,6 +169,19 @@ public interface EditableStyledDocument<PS, SEG, S> extends StyledDocument<PS, S
    */
   void setStyleSpans(int paragraphIndex, int from, StyleSpans<? extends S> styleSpens);
 
+  /**
+   * Replaces the style spans of consecutive paragraphs, starting with {@code firstParagraph}, with the given style
+   * spans, one per paragraph. Paragraphs whose style spans would not change are skipped.
+   */
+  default void setParagraphStyleSpans(int firstParagraph, List<? extends StyleSpans<? extends S>> styleSpans) {
+    for (var i = 0; i < styleSpans.size(); ++i) {
+      var spans = styleSpans.get(i);
+      if (!spans.equals(getParagraph(firstParagraph + i).getStyleSpans(0, spans.length()))) {
+        setStyleSpans(firstParagraph + i, 0, spans);
+      }
+    }
+  }
+
   /**
    * Sets the given paragraph to the given paragraph style
    */
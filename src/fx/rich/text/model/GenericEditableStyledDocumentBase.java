@@ -10,6 +10,7 @@ import fx.react.Subscription;
 import fx.react.Suspendable;
 import fx.react.SuspendableEventStream;
 import fx.react.SuspendableNo;
+import fx.react.collection.IndexedListChangeAccumulator;
 import fx.react.collection.ListChangeAccumulator;
 import fx.react.collection.LiveList;
 import fx.react.collection.LiveListBase;
@@ -38,18 +39,37 @@ class GenericEditableStyledDocumentBase<PS, SEG, S> implements EditableStyledDoc
     @Override
     protected Subscription observeInputs() {
       return parChangesList.subscribe(list -> {
-        var accumulator = new ListChangeAccumulator<Paragraph<PS, SEG, S>>();
-        for (var mod : list) {
-          try { mod = mod.trim(); }
-          catch (IndexOutOfBoundsException ignore) {}
-          // add the quasiListModification itself, not as a quasiListChange, in case some overlap
-          accumulator.add(QuasiModification.create(mod.getFrom(), mod.getRemoved(), mod.getAddedSize()));
+        // the indexed accumulator only pays off for many modifications, e.g. of a replaceAll
+        if (list.size() < INDEXED_ACCUMULATION_THRESHOLD) {
+          var accumulator = new ListChangeAccumulator<Paragraph<PS, SEG, S>>();
+          for (var mod : list) {
+            accumulator.add(toQuasiModification(mod));
+          }
+          notifyObservers(accumulator.fetch());
+        } else {
+          var accumulator = new IndexedListChangeAccumulator<Paragraph<PS, SEG, S>>();
+          for (var mod : list) {
+            accumulator.add(toQuasiModification(mod));
+          }
+          notifyObservers(accumulator.fetch());
         }
-        notifyObservers(accumulator.asListChange());
       });
     }
+
+    QuasiModification<Paragraph<PS, SEG, S>> toQuasiModification(MaterializedModification<Paragraph<PS, SEG, S>> mod) {
+      try { mod = mod.trim(); }
+      catch (IndexOutOfBoundsException ignore) {}
+      // add the quasiListModification itself, not as a quasiListChange, in case some overlap
+      return QuasiModification.create(mod.getFrom(), mod.getRemoved(), mod.getAddedSize());
+    }
   }
 
+  /**
+   * Number of paragraph modifications in one update from which they are accumulated with an
+   * {@link IndexedListChangeAccumulator} instead of a {@link ListChangeAccumulator}.
+   */
+  static final int INDEXED_ACCUMULATION_THRESHOLD = 32;
+
   ReadOnlyStyledDocument<PS, SEG, S> doc;
 
   final EventSource<List<RichTextChange<PS, SEG, S>>> internalRichChangeList = new EventSource<>();
@@ -73,6 +93,15 @@ class GenericEditableStyledDocumentBase<PS, SEG, S> implements EditableStyledDoc
     return text;
   }
 
+  /**
+   * Returns a view of the current text that reads from the paragraphs of {@link #snapshot()}; it does not
+   * reflect later edits.
+   */
+  @Override
+  public CharSequence getTextView() {
+    return doc.getTextView();
+  }
+
   final Val<Integer> internalLength = Val.create(() -> doc.length(), internalRichChangeList);
   final SuspendableVal<Integer> length = internalLength.suspendable();
 
@@ -203,6 +232,17 @@ class GenericEditableStyledDocumentBase<PS, SEG, S> implements EditableStyledDoc
     setStyleSpans(doc.position(paragraphIndex, from).toOffset(), styleSpans);
   }
 
+  /**
+   * Applies all changed paragraphs in one update, so that observers receive a single list of changes.
+   */
+  @Override
+  public void setParagraphStyleSpans(int firstParagraph, List<? extends StyleSpans<? extends S>> styleSpans) {
+    var replacements = doc.restyleParagraphs(firstParagraph, styleSpans);
+    if (!replacements.isEmpty()) {
+      replaceMulti(replacements);
+    }
+  }
+
   @Override
   public void setParagraphStyle(int paragraphIndex, PS style) {
     doc.replaceParagraph(paragraphIndex, p -> p.setParagraphStyle(style)).exec(this::updateSingle);
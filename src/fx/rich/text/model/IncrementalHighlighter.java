@@ -0,0 +1,223 @@
+package fx.rich.text.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import javafx.application.Platform;
+
+import fx.react.EventSource;
+import fx.react.EventStream;
+import fx.react.Subscription;
+import fx.react.collection.ListChange;
+
+/**
+ * Keeps the style spans of an {@link EditableStyledDocument} up to date with a {@link Lexer}, re-tokenizing only
+ * the paragraphs whose text changed.
+ *
+ * <p>The lexer tokenizes one paragraph at a time, starting in the state the previous paragraph ended in
+ * (e.g. "inside a block comment"). The end state of every paragraph is remembered. After an edit, tokenizing
+ * starts at the first changed paragraph and stops at the first following unchanged paragraph whose end state
+ * is the same as before, since the paragraphs after it cannot have changed either.</p>
+ *
+ * <p>Tokenizing runs on the given worker executor against a {@link EditableStyledDocument#snapshot() snapshot}
+ * of the document; the results are applied on the JavaFX application thread with
+ * {@link EditableStyledDocument#setParagraphStyleSpans(int, List)}, which leaves paragraphs whose spans did not
+ * change untouched. Results computed for a snapshot that has been edited in the meantime are discarded and the
+ * paragraphs are tokenized again.</p>
+ *
+ * <p>If the lexer throws, the exception is emitted by {@link #errors()}. The paragraphs tokenized before the one
+ * that failed are styled; that paragraph and the following ones keep their styles until the next edit of the text,
+ * after which they are tokenized again, starting with the one that failed.</p>
+ *
+ * @param <S> the type of the style of individual segments
+ * @param <L> the type of the lexer's state between paragraphs; it must implement {@code equals}
+ */
+public final class IncrementalHighlighter<PS, SEG, S, L> {
+
+  /**
+   * Splits the text of a paragraph into styled tokens.
+   */
+  public interface Lexer<S, L> {
+
+    /**
+     * The state at the start of the first paragraph.
+     */
+    L initialState();
+
+    /**
+     * Returns the style spans of the given paragraph text, which must cover the whole text, and the state
+     * at its end. Called on the worker executor.
+     */
+    Tokens<S, L> tokenize(String text, L state);
+  }
+
+  public record Tokens<S, L>(StyleSpans<S> spans, L endState) {}
+
+  /**
+   * The spans and end states of the paragraphs tokenized from {@code firstParagraph}, and the exception
+   * thrown when tokenizing the paragraph after them, if any.
+   */
+  record Batch<S, L>(int version, int firstParagraph, List<StyleSpans<S>> spans, List<L> endStates, Throwable error) {}
+
+  final EditableStyledDocument<PS, SEG, S> document;
+  final Lexer<S, L> lexer;
+  final Executor worker;
+  final Executor applicationThread;
+  final Subscription subscription;
+  final EventSource<Throwable> errors = new EventSource<>();
+
+  // the lexer state at the end of each paragraph, or null if the paragraph has to be tokenized
+  final List<L> states;
+
+  int version = 0;
+  boolean running = false;
+  // the lexer failed or the worker rejected it; nothing is tokenized until the text changes
+  boolean failed = false;
+  boolean disposed = false;
+
+  /**
+   * Starts highlighting the given document; the whole document is tokenized first.
+   */
+  public IncrementalHighlighter(EditableStyledDocument<PS, SEG, S> document, Lexer<S, L> lexer, Executor worker) {
+    this(document, lexer, worker, Platform::runLater);
+  }
+
+  IncrementalHighlighter(EditableStyledDocument<PS, SEG, S> document, Lexer<S, L> lexer, Executor worker, Executor applicationThread) {
+    this.document = document;
+    this.lexer = lexer;
+    this.worker = worker;
+    this.applicationThread = applicationThread;
+    this.states = new ArrayList<>(Collections.nCopies(document.getParagraphs().size(), null));
+    this.subscription = document.getParagraphs().changes().subscribe(this::paragraphsChanged);
+    schedule();
+  }
+
+  /**
+   * Emits the exceptions thrown by the lexer or the worker executor, on the JavaFX application thread.
+   */
+  public EventStream<Throwable> errors() {
+    return errors;
+  }
+
+  /**
+   * Stops highlighting; results that are still being computed are discarded.
+   */
+  public void dispose() {
+    subscription.unsubscribe();
+    disposed = true;
+    ++version;
+  }
+
+  void paragraphsChanged(ListChange<? extends Paragraph<PS, SEG, S>> change) {
+    var textChanged = false;
+    for (var mod : change) {
+      var from = mod.getFrom();
+      if (sameText(mod.getRemoved(), mod.getAddedSubList())) {
+        continue; // only restyled, e.g. by this highlighter
+      }
+      states.subList(from, from + mod.getRemovedSize()).clear();
+      states.addAll(from, Collections.nCopies(mod.getAddedSize(), null));
+      if (mod.getAddedSize() == 0 && from < states.size()) {
+        states.set(from, null); // starts in a different state now
+      }
+      textChanged = true;
+    }
+    if (textChanged) {
+      ++version;
+      failed = false;
+      schedule();
+    }
+  }
+
+  static boolean sameText(List<? extends Paragraph<?, ?, ?>> removed, List<? extends Paragraph<?, ?, ?>> added) {
+    if (removed.size() != added.size()) {
+      return false;
+    }
+    for (var i = 0; i < removed.size(); ++i) {
+      if (!removed.get(i).getText().equals(added.get(i).getText())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  void schedule() {
+    if (running || failed || disposed) {
+      return;
+    }
+    var first = states.indexOf(null);
+    if (first < 0) {
+      return;
+    }
+    var v = version;
+    var snapshot = document.snapshot();
+    var startState = (first == 0) ? lexer.initialState() : states.get(first - 1);
+    var oldStates = new ArrayList<>(states.subList(first, states.size()));
+    CompletableFuture<Batch<S, L>> task;
+    try {
+      task = CompletableFuture.supplyAsync(() -> tokenize(v, snapshot, first, startState, oldStates), worker);
+    } catch (RejectedExecutionException e) {
+      fail(e); // e.g. the worker has been shut down; retried after the next edit
+      return;
+    }
+    running = true;
+    task.whenCompleteAsync((batch, error) -> {
+      running = false;
+      if (v != version) {
+        schedule(); // the document was edited while tokenizing (or disposed)
+      } else if (error != null) {
+        fail(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+      } else {
+        apply(batch);
+        if (batch.error() != null) {
+          fail(batch.error());
+        } else {
+          schedule();
+        }
+      }
+    }, applicationThread);
+  }
+
+  Batch<S, L> tokenize(int version, ReadOnlyStyledDocument<PS, SEG, S> snapshot, int first, L state, List<L> oldStates) {
+    var spans = new ArrayList<StyleSpans<S>>();
+    var endStates = new ArrayList<L>();
+    var n = snapshot.getParagraphCount();
+    for (var i = first; i < n; ++i) {
+      Tokens<S, L> tokens;
+      try {
+        tokens = lexer.tokenize(snapshot.getParagraph(i).getText(), state);
+      } catch (RuntimeException e) {
+        return new Batch<>(version, first, spans, endStates, e);
+      }
+      state = tokens.endState();
+      spans.add(tokens.spans());
+      endStates.add(state);
+      var old = oldStates.get(i - first);
+      if (old != null && old.equals(state)) {
+        break; // the following paragraphs start in the same state as before
+      }
+    }
+    return new Batch<>(version, first, spans, endStates, null);
+  }
+
+  void apply(Batch<S, L> batch) {
+    var first = batch.firstParagraph();
+    for (var i = 0; i < batch.endStates().size(); ++i) {
+      states.set(first + i, batch.endStates().get(i));
+    }
+    if (!batch.spans().isEmpty()) {
+      document.setParagraphStyleSpans(first, batch.spans());
+    }
+  }
+
+  void fail(Throwable error) {
+    failed = true;
+    errors.push(error);
+  }
+
+}
@@ -0,0 +1,57 @@
+package fx.rich.text.model;
+
+import java.util.Objects;
+import java.util.Optional;
+
+import javafx.scene.control.IndexRange;
+
+/**
+ * Boyer-Moore-Horspool search for a fixed string. The bad-character table is indexed by the low byte of a
+ * character; characters that share a low byte get the smallest of their shifts, which keeps the table small
+ * for any alphabet without ever skipping a match.
+ */
+final class LiteralTextSearch implements TextSearch {
+
+  final String pattern;
+  final int[] shift = new int[256];
+
+  LiteralTextSearch(String pattern) {
+    if (pattern.isEmpty()) {
+      throw new IllegalArgumentException("Cannot search for an empty string");
+    }
+    this.pattern = pattern;
+    var m = pattern.length();
+    for (var i = 0; i < shift.length; ++i) {
+      shift[i] = m;
+    }
+    for (var i = 0; i < m - 1; ++i) {
+      var c = pattern.charAt(i) & 0xFF;
+      shift[c] = Math.min(shift[c], m - 1 - i);
+    }
+  }
+
+  @Override
+  public Optional<IndexRange> find(CharSequence text, int from) {
+    Objects.checkIndex(from, text.length() + 1);
+    var m = pattern.length();
+    var last = text.length() - m;
+    var i = from;
+    while (i <= last) {
+      var j = m - 1;
+      while (text.charAt(i + j) == pattern.charAt(j)) {
+        if (j == 0) {
+          return Optional.of(new IndexRange(i, i + m));
+        }
+        --j;
+      }
+      i += shift[text.charAt(i + m - 1) & 0xFF];
+    }
+    return Optional.empty();
+  }
+
+  @Override
+  public String toString() {
+    return "LiteralTextSearch[" + pattern + "]";
+  }
+
+}
@@ -0,0 +1,297 @@
+package fx.rich.text.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import fx.react.EventSource;
+import fx.react.EventStream;
+import fx.react.Subscription;
+import fx.react.Suspendable;
+import fx.react.SuspendableEventStream;
+import fx.react.SuspendableNo;
+import fx.react.collection.IndexedListChangeAccumulator;
+import fx.react.collection.ListChangeAccumulator;
+import fx.react.collection.LiveList;
+import fx.react.collection.LiveListBase;
+import fx.react.collection.MaterializedModification;
+import fx.react.collection.QuasiModification;
+import fx.react.collection.SuspendableList;
+import fx.react.collection.UnmodifiableByDefaultLiveList;
+import fx.react.value.SuspendableVal;
+import fx.react.value.Val;
+import static fx.rich.text.model.TwoDimensional.Bias.*;
+
+/**
+ * An {@link EditableStyledDocument} over a {@link MappedStyledDocument}, so that a very large file can be shown
+ * and edited in a {@link fx.rich.text.GenericStyledArea}.
+ *
+ * <p>The {@linkplain #getParagraphs() paragraphs} are decoded only when the area's viewport requests them, i.e.
+ * when they are shown or measured. An edit decodes only the paragraphs it touches, which are kept in memory from
+ * then on (see {@link MappedStyledDocument}); the edited document can be read back with
+ * {@link #getTextView()} or {@link #subSequence(int, int)}, and the file itself is never written.</p>
+ *
+ * <p>Since the whole text of the file would have to be decoded into a single {@link String},
+ * {@link #getText()}, {@link #textProperty()} and {@link #snapshot()} throw
+ * {@link UnsupportedOperationException}; so do the methods of an area that rely on them, such as
+ * {@link fx.rich.text.GenericStyledArea#getText()}.</p>
+ *
+ * @param <PS> The type of the paragraph style.
+ * @param <SEG> The type of the segments in the paragraph (e.g. {@link String}).
+ * @param <S> The type of the style of individual segments.
+ */
+public final class MappedEditableStyledDocument<PS, SEG, S> implements EditableStyledDocument<PS, SEG, S> {
+
+  class Paragraphs extends LiveListBase<Paragraph<PS, SEG, S>> implements UnmodifiableByDefaultLiveList<Paragraph<PS, SEG, S>> {
+
+    @Override
+    public Paragraph<PS, SEG, S> get(int index) {
+      return doc.getParagraph(index);
+    }
+
+    @Override
+    public int size() {
+      return doc.getParagraphCount();
+    }
+
+    @Override
+    protected Subscription observeInputs() {
+      return parChangesList.subscribe(list -> {
+        if (list.size() < GenericEditableStyledDocumentBase.INDEXED_ACCUMULATION_THRESHOLD) {
+          var accumulator = new ListChangeAccumulator<Paragraph<PS, SEG, S>>();
+          for (var mod : list) {
+            accumulator.add(toQuasiModification(mod));
+          }
+          notifyObservers(accumulator.fetch());
+        } else {
+          var accumulator = new IndexedListChangeAccumulator<Paragraph<PS, SEG, S>>();
+          for (var mod : list) {
+            accumulator.add(toQuasiModification(mod));
+          }
+          notifyObservers(accumulator.fetch());
+        }
+      });
+    }
+
+    QuasiModification<Paragraph<PS, SEG, S>> toQuasiModification(MaterializedModification<Paragraph<PS, SEG, S>> mod) {
+      try { mod = mod.trim(); }
+      catch (IndexOutOfBoundsException ignore) {}
+      return QuasiModification.create(mod.getFrom(), mod.getRemoved(), mod.getAddedSize());
+    }
+  }
+
+  MappedStyledDocument<PS, SEG, S> doc;
+
+  final EventSource<List<RichTextChange<PS, SEG, S>>> internalRichChangeList = new EventSource<>();
+  final SuspendableEventStream<List<RichTextChange<PS, SEG, S>>> richChangeList = internalRichChangeList.pausable();
+  final Val<Integer> internalLength = Val.create(() -> doc.length(), internalRichChangeList);
+  final SuspendableVal<Integer> length = internalLength.suspendable();
+  final EventSource<List<MaterializedModification<Paragraph<PS, SEG, S>>>> parChangesList = new EventSource<>();
+  final SuspendableList<Paragraph<PS, SEG, S>> paragraphs = new Paragraphs().suspendable();
+  final SuspendableNo beingUpdated = new SuspendableNo();
+
+  public MappedEditableStyledDocument(MappedStyledDocument<PS, SEG, S> doc) {
+    this.doc = doc;
+    var omniSuspendable = Suspendable.combine(
+      length,
+      // add streams after properties, to be released before them
+      richChangeList,
+      // paragraphs to be released first
+      paragraphs
+    );
+    omniSuspendable.suspendWhen(beingUpdated);
+  }
+
+  /**
+   * Returns the mapped document with the edits made so far.
+   */
+  public MappedStyledDocument<PS, SEG, S> getDocument() {
+    return doc;
+  }
+
+  @Override
+  public EventStream<List<RichTextChange<PS, SEG, S>>> multiRichChanges() {
+    return richChangeList;
+  }
+
+  /**
+   * Throws {@link UnsupportedOperationException}: the text of the whole file is not held in memory.
+   */
+  @Override
+  public Val<String> textProperty() {
+    throw wholeText();
+  }
+
+  /**
+   * Throws {@link UnsupportedOperationException}: the text of the whole file is not held in memory. Use
+   * {@link #getTextView()} or {@link #getText(int, int)} instead.
+   */
+  @Override
+  public String getText() {
+    throw wholeText();
+  }
+
+  /**
+   * Returns a view of the current text that decodes paragraphs as its characters are read; it does not reflect
+   * later edits.
+   */
+  @Override
+  public CharSequence getTextView() {
+    return doc.getTextView();
+  }
+
+  @Override
+  public int getLength() {
+    return length.getValue();
+  }
+
+  @Override
+  public Val<Integer> lengthProperty() {
+    return length;
+  }
+
+  @Override
+  public int length() {
+    return length.getValue();
+  }
+
+  @Override
+  public LiveList<Paragraph<PS, SEG, S>> getParagraphs() {
+    return paragraphs;
+  }
+
+  @Override
+  public Paragraph<PS, SEG, S> getParagraph(int index) {
+    return doc.getParagraph(index);
+  }
+
+  @Override
+  public int getParagraphLength(int paragraphIndex) {
+    return doc.getParagraphLength(paragraphIndex);
+  }
+
+  @Override
+  public String getText(int paragraphIndex) {
+    return doc.getText(paragraphIndex);
+  }
+
+  /**
+   * Throws {@link UnsupportedOperationException}: a {@link ReadOnlyStyledDocument} of the whole file would hold
+   * every paragraph in memory. Use {@link #subSequence(int, int)} for a part of it.
+   */
+  @Override
+  public ReadOnlyStyledDocument<PS, SEG, S> snapshot() {
+    throw wholeText();
+  }
+
+  static UnsupportedOperationException wholeText() {
+    return new UnsupportedOperationException("A mapped document does not decode the whole file; use getTextView() or subSequence(int, int)");
+  }
+
+  @Override
+  public final SuspendableNo beingUpdatedProperty() {
+    return beingUpdated;
+  }
+
+  @Override
+  public final boolean isBeingUpdated() {
+    return beingUpdated.get();
+  }
+
+  @Override
+  public Position position(int major, int minor) {
+    return doc.position(major, minor);
+  }
+
+  @Override
+  public Position offsetToPosition(int offset, Bias bias) {
+    return doc.offsetToPosition(offset, bias);
+  }
+
+  @Override
+  public void replaceMulti(List<Replacement<PS, SEG, S>> replacements) {
+    doc.replaceMulti(replacements).exec(this::updateMulti);
+  }
+
+  @Override
+  public void replace(int start, int end, StyledDocument<PS, SEG, S> replacement) {
+    doc.replace(start, end, ReadOnlyStyledDocument.from(replacement)).exec(this::updateSingle);
+  }
+
+  @Override
+  public void setStyle(int from, int to, S style) {
+    doc.replace(from, to, removed -> removed.mapParagraphs(par -> par.restyle(style))).exec(this::updateSingle);
+  }
+
+  @Override
+  public void setStyle(int paragraphIndex, S style) {
+    doc.replaceParagraph(paragraphIndex, p -> p.restyle(style)).exec(this::updateSingle);
+  }
+
+  @Override
+  public void setStyle(int paragraphIndex, int fromCol, int toCol, S style) {
+    doc.replace(paragraphIndex, fromCol, toCol, d -> d.mapParagraphs(p -> p.restyle(style))).exec(this::updateSingle);
+  }
+
+  @Override
+  public void setStyleSpans(int from, StyleSpans<? extends S> styleSpans) {
+    var len = styleSpans.length();
+    doc.replace(from, from + len, d -> {
+      var i = styleSpans.position(0, 0);
+      var pars = new ArrayList<Paragraph<PS, SEG, S>>(d.getParagraphs().size());
+      for (var p : d.getParagraphs()) {
+        var j = i.offsetBy(p.length(), Backward);
+        var spans = styleSpans.subView(i, j);
+        pars.add(p.restyle(0, spans));
+        i = j.offsetBy(1, Forward); // skip the newline
+      }
+      return new ReadOnlyStyledDocument<>(pars);
+    }).exec(this::updateSingle);
+  }
+
+  @Override
+  public void setStyleSpans(int paragraphIndex, int from, StyleSpans<? extends S> styleSpans) {
+    setStyleSpans(doc.position(paragraphIndex, from).toOffset(), styleSpans);
+  }
+
+  @Override
+  public void setParagraphStyleSpans(int firstParagraph, List<? extends StyleSpans<? extends S>> styleSpans) {
+    var replacements = doc.restyleParagraphs(firstParagraph, styleSpans);
+    if (!replacements.isEmpty()) {
+      replaceMulti(replacements);
+    }
+  }
+
+  @Override
+  public void setParagraphStyle(int paragraphIndex, PS style) {
+    doc.replaceParagraph(paragraphIndex, p -> p.setParagraphStyle(style)).exec(this::updateSingle);
+  }
+
+  @Override
+  public StyledDocument<PS, SEG, S> concat(StyledDocument<PS, SEG, S> that) {
+    return doc.concat(that);
+  }
+
+  @Override
+  public StyledDocument<PS, SEG, S> subSequence(int start, int end) {
+    return doc.subSequence(start, end);
+  }
+
+  void updateSingle(MappedStyledDocument<PS, SEG, S> newValue, RichTextChange<PS, SEG, S> change, MaterializedModification<Paragraph<PS, SEG, S>> parChange) {
+    updateMulti(newValue, Collections.singletonList(change), Collections.singletonList(parChange));
+  }
+
+  void updateMulti(MappedStyledDocument<PS, SEG, S> newValue, List<RichTextChange<PS, SEG, S>> richChanges, List<MaterializedModification<Paragraph<PS, SEG, S>>> parChanges) {
+    this.doc = newValue;
+    beingUpdated.suspendWhile(() -> {
+      internalRichChangeList.push(richChanges);
+      parChangesList.push(parChanges);
+    });
+  }
+
+  @Override
+  public String toString() {
+    return "MappedEditableStyledDocument(" + doc + ')';
+  }
+
+}
@@ -0,0 +1,728 @@
+package fx.rich.text.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.UnaryOperator;
+
+import fx.react.collection.MaterializedModification;
+import fx.react.util.Lists;
+import fx.util.tree.FingerTree;
+import fx.util.tree.FingerTree._2t;
+import fx.util.tree.NonEmpty;
+import fx.util.tree.ToSemigroup;
+import fx.rich.text.model.ReadOnlyStyledDocument.Replace;
+import fx.rich.text.model.ReadOnlyStyledDocument.Summary;
+import static fx.rich.text.model.TwoDimensional.Bias.*;
+
+/**
+ * An immutable {@link StyledDocument} over a memory-mapped text file, intended for viewing and editing very
+ * large files.
+ *
+ * <p>Instead of a tree of {@link Paragraph}s, the document keeps a tree of line index chunks that record where
+ * each line starts in the file and how many characters it has. A {@link Paragraph} is decoded only when it is
+ * requested through {@link #getParagraph(int)}, and only the most recently requested paragraphs are kept in
+ * memory. Every paragraph of the file has the same paragraph style and segment style.</p>
+ *
+ * <p>Like {@link ReadOnlyStyledDocument}, the document is edited by {@code replace} methods that return an
+ * updated document. Only the paragraphs touched by an edit are decoded: they replace their lines in the tree,
+ * splitting a chunk if needed, and are kept in memory from then on; the other lines stay mapped. The file
+ * itself is never written.</p>
+ *
+ * <p>Methods that return a {@link StyledDocument}, such as {@link #subSequence(int, int)}, decode only the
+ * requested range into a {@link ReadOnlyStyledDocument}. {@link #getText()} and {@link #concat(StyledDocument)}
+ * decode the whole file, whereas {@link #getTextView()} decodes paragraphs as its characters are read. To show
+ * the file in a {@link fx.rich.text.GenericStyledArea}, wrap it in a {@link MappedEditableStyledDocument}.</p>
+ *
+ * <p>Lines are terminated by {@code "\r\n"}, {@code "\r"} or {@code "\n"}. The charset must encode these
+ * characters as the single bytes {@code 0x0D} and {@code 0x0A} (e.g. UTF-8 or ISO-8859-1).</p>
+ *
+ * @param <PS> The type of the paragraph style.
+ * @param <SEG> The type of the segments in the paragraph (e.g. {@link String}).
+ * @param <S> The type of the style of individual segments.
+ */
+public final class MappedStyledDocument<PS, SEG, S> implements StyledDocument<PS, SEG, S> {
+
+  /**
+   * Maximum number of lines per leaf of the line index.
+   */
+  static final int CHUNK_LINES = 256;
+
+  /**
+   * The file is mapped in regions of this many bytes.
+   */
+  static final long REGION_SIZE = 1L << 30;
+
+  static final int DEFAULT_CACHE_SIZE = 1024;
+
+  /**
+   * A leaf of the tree: either consecutive {@link Lines} of the file or an {@link Edited} paragraph.
+   */
+  sealed interface Piece permits Lines, Edited {
+    int count();
+    int charStart(int line);
+    int charLength(int line);
+  }
+
+  /**
+   * A leaf of the line index: the byte range and the cumulative character count of consecutive lines. A chunk
+   * split by an edit shares its arrays with its parts, which cover the lines {@code from..to} of the arrays.
+   */
+  static final class Lines implements Piece {
+    final long base;
+    final int[] starts;   // byte offset of the start of each line, relative to base
+    final int[] ends;     // byte offset of the end of each line (excluding the terminator), relative to base
+    final int[] charEnds; // number of characters up to the end of each line, excluding terminators
+    final int from;
+    final int to;
+
+    Lines(long base, int[] starts, int[] ends, int[] charEnds) {
+      this(base, starts, ends, charEnds, 0, starts.length);
+    }
+
+    Lines(long base, int[] starts, int[] ends, int[] charEnds, int from, int to) {
+      this.base = base;
+      this.starts = starts;
+      this.ends = ends;
+      this.charEnds = charEnds;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    public int count() {
+      return to - from;
+    }
+
+    long start(int line) {
+      return base + starts[from + line];
+    }
+
+    long end(int line) {
+      return base + ends[from + line];
+    }
+
+    int charEnd(int line) {
+      return charEnds[from + line] - ((from == 0) ? 0 : charEnds[from - 1]);
+    }
+
+    @Override
+    public int charStart(int line) {
+      return (line == 0) ? 0 : charEnd(line - 1);
+    }
+
+    @Override
+    public int charLength(int line) {
+      return charEnd(line) - charStart(line);
+    }
+
+    /**
+     * Returns the lines {@code from..to} of this piece.
+     */
+    Lines sub(int from, int to) {
+      return new Lines(base, starts, ends, charEnds, this.from + from, this.from + to);
+    }
+
+    /**
+     * Returns the line in which the given offset (counting one character for each line terminator) lies.
+     */
+    int lineAt(int offset) {
+      // first line whose end, including its terminator, lies after the offset
+      int lo = 0, hi = count() - 1;
+      while (lo < hi) {
+        var mid = (lo + hi) >>> 1;
+        if (offset < charEnd(mid) + mid + 1) {
+          hi = mid;
+        } else {
+          lo = mid + 1;
+        }
+      }
+      return lo;
+    }
+  }
+
+  /**
+   * A leaf that replaces a line of the file with a paragraph held in memory, as the result of an edit.
+   */
+  record Edited(Paragraph<?, ?, ?> paragraph) implements Piece {
+    @Override
+    public int count() {
+      return 1;
+    }
+    @Override
+    public int charStart(int line) {
+      return 0;
+    }
+    @Override
+    public int charLength(int line) {
+      return paragraph.length();
+    }
+  }
+
+  static final ToSemigroup<Piece, Summary> SUMMARY = new ToSemigroup<Piece, Summary>() {
+    @Override
+    public Summary apply(Piece piece) {
+      var last = piece.count() - 1;
+      return new Summary(piece.count(), piece.charStart(last) + piece.charLength(last));
+    }
+    @Override
+    public Summary reduce(Summary left, Summary right) {
+      return new Summary(left.first + right.first, left.second + right.second);
+    }
+  };
+
+  /**
+   * Maps the given file and indexes its lines. The file is read once to build the index; paragraphs are
+   * decoded later on demand.
+   *
+   * @param path the file to open
+   * @param charset the charset of the file
+   * @param paragraphStyle the paragraph style to use for each paragraph in the returned document
+   * @param style the style to use for each segment in the document
+   * @param segmentOps the operations object that can create a segment froma given text
+   */
+  public static <PS, SEG, S> MappedStyledDocument<PS, SEG, S> open(Path path, Charset charset, PS paragraphStyle, S style, TextOps<SEG, S> segmentOps) throws IOException {
+    return open(path, charset, paragraphStyle, style, segmentOps, DEFAULT_CACHE_SIZE);
+  }
+
+  /**
+   * Same as {@link #open(Path, Charset, Object, Object, TextOps)}, but keeps at most {@code cacheSize}
+   * decoded paragraphs in memory.
+   */
+  public static <PS, SEG, S> MappedStyledDocument<PS, SEG, S> open(Path path, Charset charset, PS paragraphStyle, S style, TextOps<SEG, S> segmentOps, int cacheSize) throws IOException {
+    if (!Arrays.equals("\r\n".getBytes(charset), new byte[] { '\r', '\n' })) {
+      throw new IllegalArgumentException("Line terminators are not single bytes in " + charset);
+    }
+    if (cacheSize < 1) {
+      throw new IllegalArgumentException("cacheSize must be positive (was: " + cacheSize + ")");
+    }
+    try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      var size = channel.size();
+      var regions = new MappedByteBuffer[(int) ((size + REGION_SIZE - 1) / REGION_SIZE)];
+      for (var i = 0; i < regions.length; ++i) {
+        var base = i * REGION_SIZE;
+        regions[i] = channel.map(FileChannel.MapMode.READ_ONLY, base, Math.min(REGION_SIZE, size - base));
+      }
+      var doc = new MappedStyledDocument<>(regions, size, charset, paragraphStyle, style, segmentOps, cacheSize);
+      doc.index();
+      return doc;
+    }
+  }
+
+  final MappedByteBuffer[] regions;
+  final long size;
+  final CharsetDecoder decoder;
+  final PS paragraphStyle;
+  final S style;
+  final TextOps<SEG, S> segmentOps;
+  final Map<Long, Paragraph<PS, SEG, S>> cache; // by the file offset of the line, shared by edited documents
+
+  NonEmpty<Piece, Summary> tree;
+  List<Paragraph<PS, SEG, S>> paragraphs = null;
+
+  MappedStyledDocument(MappedByteBuffer[] regions, long size, Charset charset, PS paragraphStyle, S style, TextOps<SEG, S> segmentOps, int cacheSize) {
+    this.regions = regions;
+    this.size = size;
+    this.decoder = ParagraphLoader.decoder(charset);
+    this.paragraphStyle = paragraphStyle;
+    this.style = style;
+    this.segmentOps = segmentOps;
+    this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Long, Paragraph<PS, SEG, S>> eldest) {
+        return size() > cacheSize;
+      }
+    };
+  }
+
+  /**
+   * Creates an edited version of the given document.
+   */
+  MappedStyledDocument(MappedStyledDocument<PS, SEG, S> original, NonEmpty<Piece, Summary> tree) {
+    this.regions = original.regions;
+    this.size = original.size;
+    this.decoder = original.decoder;
+    this.paragraphStyle = original.paragraphStyle;
+    this.style = original.style;
+    this.segmentOps = original.segmentOps;
+    this.cache = original.cache;
+    this.tree = tree;
+  }
+
+  /**
+   * Scans the mapped file for line terminators and builds the line index.
+   */
+  void index() throws CharacterCodingException {
+    var counter = new CharCounter(decoder);
+    var builder = FingerTree.<Piece, Summary>builder(SUMMARY);
+    var starts = new long[CHUNK_LINES];
+    var ends = new long[CHUNK_LINES];
+    var chars = new int[CHUNK_LINES];
+    var n = 0;
+    var lineStart = 0L;
+    var afterCR = false;
+    for (var r = 0; r <= regions.length; ++r) {
+      var region = (r < regions.length) ? regions[r] : null;
+      var base = r * REGION_SIZE;
+      var limit = (region != null) ? region.limit() : 0;
+      for (var i = 0; i <= limit; ++i) {
+        long end;
+        if (i < limit) {
+          var b = region.get(i);
+          if (afterCR) {
+            afterCR = false;
+            if (b == '\n') {
+              lineStart = base + i + 1;
+              continue;
+            }
+          }
+          if (b != '\n' && b != '\r') {
+            continue;
+          }
+          afterCR = b == '\r';
+          end = base + i;
+        } else if (region == null) {
+          end = size; // the last line
+        } else {
+          continue;
+        }
+        if (n == CHUNK_LINES || n > 0 && end - starts[0] > Integer.MAX_VALUE) {
+          builder.add(lines(starts, ends, chars, n));
+          n = 0;
+        }
+        starts[n] = lineStart;
+        ends[n] = end;
+        chars[n] = counter.singleByte ? (int) (end - lineStart) : counter.count(bytes(lineStart, end));
+        ++n;
+        lineStart = end + 1;
+      }
+    }
+    builder.add(lines(starts, ends, chars, n));
+    tree = nonEmpty(builder.build());
+  }
+
+  static NonEmpty<Piece, Summary> nonEmpty(FingerTree<Piece, Summary> tree) {
+    return tree.caseEmpty().unify(
+      emptyTree -> { throw new AssertionError("Unreachable code"); },
+      neTree -> neTree
+    );
+  }
+
+  static Lines lines(long[] starts, long[] ends, int[] chars, int n) {
+    var base = starts[0];
+    var relStarts = new int[n];
+    var relEnds = new int[n];
+    var charEnds = new int[n];
+    for (int i = 0, total = 0; i < n; ++i) {
+      relStarts[i] = (int) (starts[i] - base);
+      relEnds[i] = (int) (ends[i] - base);
+      total += chars[i];
+      charEnds[i] = total;
+    }
+    return new Lines(base, relStarts, relEnds, charEnds);
+  }
+
+  /**
+   * Returns the bytes between the given file offsets, as a view of the mapped region if possible.
+   */
+  ByteBuffer bytes(long start, long end) {
+    var len = (int) (end - start);
+    var r = (int) (start / REGION_SIZE);
+    var offset = (int) (start - r * REGION_SIZE);
+    if (len == 0 || offset + len <= regions[r].limit()) {
+      return (len == 0) ? ByteBuffer.allocate(0) : regions[r].slice(offset, len);
+    }
+    var bytes = new byte[len];
+    for (var copied = 0; copied < len; offset = 0) {
+      var n = Math.min(len - copied, regions[r].limit() - offset);
+      regions[r++].get(offset, bytes, copied, n);
+      copied += n;
+    }
+    return ByteBuffer.wrap(bytes);
+  }
+
+  /**
+   * Counts the characters that bytes decode to, without decoding them into a new buffer: bytes of a single-byte
+   * charset are characters, otherwise they are decoded into a reused buffer.
+   */
+  static final class CharCounter {
+    final CharsetDecoder decoder;
+    final boolean singleByte;
+    final CharBuffer scratch = CharBuffer.allocate(8192);
+
+    CharCounter(CharsetDecoder decoder) {
+      var charset = decoder.charset();
+      this.decoder = decoder;
+      this.singleByte = decoder.maxCharsPerByte() == 1.0f && charset.canEncode() && charset.newEncoder().maxBytesPerChar() == 1.0f;
+    }
+
+    int count(ByteBuffer bytes) throws CharacterCodingException {
+      if (singleByte) {
+        return bytes.remaining(); // unmappable bytes are replaced by one character each
+      }
+      decoder.reset();
+      var n = 0;
+      for (var flushing = false;;) {
+        var result = flushing ? decoder.flush(scratch) : decoder.decode(bytes, scratch, true);
+        n += scratch.position();
+        scratch.clear();
+        if (result.isError()) {
+          result.throwException();
+        } else if (result.isUnderflow()) {
+          if (flushing) {
+            return n;
+          }
+          flushing = true;
+        }
+      }
+    }
+  }
+
+  CharBuffer decode(long start, long end) throws CharacterCodingException {
+    synchronized (decoder) {
+      return decoder.decode(bytes(start, end));
+    }
+  }
+
+  Paragraph<PS, SEG, S> decodeParagraph(Lines lines, int line) {
+    String text;
+    try {
+      text = decode(lines.start(line), lines.end(line)).toString();
+    } catch (CharacterCodingException e) {
+      throw new AssertionError("Unreachable code", e); // malformed input is replaced
+    }
+    return new Paragraph<>(paragraphStyle, segmentOps, segmentOps.create(text), style);
+  }
+
+  /**
+   * Returns the given line of the given piece, decoding it if the piece is mapped.
+   */
+  @SuppressWarnings("unchecked")
+  Paragraph<PS, SEG, S> paragraph(Piece piece, int line, boolean cached) {
+    if (piece instanceof Edited edited) {
+      return (Paragraph<PS, SEG, S>) edited.paragraph(); // only this document's paragraphs are ever edited
+    }
+    var lines = (Lines) piece;
+    if (!cached) {
+      return decodeParagraph(lines, line);
+    }
+    synchronized (cache) {
+      return cache.computeIfAbsent(lines.start(line), start -> decodeParagraph(lines, line));
+    }
+  }
+
+  @Override
+  public int length() {
+    return tree.getSummary().length();
+  }
+
+  public int getParagraphCount() {
+    return tree.getSummary().paragraphCount();
+  }
+
+  /**
+   * Returns the paragraph at the given index. Unless it has been edited, it is decoded from the file if it is
+   * not among the most recently requested paragraphs.
+   */
+  @Override
+  public Paragraph<PS, SEG, S> getParagraph(int index) {
+    Lists.checkIndex(index, getParagraphCount());
+    var loc = tree.locateProgressively(ReadOnlyStyledDocument.PARAGRAPHS, index);
+    return paragraph(tree.getLeaf(loc.major), loc.minor, true);
+  }
+
+  @Override
+  public int getParagraphLength(int paragraphIndex) {
+    Lists.checkIndex(paragraphIndex, getParagraphCount());
+    var loc = tree.locateProgressively(ReadOnlyStyledDocument.PARAGRAPHS, paragraphIndex);
+    return tree.getLeaf(loc.major).charLength(loc.minor);
+  }
+
+  /**
+   * Returns a list view whose elements are decoded on demand by {@link #getParagraph(int)}.
+   */
+  @Override
+  public List<Paragraph<PS, SEG, S>> getParagraphs() {
+    if (paragraphs == null) {
+      paragraphs = new AbstractList<>() {
+        @Override
+        public Paragraph<PS, SEG, S> get(int index) {
+          return getParagraph(index);
+        }
+        @Override
+        public int size() {
+          return getParagraphCount();
+        }
+      };
+    }
+    return paragraphs;
+  }
+
+  /**
+   * Decodes the paragraphs in the given range into a {@link ReadOnlyStyledDocument}, bypassing the cache.
+   */
+  ReadOnlyStyledDocument<PS, SEG, S> materialize(int startPar, int endPar) {
+    var pars = new ArrayList<Paragraph<PS, SEG, S>>(endPar - startPar);
+    var loc = tree.locateProgressively(ReadOnlyStyledDocument.PARAGRAPHS, startPar);
+    var chunk = loc.major;
+    var line = loc.minor;
+    for (var i = startPar; i < endPar; ++i) {
+      var piece = tree.getLeaf(chunk);
+      pars.add(paragraph(piece, line, false));
+      if (++line == piece.count()) {
+        ++chunk;
+        line = 0;
+      }
+    }
+    return new ReadOnlyStyledDocument<>(pars);
+  }
+
+  /**
+   * Decodes the whole file.
+   */
+  @Override
+  public String getText() {
+    return materialize(0, getParagraphCount()).getText();
+  }
+
+  /**
+   * Returns a view of the text that decodes the paragraphs of the characters that are read, through the cache.
+   */
+  @Override
+  public CharSequence getTextView() {
+    return new DocumentText(this);
+  }
+
+  @Override
+  public String getText(int paragraphIndex) {
+    return getParagraph(paragraphIndex).getText();
+  }
+
+  @Override
+  public StyledDocument<PS, SEG, S> concat(StyledDocument<PS, SEG, S> that) {
+    return materialize(0, getParagraphCount()).concat(that);
+  }
+
+  @Override
+  public StyledDocument<PS, SEG, S> subSequence(int start, int end) {
+    Lists.checkRange(start, end, length());
+    var from = offsetToPosition(start, Bias.Forward);
+    var to = offsetToPosition(end, Bias.Forward);
+    var offset = start - from.getMinor();
+    var doc = materialize(from.getMajor(), to.getMajor() + 1);
+    return doc.subSequence(start - offset, end - offset);
+  }
+
+  /**
+   * Replaces the given portion {@code "from..to"} with the given replacement and returns the updated document,
+   * the {@link RichTextChange} and the modification of the list of paragraphs, as
+   * {@link ReadOnlyStyledDocument#replace(int, int, ReadOnlyStyledDocument)} does.
+   */
+  public Replace<MappedStyledDocument<PS, SEG, S>, RichTextChange<PS, SEG, S>, MaterializedModification<Paragraph<PS, SEG, S>>> replace(int from, int to, ReadOnlyStyledDocument<PS, SEG, S> replacement) {
+    return replace(from, to, x -> replacement);
+  }
+
+  /**
+   * Same as {@link ReadOnlyStyledDocument#replace(int, int, UnaryOperator)}.
+   */
+  public Replace<MappedStyledDocument<PS, SEG, S>, RichTextChange<PS, SEG, S>, MaterializedModification<Paragraph<PS, SEG, S>>> replace(int from, int to, UnaryOperator<ReadOnlyStyledDocument<PS, SEG, S>> mapper) {
+    Lists.checkRange(from, to, length());
+    var startPar = offsetToPosition(from, Bias.Forward).getMajor();
+    var endPar = offsetToPosition(to, Bias.Forward).getMajor();
+    return edit(startPar, endPar, (window, offset) -> window.replace(from - offset, to - offset, mapper));
+  }
+
+  /**
+   * Same as {@link ReadOnlyStyledDocument#replace(int, int, int, UnaryOperator)}.
+   */
+  public Replace<MappedStyledDocument<PS, SEG, S>, RichTextChange<PS, SEG, S>, MaterializedModification<Paragraph<PS, SEG, S>>> replace(int paragraphIndex, int fromCol, int toCol, UnaryOperator<ReadOnlyStyledDocument<PS, SEG, S>> f) {
+    Lists.checkIndex(paragraphIndex, getParagraphCount());
+    return edit(paragraphIndex, paragraphIndex, (window, offset) -> window.replace(0, fromCol, toCol, f));
+  }
+
+  /**
+   * Same as {@link ReadOnlyStyledDocument#replaceParagraph(int, UnaryOperator)}.
+   */
+  public Replace<MappedStyledDocument<PS, SEG, S>, RichTextChange<PS, SEG, S>, MaterializedModification<Paragraph<PS, SEG, S>>> replaceParagraph(int parIdx, UnaryOperator<Paragraph<PS, SEG, S>> mapper) {
+    Lists.checkIndex(parIdx, getParagraphCount());
+    return edit(parIdx, parIdx, (window, offset) -> window.replaceParagraph(0, mapper));
+  }
+
+  /**
+   * Applies the replacements one after another, each one to the result of the previous one.
+   */
+  public Replace<MappedStyledDocument<PS, SEG, S>, List<RichTextChange<PS, SEG, S>>, List<MaterializedModification<Paragraph<PS, SEG, S>>>> replaceMulti(List<Replacement<PS, SEG, S>> replacements) {
+    var updatedDoc = this;
+    var richChangeList = new ArrayList<RichTextChange<PS, SEG, S>>(replacements.size());
+    var parChangeList = new ArrayList<MaterializedModification<Paragraph<PS, SEG, S>>>(replacements.size());
+    for (var r : replacements) {
+      var postReplacement = updatedDoc.replace(r.getStart(), r.getEnd(), r.getDocument());
+      updatedDoc = postReplacement.updated();
+      richChangeList.add(postReplacement.changes());
+      parChangeList.add(postReplacement.parChanges());
+    }
+    return new Replace<>(updatedDoc, richChangeList, parChangeList);
+  }
+
+  /**
+   * Same as {@link ReadOnlyStyledDocument#restyleParagraphs(int, List)}.
+   */
+  List<Replacement<PS, SEG, S>> restyleParagraphs(int firstParagraph, List<? extends StyleSpans<? extends S>> styleSpans) {
+    Lists.checkRange(firstParagraph, firstParagraph + styleSpans.size(), getParagraphCount());
+    if (styleSpans.isEmpty()) {
+      return List.of();
+    }
+    var offset = position(firstParagraph, 0).toOffset();
+    var replacements = new ArrayList<Replacement<PS, SEG, S>>();
+    for (var r : materialize(firstParagraph, firstParagraph + styleSpans.size()).restyleParagraphs(0, styleSpans)) {
+      replacements.add(new Replacement<>(r.getStart() + offset, r.getEnd() + offset, r.getDocument()));
+    }
+    return replacements;
+  }
+
+  /**
+   * Decodes the paragraphs {@code startPar..endPar} (inclusive) into a small document, applies the given edit
+   * to it and puts the resulting paragraphs in place of the decoded ones. The edit is passed the small document
+   * and the offset at which it starts in this document; the change and the paragraph modification it returns are
+   * translated into this document's coordinates.
+   */
+  Replace<MappedStyledDocument<PS, SEG, S>, RichTextChange<PS, SEG, S>, MaterializedModification<Paragraph<PS, SEG, S>>> edit(
+      int startPar, int endPar,
+      BiFunction<ReadOnlyStyledDocument<PS, SEG, S>, Integer, Replace<ReadOnlyStyledDocument<PS, SEG, S>, RichTextChange<PS, SEG, S>, MaterializedModification<Paragraph<PS, SEG, S>>>> f) {
+    var offset = position(startPar, 0).toOffset();
+    var local = f.apply(materialize(startPar, endPar + 1), offset);
+    var c = local.changes();
+    var change = new RichTextChange<>(c.getPosition() + offset, c.getRemoved(), c.getInserted());
+    var m = local.parChanges();
+    var parChange = MaterializedModification.<Paragraph<PS, SEG, S>>create(m.getFrom() + startPar, m.getRemoved(), m.getAdded());
+
+    var before = splitAt(tree, startPar);
+    var after = splitAt(before.b(), endPar + 1 - startPar).b();
+    var edited = FingerTree.<Piece, Summary>builder(SUMMARY);
+    for (var p : local.updated().getParagraphs()) {
+      edited.add(new Edited(p));
+    }
+    var updated = new MappedStyledDocument<>(this, nonEmpty(before.a().join(edited.build()).join(after)));
+    return new Replace<>(updated, change, parChange);
+  }
+
+  /**
+   * Splits the tree before the given paragraph, splitting a chunk of lines if the paragraph is not its first.
+   */
+  static _2t<FingerTree<Piece, Summary>, FingerTree<Piece, Summary>> splitAt(FingerTree<Piece, Summary> tree, int par) {
+    var count = tree.getSummaryOpt().map(Summary::paragraphCount).orElse(0);
+    if (par == count) {
+      return new _2t<>(tree, FingerTree.empty(SUMMARY));
+    }
+    var loc = tree.locateProgressively(ReadOnlyStyledDocument.PARAGRAPHS, par);
+    if (loc.minor == 0) {
+      return tree.split(loc.major);
+    }
+    var lines = (Lines) tree.getLeaf(loc.major); // an edited piece has a single line
+    var split = tree.updateLeaf(loc.major, lines.sub(0, loc.minor)).insertLeaf(loc.major + 1, lines.sub(loc.minor, lines.count()));
+    return split.split(loc.major + 1);
+  }
+
+  @Override
+  public Position position(int major, int minor) {
+    return new Pos(major, minor);
+  }
+
+  @Override
+  public Position offsetToPosition(int offset, Bias bias) {
+    return position(0, 0).offsetBy(offset, bias);
+  }
+
+  @Override
+  public String toString() {
+    return "MappedStyledDocument(paragraphs=" + getParagraphCount() + " length=" + length() + ')';
+  }
+
+  class Pos implements Position {
+    Pos(int major, int minor) {
+      this.major = major;
+      this.minor = minor;
+    }
+
+    final int major;
+    final int minor;
+
+    @Override
+    public String toString() {
+      return "(" + major + ", " + minor + ")";
+    }
+    @Override
+    public boolean sameAs(Position other) {
+      return getTargetObject() == other.getTargetObject() && major == other.getMajor() && minor == other.getMinor();
+    }
+    @Override
+    public TwoDimensional getTargetObject() {
+      return MappedStyledDocument.this;
+    }
+    @Override
+    public int getMajor() {
+      return major;
+    }
+    @Override
+    public int getMinor() {
+      return minor;
+    }
+    @Override
+    public Position clamp() {
+      if (major == getParagraphCount() - 1) {
+        var elemLen = getParagraphLength(major);
+        return (minor < elemLen) ? this : new Pos(major, elemLen - 1);
+      } else {
+        return this;
+      }
+    }
+
+    /**
+     * Like {@link TwoLevelNavigator}, resolves an offset at the boundary of two chunks of lines into the chunk
+     * after it with the {@link Bias#Forward Forward} bias and into the chunk before it with the
+     * {@link Bias#Backward Backward} bias. Each line terminator takes an offset, so both resolve to the same
+     * position, the start of the following line, as in {@link ReadOnlyStyledDocument}.
+     */
+    @Override
+    public Position offsetBy(int amount, Bias bias) {
+      var offset = toOffset() + amount;
+      var loc = (bias == Backward)
+        ? tree.locateRegressively(ReadOnlyStyledDocument.OFFSET, offset)
+        : tree.locateProgressively(ReadOnlyStyledDocument.OFFSET, offset);
+      var piece = tree.getLeaf(loc.major);
+      var parsBefore = (loc.major == 0) ? 0 : tree.getSummaryBetween(0, loc.major).get().paragraphCount();
+      var last = piece.count() - 1;
+      if (loc.minor == piece.charStart(last) + piece.charLength(last) + piece.count() && loc.major < tree.getLeafCount() - 1) {
+        // just past the last terminator of the piece
+        return new Pos(parsBefore + piece.count(), 0);
+      }
+      var line = (piece instanceof Lines lines) ? lines.lineAt(loc.minor) : 0;
+      return new Pos(parsBefore + line, loc.minor - piece.charStart(line) - line);
+    }
+
+    @Override
+    public int toOffset() {
+      if (major == 0) {
+        return minor;
+      }
+      var loc = tree.locateProgressively(ReadOnlyStyledDocument.PARAGRAPHS, major);
+      var before = (loc.major == 0) ? 0 : tree.getSummaryBetween(0, loc.major).get().length() + 1;
+      return before + tree.getLeaf(loc.major).charStart(loc.minor) + loc.minor + minor;
+    }
+  }
+
+}
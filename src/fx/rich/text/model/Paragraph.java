@@ -123,7 +123,7 @@ public final class Paragraph<PS, SEG, S> {
     this.segments = segments;
     this.styles = styles;
     this.paragraphStyle = paragraphStyle;
-    navigator = new TwoLevelNavigator(segments::size, i -> segmentOps.length(segments.get(i)));
+    navigator = TwoLevelNavigator.indexed(segments::size, i -> segmentOps.length(segments.get(i)));
   }
 
   List<StyledSegment<SEG, S>> styledSegments = null;
@@ -169,11 +169,42 @@ public final class Paragraph<PS, SEG, S> {
   }
 
   public String substring(int from, int to) {
-    return getText().substring(from, Math.min(to, length()));
+    to = Math.min(to, length());
+    return (text != null) ? text.substring(from, to) : segmentText(from, to);
   }
 
   public String substring(int from) {
-    return getText().substring(from);
+    return substring(from, length());
+  }
+
+  /**
+   * Copies the text between the given offsets from the segments that overlap it,
+   * so that a substring does not require the text of the whole paragraph.
+   */
+  String segmentText(int from, int to) {
+    Objects.checkFromToIndex(from, to, length());
+    if (from == to) {
+      return "";
+    }
+    var pos = navigator.offsetToPosition(from, Forward);
+    var segIdx = pos.getMajor();
+    var seg = segments.get(segIdx);
+    var start = pos.getMinor();
+    var segLen = segmentOps.length(seg);
+    if (to - from <= segLen - start) {
+      return segmentOps.getText(segmentOps.subSequence(seg, start, start + to - from));
+    }
+    var sb = new StringBuilder(to - from);
+    var offset = from - start;
+    while (offset < to) {
+      seg = segments.get(segIdx++);
+      segLen = segmentOps.length(seg);
+      var end = Math.min(to - offset, segLen);
+      sb.append(segmentOps.getText(segmentOps.subSequence(seg, start, end)));
+      offset += segLen;
+      start = 0;
+    }
+    return sb.toString();
   }
 
   /**
@@ -0,0 +1,198 @@
+package fx.rich.text.model;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.Charset;
+
+import fx.util.tree.FingerTree;
+import fx.util.tree.FingerTreeBuilder;
+
+/**
+ * Splits text into lines in a single pass and feeds each line, as a {@link Paragraph}, directly into
+ * a {@link FingerTreeBuilder}, so that the whole text never has to be held in memory as one string.
+ * Lines are terminated by {@code "\r\n"}, {@code "\r"} or {@code "\n"}, the same as in
+ * {@link ReadOnlyStyledDocument#fromString(String, Object, Object, TextOps)}.
+ */
+final class ParagraphLoader<PS, SEG, S> {
+
+  static final int BUFFER_SIZE = 64 * 1024;
+
+  /**
+   * Files are memory-mapped in regions of at most this many bytes by default.
+   */
+  static final long MAP_SIZE = 64L * 1024 * 1024;
+
+  final PS paragraphStyle;
+  final S style;
+  final TextOps<SEG, S> segmentOps;
+  final FingerTreeBuilder<Paragraph<PS, SEG, S>, ReadOnlyStyledDocument.Summary> builder =
+    FingerTree.builder(ReadOnlyStyledDocument.summaryProvider());
+
+  // the size of the memory-mapped regions of a file
+  final long mapSize;
+
+  final StringBuilder line = new StringBuilder();
+  boolean afterCR = false;
+
+  ParagraphLoader(PS paragraphStyle, S style, TextOps<SEG, S> segmentOps) {
+    this(paragraphStyle, style, segmentOps, MAP_SIZE);
+  }
+
+  ParagraphLoader(PS paragraphStyle, S style, TextOps<SEG, S> segmentOps, long mapSize) {
+    this.paragraphStyle = paragraphStyle;
+    this.style = style;
+    this.segmentOps = segmentOps;
+    this.mapSize = mapSize;
+  }
+
+  void addLine(String text) {
+    builder.add(new Paragraph<>(paragraphStyle, segmentOps, segmentOps.create(text), style));
+  }
+
+  /**
+   * Scans the given characters for line terminators; the text after the last terminator
+   * is kept until the next call or {@link #finish()}.
+   */
+  void accept(char[] chars, int from, int to) {
+    var start = from;
+    if (afterCR && from < to) {
+      afterCR = false;
+      if (chars[from] == '\n') {
+        start = ++from; // second half of "\r\n" that was split between two buffers
+      }
+    }
+    for (var i = from; i < to; ++i) {
+      var c = chars[i];
+      if (c == '\n' || c == '\r') {
+        line.append(chars, start, i - start);
+        addLine(line.toString());
+        line.setLength(0);
+        if (c == '\r') {
+          if (i + 1 == to) {
+            afterCR = true;
+          } else if (chars[i + 1] == '\n') {
+            ++i;
+          }
+        }
+        start = i + 1;
+      }
+    }
+    line.append(chars, start, to - start);
+  }
+
+  void accept(String text) {
+    var start = 0;
+    var n = text.length();
+    for (var i = 0; i < n; ++i) {
+      var c = text.charAt(i);
+      if (c == '\n' || c == '\r') {
+        addLine(text.substring(start, i));
+        if (c == '\r' && i + 1 < n && text.charAt(i + 1) == '\n') {
+          ++i;
+        }
+        start = i + 1;
+      }
+    }
+    line.append(text, start, n);
+  }
+
+  ReadOnlyStyledDocument<PS, SEG, S> finish() {
+    addLine(line.toString());
+    line.setLength(0);
+    return new ReadOnlyStyledDocument<>(ReadOnlyStyledDocument.nonEmpty(builder.build()));
+  }
+
+  ReadOnlyStyledDocument<PS, SEG, S> load(Reader reader) throws IOException {
+    var buf = new char[BUFFER_SIZE];
+    int n;
+    while ((n = reader.read(buf)) != -1) {
+      accept(buf, 0, n);
+    }
+    return finish();
+  }
+
+  ReadOnlyStyledDocument<PS, SEG, S> load(ReadableByteChannel channel, Charset charset) throws IOException {
+    if (channel instanceof FileChannel file) {
+      return load(file, charset);
+    }
+    var decoder = decoder(charset);
+    var bytes = ByteBuffer.allocate(BUFFER_SIZE);
+    var chars = CharBuffer.allocate(BUFFER_SIZE);
+    while (channel.read(bytes) != -1) {
+      bytes.flip();
+      decode(decoder, bytes, chars, false);
+      bytes.compact();
+    }
+    bytes.flip();
+    decode(decoder, bytes, chars, true);
+    flush(decoder, chars);
+    return finish();
+  }
+
+  /**
+   * Decodes the file from consecutive memory-mapped regions instead of copying it through a heap buffer.
+   */
+  ReadOnlyStyledDocument<PS, SEG, S> load(FileChannel file, Charset charset) throws IOException {
+    var decoder = decoder(charset);
+    var chars = CharBuffer.allocate(BUFFER_SIZE);
+    var position = file.position();
+    var size = file.size();
+    var regionSize = mapSize;
+    var last = false;
+    while (position < size) {
+      var region = file.map(FileChannel.MapMode.READ_ONLY, position, Math.min(regionSize, size - position));
+      last = position + region.limit() == size;
+      decode(decoder, region, chars, last);
+      // a character split between two regions is decoded again at the start of the next one
+      if (region.position() == 0 && !last) {
+        regionSize *= 2; // the region is shorter than the character
+      }
+      position += region.position();
+    }
+    if (!last) {
+      decode(decoder, ByteBuffer.allocate(0), chars, true);
+    }
+    flush(decoder, chars);
+    file.position(position);
+    return finish();
+  }
+
+  void decode(CharsetDecoder decoder, ByteBuffer bytes, CharBuffer chars, boolean endOfInput) throws IOException {
+    for (;;) {
+      var result = decoder.decode(bytes, chars, endOfInput);
+      if (result.isError()) {
+        result.throwException();
+      }
+      drain(chars);
+      if (result.isUnderflow()) {
+        return;
+      }
+    }
+  }
+
+  void flush(CharsetDecoder decoder, CharBuffer chars) {
+    while (decoder.flush(chars).isOverflow()) {
+      drain(chars);
+    }
+    drain(chars);
+  }
+
+  void drain(CharBuffer chars) {
+    chars.flip();
+    accept(chars.array(), chars.arrayOffset() + chars.position(), chars.arrayOffset() + chars.limit());
+    chars.clear();
+  }
+
+  static CharsetDecoder decoder(Charset charset) {
+    return charset.newDecoder()
+      .onMalformedInput(CodingErrorAction.REPLACE)
+      .onUnmappableCharacter(CodingErrorAction.REPLACE);
+  }
+
+}
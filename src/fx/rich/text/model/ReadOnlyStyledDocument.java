@@ -3,6 +3,12 @@ package fx.rich.text.model;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.io.Reader;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -10,14 +16,12 @@ import java.util.Objects;
 import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
 import java.util.function.UnaryOperator;
-import java.util.regex.Pattern;
 
 import fx.react.util.Lists;
 import fx.react.collection.MaterializedModification;
-import fx.util.Either;
-import static fx.util.Either.*;
 import fx.util.tree.Index;
 import fx.util.tree.FingerTree;
+import fx.util.tree.IntPair;
 import fx.util.tree.NonEmpty;
 import fx.util.tree.ToSemigroup;
 
@@ -35,21 +39,52 @@ public final class ReadOnlyStyledDocument<PS, SEG, S> implements StyledDocument<
   /**
    * Private class used for calculating {@link TwoDimensional.Position}s within this document.
    */
-  static class Summary {
-    final int paragraphCount;
-    final int charCount;
+  static final class Summary extends IntPair {
+
+    /**
+     * Leaf summaries of paragraphs shorter than this are shared instead of allocated per paragraph.
+     */
+    static final int CACHED_LENGTHS = 256;
+    static final Summary[] LEAVES = new Summary[CACHED_LENGTHS];
+    static {
+      for (var i = 0; i < CACHED_LENGTHS; ++i) {
+        LEAVES[i] = new Summary(1, i);
+      }
+    }
+
+    static Summary of(int paragraphCount, int charCount) {
+      return (paragraphCount == 1 && charCount < CACHED_LENGTHS)
+        ? LEAVES[charCount]
+        : new Summary(paragraphCount, charCount);
+    }
 
     Summary(int paragraphCount, int charCount) {
+      super(paragraphCount, charCount);
       assert paragraphCount > 0;
       assert charCount >= 0;
-      this.paragraphCount = paragraphCount;
-      this.charCount = charCount;
+    }
+    int paragraphCount() {
+      return first;
+    }
+    int charCount() {
+      return second;
     }
     int length() {
-      return charCount + paragraphCount - 1;
+      return charCount() + paragraphCount() - 1;
     }
   }
 
+  /**
+   * Measures the paragraph count of a summary.
+   */
+  static final IntPair.Metric PARAGRAPHS = IntPair.Metric.FIRST;
+
+  /**
+   * Measures a summary as its characters plus one line terminator per paragraph, which is the offset
+   * metric of document offsets.
+   */
+  static final IntPair.Metric OFFSET = IntPair.Metric.SUM;
+
   /**
    * Private method for quickly calculating the length of a portion (subdocument) of this document.
    */
@@ -57,20 +92,15 @@ public final class ReadOnlyStyledDocument<PS, SEG, S> implements StyledDocument<
     return new ToSemigroup<Paragraph<PS, SEG, S>, Summary>() {
       @Override
       public Summary apply(Paragraph<PS, SEG, S> p) {
-        return new Summary(1, p.length());
+        return Summary.of(1, p.length());
       }
       @Override
       public Summary reduce(Summary left, Summary right) {
-        return new Summary(left.paragraphCount + right.paragraphCount, left.charCount + right.charCount);
+        return new Summary(left.first + right.first, left.second + right.second);
       }
     };
   }
 
-  static final Pattern LINE_TERMINATOR = Pattern.compile("\r\n|\r|\n");
-
-  static final BiFunction<Summary, Integer, Either<Integer, Integer>> NAVIGATE =
-    (s, i) -> i <= s.length() ? left(i) : right(i - (s.length() + 1));
-
   /**
    * Creates a {@link ReadOnlyStyledDocument} from the given string.
    *
@@ -83,24 +113,53 @@ public final class ReadOnlyStyledDocument<PS, SEG, S> implements StyledDocument<
    * @param <S> The type of the style of individual segments.
    */
   public static <PS, SEG, S> ReadOnlyStyledDocument<PS, SEG, S> fromString(String str, PS paragraphStyle, S style, TextOps<SEG, S> segmentOps) {
-    var m = LINE_TERMINATOR.matcher(str);
-    var n = 1;
-    while (m.find()) {
-      ++n;
-    }
-    var res = new ArrayList<Paragraph<PS, SEG, S>>(n);
-
-    var start = 0;
-    m.reset();
-    while (m.find()) {
-      var s = str.substring(start, m.start());
-      res.add(new Paragraph<>(paragraphStyle, segmentOps, segmentOps.create(s), style));
-      start = m.end();
-    }
-    var last = str.substring(start);
-    res.add(new Paragraph<>(paragraphStyle, segmentOps, segmentOps.create(last), style));
+    var loader = new ParagraphLoader<>(paragraphStyle, style, segmentOps);
+    loader.accept(str);
+    return loader.finish();
+  }
 
-    return new ReadOnlyStyledDocument<>(res);
+  /**
+   * Creates a {@link ReadOnlyStyledDocument} from the text read from the given reader, without first reading
+   * the whole text into a single string. The reader is not closed.
+   *
+   * @param reader the source of the text to use to create the segments
+   * @param paragraphStyle the paragraph style to use for each paragraph in the returned document
+   * @param style the style to use for each segment in the document
+   * @param segmentOps the operations object that can create a segment froma given text
+   * @param <PS> The type of the paragraph style.
+   * @param <SEG> The type of the segments in the paragraph (e.g. {@link String}).
+   * @param <S> The type of the style of individual segments.
+   */
+  public static <PS, SEG, S> ReadOnlyStyledDocument<PS, SEG, S> fromReader(Reader reader, PS paragraphStyle, S style, TextOps<SEG, S> segmentOps) throws IOException {
+    return new ParagraphLoader<>(paragraphStyle, style, segmentOps).load(reader);
+  }
+
+  /**
+   * Creates a {@link ReadOnlyStyledDocument} from the bytes remaining in the given channel, decoded with the
+   * given charset. A {@link FileChannel} is memory-mapped instead of being copied through a buffer.
+   * The channel is not closed.
+   *
+   * @param channel the source of the text to use to create the segments
+   * @param charset the charset of the bytes in the channel
+   * @param paragraphStyle the paragraph style to use for each paragraph in the returned document
+   * @param style the style to use for each segment in the document
+   * @param segmentOps the operations object that can create a segment froma given text
+   * @param <PS> The type of the paragraph style.
+   * @param <SEG> The type of the segments in the paragraph (e.g. {@link String}).
+   * @param <S> The type of the style of individual segments.
+   */
+  public static <PS, SEG, S> ReadOnlyStyledDocument<PS, SEG, S> fromChannel(ReadableByteChannel channel, Charset charset, PS paragraphStyle, S style, TextOps<SEG, S> segmentOps) throws IOException {
+    return new ParagraphLoader<>(paragraphStyle, style, segmentOps).load(channel, charset);
+  }
+
+  /**
+   * Creates a {@link ReadOnlyStyledDocument} from the content of the given file, decoded with the given charset.
+   * See {@link #fromChannel(ReadableByteChannel, Charset, Object, Object, TextOps)}.
+   */
+  public static <PS, SEG, S> ReadOnlyStyledDocument<PS, SEG, S> fromFile(Path path, Charset charset, PS paragraphStyle, S style, TextOps<SEG, S> segmentOps) throws IOException {
+    try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      return fromChannel(channel, charset, paragraphStyle, style, segmentOps);
+    }
   }
 
   /**
@@ -197,12 +256,14 @@ public final class ReadOnlyStyledDocument<PS, SEG, S> implements StyledDocument<
   }
 
   ReadOnlyStyledDocument(List<Paragraph<PS, SEG, S>> paragraphs) {
-    this.tree = FingerTree
-      .mkTree(paragraphs, summaryProvider())
-      .caseEmpty().unify(
-         emptyTree -> { throw new AssertionError("Unreachable code"); },
-         neTree -> neTree
-       );
+    this.tree = nonEmpty(FingerTree.mkTree(paragraphs, summaryProvider()));
+  }
+
+  static <PS, SEG, S> NonEmpty<Paragraph<PS, SEG, S>, Summary> nonEmpty(FingerTree<Paragraph<PS, SEG, S>, Summary> tree) {
+    return tree.caseEmpty().unify(
+      emptyTree -> { throw new AssertionError("Unreachable code"); },
+      neTree -> neTree
+    );
   }
 
   @Override
@@ -219,6 +280,14 @@ public final class ReadOnlyStyledDocument<PS, SEG, S> implements StyledDocument<
     return text;
   }
 
+  /**
+   * Returns a {@link DocumentText} view of this document's text.
+   */
+  @Override
+  public DocumentText getTextView() {
+    return new DocumentText(this);
+  }
+
   public int getParagraphCount() {
     return tree.getLeafCount();
   }
@@ -255,7 +324,17 @@ public final class ReadOnlyStyledDocument<PS, SEG, S> implements StyledDocument<
    * Splits this document into two at the given position and returns both halves.
    */
   public Split<ReadOnlyStyledDocument<PS, SEG, S>, ReadOnlyStyledDocument<PS, SEG, S>> split(int position) {
-    return tree.locate(NAVIGATE, position).map(this::split);
+    return locate(position).map(this::split);
+  }
+
+  /**
+   * Returns the paragraph index and column of the given offset.
+   */
+  Index locate(int position) {
+    if (position < 0 || position > length()) {
+      throw new IndexOutOfBoundsException("Position " + position + " is out of bounds");
+    }
+    return tree.locateProgressively(OFFSET, position);
   }
 
   /**
@@ -314,8 +393,103 @@ public final class ReadOnlyStyledDocument<PS, SEG, S> implements StyledDocument<
    *         the List of modifications used to update an area's list of paragraphs for each change.
    *     </li>
    * </ol>
+   *
+   * <p>If the replacements do not overlap and each one starts after the previous one (as created by
+   * {@link fx.rich.text.MultiChangeBuilder}), they are applied in one pass over the paragraph tree and the list
+   * of paragraph modifications has one element per group of replacements that touch the same paragraphs.</p>
    */
   public Replace<ReadOnlyStyledDocument<PS, SEG, S>, List<RichTextChange<PS, SEG, S>>, List<MaterializedModification<Paragraph<PS, SEG, S>>>> replaceMulti(List<Replacement<PS, SEG, S>> replacements) {
+    return (replacements.size() > 1 && isAscending(replacements))
+      ? replaceMultiBulk(replacements)
+      : replaceMultiSequentially(replacements);
+  }
+
+  /**
+   * Returns true if each replacement starts at or after the end of the text inserted by the previous one,
+   * i.e. the replacements do not overlap and are sorted when mapped back to this document's coordinates.
+   */
+  boolean isAscending(List<Replacement<PS, SEG, S>> replacements) {
+    var delta = 0;
+    var prevEnd = 0;
+    for (var r : replacements) {
+      var from = r.getStart() - delta;
+      var to = r.getEnd() - delta;
+      if (from < prevEnd || to < from || to > length()) {
+        return false;
+      }
+      prevEnd = to;
+      delta += lengthDelta(r);
+    }
+    return true;
+  }
+
+  static int lengthDelta(Replacement<?, ?, ?> r) {
+    return r.getDocument().length() - (r.getEnd() - r.getStart());
+  }
+
+  /**
+   * Same as {@link #replaceMultiSequentially(List)} for replacements accepted by {@link #isAscending(List)},
+   * but splits and joins the paragraph tree only once per group of replacements that touch the same paragraphs.
+   * Each group is applied to a small document of just its paragraphs, which yields the same paragraphs and
+   * {@link RichTextChange}s as applying it to the whole document. Instead of one paragraph modification per
+   * replacement, one modification per group is returned; the paragraphs between groups are not reported.
+   */
+  Replace<ReadOnlyStyledDocument<PS, SEG, S>, List<RichTextChange<PS, SEG, S>>, List<MaterializedModification<Paragraph<PS, SEG, S>>>> replaceMultiBulk(List<Replacement<PS, SEG, S>> replacements) {
+    var n = replacements.size();
+    var richChangeList = new ArrayList<RichTextChange<PS, SEG, S>>(n);
+    var parChangeList = new ArrayList<MaterializedModification<Paragraph<PS, SEG, S>>>();
+    FingerTree<Paragraph<PS, SEG, S>, Summary> result = FingerTree.empty(summaryProvider());
+    FingerTree<Paragraph<PS, SEG, S>, Summary> rest = tree;
+    var restStart = 0; // index of the first paragraph of rest
+    var parDelta = 0; // paragraphs added minus removed by the previous groups
+    var delta = 0;
+    var i = 0;
+    while (i < n) {
+      // find the paragraphs [startPar, endPar] touched by the group of replacements i..j-1
+      var r = replacements.get(i);
+      var startPar = locate(r.getStart() - delta).major;
+      var endPar = locate(r.getEnd() - delta).major;
+      var groupDelta = delta + lengthDelta(r);
+      var j = i + 1;
+      for (; j < n; ++j) {
+        var next = replacements.get(j);
+        if (locate(next.getStart() - groupDelta).major > endPar) {
+          break;
+        }
+        endPar = locate(next.getEnd() - groupDelta).major;
+        groupDelta += lengthDelta(next);
+      }
+
+      var base = tree.getSummaryBetween(0, startPar).map(sum -> sum.length() + 1).orElse(0) + delta;
+      var before = rest.split(startPar - restStart);
+      var group = before.b().split(endPar + 1 - startPar);
+      var local = new ReadOnlyStyledDocument<>(nonEmpty(group.a()));
+      for (var k = i; k < j; ++k) {
+        var rk = replacements.get(k);
+        var change = local.replace(rk.getStart() - base, rk.getEnd() - base, rk.getDocument());
+        local = change.updated();
+        var c = change.changes();
+        richChangeList.add(new RichTextChange<>(c.getPosition() + base, c.getRemoved(), c.getInserted()));
+      }
+      result = result.join(before.a()).join(local.tree);
+      rest = group.b();
+      restStart = endPar + 1;
+      // each modification is relative to the paragraphs as updated by the previous ones
+      var removedPars = getParagraphs().subList(startPar, endPar + 1);
+      parChangeList.add(MaterializedModification.create(startPar + parDelta, removedPars, local.getParagraphs()));
+      parDelta += local.getParagraphCount() - removedPars.size();
+      delta = groupDelta;
+      i = j;
+    }
+
+    var updatedDoc = new ReadOnlyStyledDocument<>(nonEmpty(result.join(rest)));
+    return new Replace<>(updatedDoc, richChangeList, parChangeList);
+  }
+
+  /**
+   * Applies the replacements one after another, each one to the result of the previous one.
+   */
+  Replace<ReadOnlyStyledDocument<PS, SEG, S>, List<RichTextChange<PS, SEG, S>>, List<MaterializedModification<Paragraph<PS, SEG, S>>>> replaceMultiSequentially(List<Replacement<PS, SEG, S>> replacements) {
     var updatedDoc = this;
     var richChangeList = new ArrayList<RichTextChange<PS, SEG, S>>(replacements.size());
     var parChangeList = new ArrayList<MaterializedModification<Paragraph<PS, SEG, S>>>(replacements.size());
@@ -378,8 +552,8 @@ public final class ReadOnlyStyledDocument<PS, SEG, S> implements StyledDocument<
    */
   public Replace<ReadOnlyStyledDocument<PS, SEG, S>, RichTextChange<PS, SEG, S>, MaterializedModification<Paragraph<PS, SEG, S>>> replace(int from, int to, UnaryOperator<ReadOnlyStyledDocument<PS, SEG, S>> mapper) {
     ensureValidRange(from, to);
-    var start = tree.locate(NAVIGATE, from);
-    var end = tree.locate(NAVIGATE, to);
+    var start = locate(from);
+    var end = locate(to);
     return replace(start, end, mapper);
   }
 
@@ -424,6 +598,38 @@ public final class ReadOnlyStyledDocument<PS, SEG, S> implements StyledDocument<
     return replace(new Index(parIdx, 0), new Index(parIdx, tree.getLeaf(parIdx).length()), doc -> doc.mapParagraphs(mapper));
   }
 
+  /**
+   * Returns the replacements that restyle consecutive paragraphs, starting with {@code firstParagraph}, with the
+   * given style spans. Each run of paragraphs whose spans change becomes one {@link Replacement}; paragraphs
+   * whose spans are unchanged are not replaced. Restyling does not change the length of the text, so the
+   * replacements can be passed to {@link #replaceMulti(List)} as they are.
+   */
+  List<Replacement<PS, SEG, S>> restyleParagraphs(int firstParagraph, List<? extends StyleSpans<? extends S>> styleSpans) {
+    Lists.checkRange(firstParagraph, firstParagraph + styleSpans.size(), getParagraphCount());
+    var replacements = new ArrayList<Replacement<PS, SEG, S>>();
+    var run = new ArrayList<Paragraph<PS, SEG, S>>();
+    var runStart = 0;
+    var offset = position(firstParagraph, 0).toOffset();
+    for (var i = 0; i <= styleSpans.size(); ++i) {
+      var par = (i < styleSpans.size()) ? getParagraph(firstParagraph + i) : null;
+      var restyled = (par != null) ? par.restyle(0, styleSpans.get(i)) : null;
+      if (restyled != par) {
+        if (run.isEmpty()) {
+          runStart = offset;
+        }
+        run.add(restyled);
+      } else if (!run.isEmpty()) {
+        var runEnd = offset - 1; // excluding the line terminator of the previous paragraph
+        replacements.add(new Replacement<>(runStart, runEnd, new ReadOnlyStyledDocument<>(run)));
+        run = new ArrayList<>();
+      }
+      if (par != null) {
+        offset += par.length() + 1;
+      }
+    }
+    return replacements;
+  }
+
   /**
    * Maps all of this document's paragraphs using the given mapper and returns them in a new
    * {@link ReadOnlyStyledDocument}.
@@ -494,7 +700,7 @@ public final class ReadOnlyStyledDocument<PS, SEG, S> implements StyledDocument<
 
     @Override
     public Position offsetBy(int amount, Bias bias) {
-      return tree.locateProgressively(s -> s.charCount + s.paragraphCount, toOffset() + amount).map(Pos::new);
+      return tree.locateProgressively(OFFSET, toOffset() + amount).map(Pos::new);
     }
 
     @Override
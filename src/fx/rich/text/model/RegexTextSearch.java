@@ -0,0 +1,41 @@
+package fx.rich.text.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import javafx.scene.control.IndexRange;
+
+final class RegexTextSearch implements TextSearch {
+
+  final Pattern pattern;
+
+  RegexTextSearch(Pattern pattern) {
+    this.pattern = pattern;
+  }
+
+  @Override
+  public Optional<IndexRange> find(CharSequence text, int from) {
+    var matcher = pattern.matcher(text);
+    return matcher.find(from)
+      ? Optional.of(new IndexRange(matcher.start(), matcher.end()))
+      : Optional.empty();
+  }
+
+  @Override
+  public List<IndexRange> findAll(CharSequence text) {
+    var matches = new ArrayList<IndexRange>();
+    var matcher = pattern.matcher(text);
+    while (matcher.find()) {
+      matches.add(new IndexRange(matcher.start(), matcher.end()));
+    }
+    return matches;
+  }
+
+  @Override
+  public String toString() {
+    return "RegexTextSearch[" + pattern + "]";
+  }
+
+}
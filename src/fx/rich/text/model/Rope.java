@@ -0,0 +1,186 @@
+package fx.rich.text.model;
+
+import java.util.ArrayList;
+import java.util.Objects;
+
+import fx.util.tree.FingerTree;
+import fx.util.tree.FingerTree._2t;
+import fx.util.tree.ToSemigroup;
+
+/**
+ * An immutable {@link CharSequence} stored as a balanced tree of text chunks.
+ *
+ * <p>{@link #charAt(int)}, {@link #subSequence(int, int)} and {@link #concat(Rope)} take logarithmic time
+ * and share the unaffected chunks with the original rope instead of copying the whole text. This makes it a
+ * suitable segment type for very long paragraphs (see {@link SegmentOps#ropeTextOps()}), where every edit
+ * of a {@link String} segment would otherwise copy the entire line.</p>
+ */
+public final class Rope implements CharSequence {
+
+  /**
+   * Maximum length of the chunks created by {@link #of(CharSequence)}; adjacent chunks whose combined
+   * length does not exceed it are merged on {@link #concat(Rope)}.
+   */
+  static final int CHUNK_SIZE = 1024;
+
+  static final ToSemigroup<String, Integer> LENGTH = new ToSemigroup<>() {
+    @Override public Integer apply(String chunk) { return chunk.length(); }
+    @Override public Integer reduce(Integer left, Integer right) { return left + right; }
+  };
+
+  static final Rope EMPTY = new Rope(FingerTree.empty(LENGTH));
+
+  /**
+   * Returns the empty rope.
+   */
+  public static Rope empty() {
+    return EMPTY;
+  }
+
+  /**
+   * Creates a rope with the given text.
+   */
+  public static Rope of(CharSequence text) {
+    var n = text.length();
+    if (n == 0) {
+      return EMPTY;
+    }
+    var chunks = new ArrayList<String>(n / CHUNK_SIZE + 1);
+    for (var i = 0; i < n; i += CHUNK_SIZE) {
+      chunks.add(text.subSequence(i, Math.min(i + CHUNK_SIZE, n)).toString());
+    }
+    return new Rope(FingerTree.mkTree(chunks, LENGTH));
+  }
+
+  final FingerTree<String, Integer> chunks;
+
+  Rope(FingerTree<String, Integer> chunks) {
+    this.chunks = chunks;
+  }
+
+  @Override
+  public int length() {
+    return chunks.getSummary(0);
+  }
+
+  @Override
+  public char charAt(int index) {
+    Objects.checkIndex(index, length());
+    var pos = chunks.locateProgressively(Integer::intValue, index);
+    return chunks.getLeaf(pos.major).charAt(pos.minor);
+  }
+
+  @Override
+  public Rope subSequence(int start, int end) {
+    var length = length();
+    Objects.checkFromToIndex(start, end, length);
+    if (start == end) {
+      return EMPTY;
+    } else if (start == 0 && end == length) {
+      return this;
+    } else {
+      var tail = new Rope(split(start).b());
+      return new Rope(tail.split(end - start).a());
+    }
+  }
+
+  public Rope subSequence(int start) {
+    return subSequence(start, length());
+  }
+
+  /**
+   * Returns a rope with the text of this rope followed by the text of {@code that}.
+   */
+  public Rope concat(Rope that) {
+    if (that.chunks.isEmpty()) {
+      return this;
+    } else if (this.chunks.isEmpty()) {
+      return that;
+    }
+    var n = chunks.getLeafCount();
+    var last = chunks.getLeaf(n - 1);
+    var first = that.chunks.getLeaf(0);
+    if (last.length() + first.length() <= CHUNK_SIZE) {
+      // merge the two boundary chunks, so that repeated small edits do not fragment the rope
+      var left = chunks.split(n - 1).a();
+      var right = that.chunks.split(1).b().prepend(last + first);
+      return new Rope(left.join(right));
+    } else {
+      return new Rope(chunks.join(that.chunks));
+    }
+  }
+
+  /**
+   * Splits the chunk tree at the given character offset.
+   */
+  _2t<FingerTree<String, Integer>, FingerTree<String, Integer>> split(int offset) {
+    if (offset == 0 || chunks.isEmpty()) {
+      return new _2t<>(FingerTree.empty(LENGTH), chunks);
+    }
+    var pos = chunks.locateProgressively(Integer::intValue, offset);
+    var chunk = chunks.getLeaf(pos.major);
+    if (pos.minor == 0) {
+      return chunks.split(pos.major);
+    } else if (pos.minor == chunk.length()) {
+      return chunks.split(pos.major + 1);
+    } else {
+      var halves = chunks.split(pos.major);
+      var left = halves.a().append(chunk.substring(0, pos.minor));
+      var right = halves.b().split(1).b().prepend(chunk.substring(pos.minor));
+      return new _2t<>(left, right);
+    }
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return chunks.isEmpty();
+  }
+
+  @Override
+  public String toString() {
+    return chunks.fold(new StringBuilder(length()), StringBuilder::append).toString();
+  }
+
+  int hash = 0;
+
+  /**
+   * Two ropes are equal if they contain the same characters, regardless of how the text is chunked.
+   */
+  @Override
+  public boolean equals(Object other) {
+    if (other == this) {
+      return true;
+    } else if (other instanceof Rope that) {
+      if (this.length() != that.length() || this.hashCode() != that.hashCode()) {
+        return false;
+      }
+      var n = length();
+      for (var i = 0; i < n; i += CHUNK_SIZE) {
+        var end = Math.min(i + CHUNK_SIZE, n);
+        if (!this.subSequence(i, end).toString().equals(that.subSequence(i, end).toString())) {
+          return false;
+        }
+      }
+      return true;
+    } else {
+      return false;
+    }
+  }
+
+  /**
+   * Same as {@link String#hashCode()} of the text of this rope.
+   */
+  @Override
+  public int hashCode() {
+    if (hash == 0) {
+      hash = chunks.fold(0, (h, chunk) -> {
+        for (var i = 0; i < chunk.length(); ++i) {
+          h = 31 * h + chunk.charAt(i);
+        }
+        return h;
+      });
+    }
+    return hash;
+  }
+
+}
@@ -84,6 +84,50 @@ public interface SegmentOps<SEG, S> {
     };
   }
 
+  /**
+   * Creates a {@link TextOps} specified for a {@link Rope} segment that never merges consecutive styles
+   */
+  static <S> TextOps<Rope, S> ropeTextOps() {
+    return ropeTextOps((s1, s2) -> Optional.empty());
+  }
+
+  /**
+   * Creates a {@link TextOps} specified for a {@link Rope}, which is better suited than {@link String}
+   * for very long paragraphs, since edits do not copy the whole segment text.
+   */
+  static <S> TextOps<Rope, S> ropeTextOps(BiFunction<S, S, Optional<S>> mergeStyle) {
+    return new TextOpsBase<Rope, S>(Rope.empty()) {
+      @Override
+      public char realCharAt(Rope r, int index) {
+        return r.charAt(index);
+      }
+      @Override
+      public String realGetText(Rope r) {
+        return r.toString();
+      }
+      @Override
+      public Rope realSubSequence(Rope r, int start, int end) {
+        return r.subSequence(start, end);
+      }
+      @Override
+      public Rope create(String text) {
+        return Rope.of(text);
+      }
+      @Override
+      public int length(Rope r) {
+        return r.length();
+      }
+      @Override
+      public Optional<Rope> joinSeg(Rope currentSeg, Rope nextSeg) {
+        return Optional.of(currentSeg.concat(nextSeg));
+      }
+      @Override
+      public Optional<S> joinStyle(S currentStyle, S nextStyle) {
+        return mergeStyle.apply(currentStyle, nextStyle);
+      }
+    };
+  }
+
   /**
    * Returns a {@link SegmentOps} that specifies its segment type to be an {@link Either}
    * whose {@link Either#left(Object) left} value is this segment type and
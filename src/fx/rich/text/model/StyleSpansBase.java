@@ -3,7 +3,7 @@ package fx.rich.text.model;
 abstract class StyleSpansBase<S> implements StyleSpans<S> {
 
   protected final TwoLevelNavigator navigator =
-    new TwoLevelNavigator(this::getSpanCount, i -> getStyleSpan(i).getLength());
+    TwoLevelNavigator.indexed(this::getSpanCount, i -> getStyleSpan(i).getLength());
 
   @Override
   public Position position(int major, int minor) {
@@ -21,6 +21,14 @@ public interface StyledDocument<PS, SEG, S> extends TwoDimensional {
 
   String getText();
 
+  /**
+   * Returns the text of this document as a {@link CharSequence}. Implementations backed by an immutable
+   * document return a view that does not copy the text into one string; the default returns {@link #getText()}.
+   */
+  default CharSequence getTextView() {
+    return getText();
+  }
+
   List<Paragraph<PS, SEG, S>> getParagraphs();
 
   StyledDocument<PS, SEG, S> concat(StyledDocument<PS, SEG, S> that);
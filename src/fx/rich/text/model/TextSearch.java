@@ -0,0 +1,75 @@
+package fx.rich.text.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.regex.Pattern;
+
+import javafx.scene.control.IndexRange;
+
+/**
+ * Finds occurrences of a literal string or a regular expression in a text or a document.
+ *
+ * <p>Documents are searched through a view of their paragraphs, without building the document's text as
+ * one string. Since a {@link ReadOnlyStyledDocument} is immutable, a snapshot of an editable document
+ * (see {@link EditableStyledDocument#snapshot()}) can be searched on a background thread with
+ * {@link #findAllAsync(ReadOnlyStyledDocument, Executor)} while the document is being edited.</p>
+ */
+public interface TextSearch {
+
+  /**
+   * Creates a search for the given non-empty string, using the Boyer-Moore-Horspool algorithm.
+   */
+  static TextSearch literal(String pattern) {
+    return new LiteralTextSearch(pattern);
+  }
+
+  static TextSearch regex(String regex) {
+    return regex(Pattern.compile(regex));
+  }
+
+  static TextSearch regex(Pattern pattern) {
+    return new RegexTextSearch(pattern);
+  }
+
+  /**
+   * Returns the first match that starts at or after {@code from}, if any.
+   */
+  Optional<IndexRange> find(CharSequence text, int from);
+
+  /**
+   * Returns all non-overlapping matches in the given text, in ascending order.
+   */
+  default List<IndexRange> findAll(CharSequence text) {
+    var matches = new ArrayList<IndexRange>();
+    var from = 0;
+    while (from <= text.length()) {
+      var match = find(text, from);
+      if (match.isEmpty()) {
+        break;
+      }
+      var range = match.get();
+      matches.add(range);
+      from = (range.getLength() == 0) ? range.getEnd() + 1 : range.getEnd();
+    }
+    return matches;
+  }
+
+  default Optional<IndexRange> find(StyledDocument<?, ?, ?> doc, int from) {
+    return find(doc.getTextView(), from);
+  }
+
+  default List<IndexRange> findAll(StyledDocument<?, ?, ?> doc) {
+    return findAll(doc.getTextView());
+  }
+
+  /**
+   * Runs {@link #findAll(StyledDocument)} on the given executor.
+   */
+  default CompletableFuture<List<IndexRange>> findAllAsync(ReadOnlyStyledDocument<?, ?, ?> snapshot, Executor executor) {
+    return CompletableFuture.supplyAsync(() -> findAll(snapshot), executor);
+  }
+
+}
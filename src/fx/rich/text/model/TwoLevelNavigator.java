@@ -8,9 +8,18 @@ import java.util.function.IntUnaryOperator;
 /**
  * Default implementation of {@link TwoDimensional} that makes it trivial to calculate a position within a
  * two dimensional object.
+ *
+ * <p>An {@link #indexed(IntSupplier, IntUnaryOperator) indexed} navigator caches the cumulative element
+ * lengths on first use, so that offset/position conversions take logarithmic instead of linear time.
+ * It must only be used over an immutable two dimensional object.</p>
  */
 public class TwoLevelNavigator implements TwoDimensional {
 
+  /**
+   * Below this element count, indexed navigators simply walk the elements.
+   */
+  static final int INDEX_THRESHOLD = 8;
+
   class Pos implements Position {
     Pos(int major, int minor) {
       this.major = major;
@@ -72,6 +81,10 @@ public class TwoLevelNavigator implements TwoDimensional {
 
     @Override
     public int toOffset() {
+      var index = index();
+      if (index != null && major < index.length) {
+        return index[major] + minor;
+      }
       var offset = 0;
       for (var i = 0; i < major; ++i) {
         offset += elemLength.applyAsInt(i);
@@ -80,6 +93,10 @@ public class TwoLevelNavigator implements TwoDimensional {
     }
 
     Position forward(int offset, Bias bias) {
+      var index = index();
+      if (index != null) {
+        return indexedForward(index, index[major] + minor + offset, bias);
+      }
       offset += minor;
       var major = this.major;
       var curElemLength = elemLength.applyAsInt(major);
@@ -98,6 +115,10 @@ public class TwoLevelNavigator implements TwoDimensional {
     }
 
     Position backward(int offset, Bias bias) {
+      var index = index();
+      if (index != null) {
+        return indexedBackward(index, index[major] + minor - offset, bias);
+      }
       var minor = this.minor;
       var major = this.major;
       while (major > 0) {
@@ -117,10 +138,45 @@ public class TwoLevelNavigator implements TwoDimensional {
         return new Pos(0, 0);
       }
     }
+
+    // same result as forward(), but binary searches the cumulative lengths for the target element
+    Position indexedForward(int[] index, int target, Bias bias) {
+      // first element at or after 'major' whose end lies beyond the target (or at it, for Backward bias)
+      int lo = major, hi = index.length - 2;
+      while (lo < hi) {
+        var mid = (lo + hi) >>> 1;
+        var end = index[mid + 1];
+        if (target < end || target == end && bias == Backward) {
+          hi = mid;
+        } else {
+          lo = mid + 1;
+        }
+      }
+      return new Pos(lo, target - index[lo]);
+    }
+
+    // same result as backward(), but binary searches the cumulative lengths for the target element
+    Position indexedBackward(int[] index, int target, Bias bias) {
+      // last element in (0, major] whose start lies before the target (or at it, for Forward bias)
+      int lo = 0, hi = major;
+      while (lo < hi) {
+        var mid = (lo + hi + 1) >>> 1;
+        var start = index[mid];
+        if (start < target || start == target && bias == Forward) {
+          lo = mid;
+        } else {
+          hi = mid - 1;
+        }
+      }
+      return (lo > 0 || target > 0) ? new Pos(lo, target - index[lo]) : new Pos(0, 0);
+    }
   }
 
   final IntSupplier elemCount;
   final IntUnaryOperator elemLength;
+  final boolean indexed;
+
+  int[] index = null;
 
   /**
    * Creates a navigator that can be used to find a {@link TwoDimensional.Position} within a two dimensional object.
@@ -132,8 +188,41 @@ public class TwoLevelNavigator implements TwoDimensional {
    *                   list" of the length of that inner object.
    */
   public TwoLevelNavigator(IntSupplier elemCount, IntUnaryOperator elemLength) {
+    this(elemCount, elemLength, false);
+  }
+
+  TwoLevelNavigator(IntSupplier elemCount, IntUnaryOperator elemLength, boolean indexed) {
     this.elemCount = elemCount;
     this.elemLength = elemLength;
+    this.indexed = indexed;
+  }
+
+  /**
+   * Creates a navigator like {@link #TwoLevelNavigator(IntSupplier, IntUnaryOperator)} whose lookups are
+   * backed by a lazily built prefix-sum index over the element lengths. The element count and the element
+   * lengths are read only once, so they must not change afterwards.
+   */
+  public static TwoLevelNavigator indexed(IntSupplier elemCount, IntUnaryOperator elemLength) {
+    return new TwoLevelNavigator(elemCount, elemLength, true);
+  }
+
+  /**
+   * Returns the cumulative lengths, where {@code index[i]} is the offset at which element {@code i} starts
+   * and the last entry is the total length; or {@code null} if the navigator just walks the elements.
+   */
+  int[] index() {
+    if (index == null && indexed) {
+      var n = elemCount.getAsInt();
+      if (n < INDEX_THRESHOLD) {
+        return null;
+      }
+      var sums = new int[n + 1];
+      for (var i = 0; i < n; ++i) {
+        sums[i + 1] = sums[i] + elemLength.applyAsInt(i);
+      }
+      index = sums;
+    }
+    return index;
   }
 
   @Override
@@ -0,0 +1,85 @@
+package fx.rich.text.util;
+
+import java.text.CharacterIterator;
+
+/**
+ * A {@link CharacterIterator} over any {@link CharSequence}, so that a {@link java.text.BreakIterator} can run
+ * over a text view (such as {@link fx.rich.text.TextEditingArea#getTextView()}) without copying it into a string.
+ */
+public final class CharSequenceIterator implements CharacterIterator {
+
+  final CharSequence text;
+  int index = 0;
+
+  public CharSequenceIterator(CharSequence text) {
+    this.text = text;
+  }
+
+  @Override
+  public char first() {
+    index = 0;
+    return current();
+  }
+
+  @Override
+  public char last() {
+    index = Math.max(0, text.length() - 1);
+    return current();
+  }
+
+  @Override
+  public char current() {
+    return (index < text.length()) ? text.charAt(index) : DONE;
+  }
+
+  @Override
+  public char next() {
+    if (index < text.length()) {
+      ++index;
+    }
+    return current();
+  }
+
+  @Override
+  public char previous() {
+    if (index == 0) {
+      return DONE;
+    }
+    --index;
+    return current();
+  }
+
+  @Override
+  public char setIndex(int position) {
+    if (position < 0 || position > text.length()) {
+      throw new IllegalArgumentException("Invalid index " + position);
+    }
+    index = position;
+    return current();
+  }
+
+  @Override
+  public int getBeginIndex() {
+    return 0;
+  }
+
+  @Override
+  public int getEndIndex() {
+    return text.length();
+  }
+
+  @Override
+  public int getIndex() {
+    return index;
+  }
+
+  @Override
+  public CharSequenceIterator clone() {
+    try {
+      return (CharSequenceIterator) super.clone();
+    } catch (CloneNotSupportedException e) {
+      throw new AssertionError(e);
+    }
+  }
+
+}
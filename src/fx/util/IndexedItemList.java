@@ -0,0 +1,228 @@
+package fx.util;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+/**
+ * A {@link Vector} for many elements that come and go, such as the observers of a busy observable.
+ *
+ * <p>Elements are kept in an array of slots in insertion order, and a hash map from each element to its slot
+ * makes {@code add} and {@code remove} O(1) (amortized). A removed element only clears its slot; the slots are
+ * compacted into a new array when they are mostly empty. Since the array is never shifted, iterating does not
+ * need a copy: an element removed during iteration is skipped, and an element added during iteration is not
+ * visited by that iteration. An iteration that started before the slots were compacted keeps traversing the
+ * old array, so elements removed afterwards are still visited by it.</p>
+ *
+ * <p>Equal elements may be added more than once; each {@code remove} removes the one added last, unlike the
+ * other vectors, which remove the first.</p>
+ */
+class IndexedItemList<T> extends Vector<T> {
+
+  static final int MIN_CAPACITY = 8;
+
+  // elements in insertion order; null for removed elements
+  Object[] items = new Object[MIN_CAPACITY];
+
+  // for each slot, the slot of another element equal to it, or -1
+  int[] nextEqual = new int[MIN_CAPACITY];
+
+  // for each element, the slot of the last added element equal to it
+  final HashMap<T, Integer> slots = new HashMap<>();
+
+  // number of used slots
+  int end = 0;
+
+  int size = 0;
+
+  IndexedItemList(T elem) {
+    add(elem);
+  }
+
+  IndexedItemList(Vector<T> elems) {
+    elems.forEach(this::add);
+  }
+
+  @SuppressWarnings("unchecked")
+  T item(int slot) {
+    return (T) items[slot];
+  }
+
+  /**
+   * Returns the slot of the element at the given index.
+   */
+  int slotOf(int index) {
+    if (size == end) {
+      return index;
+    }
+    for (var slot = 0; ; ++slot) {
+      if (items[slot] != null && index-- == 0) {
+        return slot;
+      }
+    }
+  }
+
+  @Override
+  T get(int index) {
+    return item(slotOf(index));
+  }
+
+  @Override
+  Vector<T> add(T elem) {
+    if (end == items.length) {
+      reallocate();
+    }
+    items[end] = elem;
+    var equal = slots.put(elem, end);
+    nextEqual[end] = (equal == null) ? -1 : equal;
+    ++end;
+    ++size;
+    return this;
+  }
+
+  @Override
+  Vector<T> remove(T elem) {
+    var slot = slots.get(elem);
+    if (slot == null) {
+      return this;
+    }
+    var equal = nextEqual[slot];
+    if (equal < 0) {
+      slots.remove(elem);
+    } else {
+      slots.put(elem, equal);
+    }
+    items[slot] = null; // also seen by ongoing iterations
+    --size;
+    if (size == 0) {
+      return null;
+    }
+    if (end > MIN_CAPACITY && size < end / 4) {
+      reallocate();
+    }
+    return this;
+  }
+
+  /**
+   * Moves the elements to new arrays, leaving the current ones to ongoing iterations.
+   * The elements are compacted if any were removed.
+   */
+  void reallocate() {
+    var capacity = Math.max(MIN_CAPACITY, 2 * size);
+    var newItems = new Object[capacity];
+    var newNextEqual = new int[capacity];
+    if (size == end) {
+      System.arraycopy(items, 0, newItems, 0, end);
+      System.arraycopy(nextEqual, 0, newNextEqual, 0, end);
+    } else {
+      slots.clear();
+      var j = 0;
+      for (var i = 0; i < end; ++i) {
+        var elem = item(i);
+        if (elem != null) {
+          newItems[j] = elem;
+          var equal = slots.put(elem, j);
+          newNextEqual[j] = (equal == null) ? -1 : equal;
+          ++j;
+        }
+      }
+      end = j;
+    }
+    items = newItems;
+    nextEqual = newNextEqual;
+  }
+
+  @Override
+  void forEach(Consumer<? super T> f) {
+    var items = this.items;
+    var end = this.end;
+    for (var i = 0; i < end; ++i) {
+      @SuppressWarnings("unchecked")
+      var elem = (T) items[i];
+      if (elem != null) {
+        f.accept(elem);
+      }
+    }
+  }
+
+  @Override
+  void forEachBetween(int from, int to, Consumer<? super T> f) {
+    var it = iterator(from, to);
+    while (it.hasNext()) {
+      f.accept(it.next());
+    }
+  }
+
+  @Override
+  Iterator<T> iterator() {
+    return iterator(0, size);
+  }
+
+  @Override
+  Iterator<T> iterator(int from, int to) {
+    assert from < to;
+    var items = this.items;
+    var start = slotOf(from);
+    var stop = slotOf(to - 1) + 1;
+    return new Iterator<T>() {
+      int next = start;
+      @Override
+      public boolean hasNext() {
+        while (next < stop && items[next] == null) {
+          ++next;
+        }
+        return next < stop;
+      }
+      @Override
+      @SuppressWarnings("unchecked")
+      public T next() {
+        if (hasNext()) {
+          return (T) items[next++];
+        } else {
+          throw new NoSuchElementException();
+        }
+      }
+    };
+  }
+
+  @Override
+  Optional<T> reduce(BinaryOperator<T> f) {
+    return Optional.of(reduce(null, (u, elem) -> (u == null) ? elem : f.apply(u, elem)));
+  }
+
+  @Override
+  <U> U reduce(U unit, BiFunction<U, T, U> f) {
+    var u = unit;
+    for (var i = 0; i < end; ++i) {
+      var elem = item(i);
+      if (elem != null) {
+        u = f.apply(u, elem);
+      }
+    }
+    return u;
+  }
+
+  @Override
+  T[] toArray(IntFunction<T[]> allocator) {
+    var res = allocator.apply(size);
+    var j = 0;
+    for (var i = 0; i < end; ++i) {
+      var elem = item(i);
+      if (elem != null) {
+        res[j++] = elem;
+      }
+    }
+    return res;
+  }
+
+  @Override
+  int size() {
+    return size;
+  }
+
+}
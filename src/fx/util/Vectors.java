@@ -19,6 +19,22 @@ public class Vectors {
     return (listHelper == null) ? new SingleItemList<>(elem) : listHelper.add(elem);
   }
 
+  /**
+   * Same as {@link #add(Vector, Object)}, but creates a vector with O(1) {@code add} and {@code remove}
+   * when {@code listHelper} is {@code null}.
+   */
+  public static <T> Vector<T> addIndexed(Vector<T> listHelper, T elem) {
+    return (listHelper == null) ? new IndexedItemList<>(elem) : listHelper.add(elem);
+  }
+
+  /**
+   * Returns a vector with O(1) {@code add} and {@code remove} that contains the same elements
+   * as {@code listHelper}.
+   */
+  public static <T> Vector<T> indexed(Vector<T> listHelper) {
+    return (listHelper == null || listHelper instanceof IndexedItemList) ? listHelper : new IndexedItemList<>(listHelper);
+  }
+
   public static <T> Vector<T> remove(Vector<T> listHelper, T elem) {
     return (listHelper == null) ? listHelper : listHelper.remove(elem);
   }
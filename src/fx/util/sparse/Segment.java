@@ -30,7 +30,7 @@ interface Segment<E> {
   boolean possiblyDestructiveAppend(Segment<E> suffix);
 
   default Stats getStatsBetween(int from, int to) {
-    return new Stats(to - from, getPresentCountBetween(from, to));
+    return Stats.of(to - from, getPresentCountBetween(from, to));
   }
 
 }
\ No newline at end of file
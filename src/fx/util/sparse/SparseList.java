@@ -18,11 +18,11 @@ public class SparseList<E> {
     new ToSemigroup<Segment<?>, Stats>() {
       @Override
       public Stats reduce(Stats left, Stats right) {
-        return new Stats(left.size + right.size, left.presentCount + right.presentCount);
+        return Stats.of(left.getSize() + right.getSize(), left.getPresentCount() + right.getPresentCount());
       }
       @Override
       public Stats apply(Segment<?> seg) {
-        return new Stats(seg.getLength(), seg.getPresentCount());
+        return Stats.of(seg.getLength(), seg.getPresentCount());
       }
     };
 
@@ -37,33 +37,33 @@ public class SparseList<E> {
   }
 
   public int size() {
-    return tree.getSummary(Stats.ZERO).size;
+    return tree.getSummary(Stats.ZERO).getSize();
   }
 
   public int getPresentCount() {
-    return tree.getSummary(Stats.ZERO).presentCount;
+    return tree.getSummary(Stats.ZERO).getPresentCount();
   }
 
   public boolean isPresent(int index) {
-    return tree.get(Stats::getSize, index, Segment::isPresent);
+    return tree.get(Stats.SIZE, index, Segment::isPresent);
   }
 
   public E getOrThrow(int index) {
-    return tree.get(Stats::getSize, index, Segment::getOrThrow);
+    return tree.get(Stats.SIZE, index, Segment::getOrThrow);
   }
 
   public Optional<E> get(int index) {
-    return tree.get(Stats::getSize, index, Segment::get);
+    return tree.get(Stats.SIZE, index, Segment::get);
   }
 
   public E getPresent(int presentIndex) {
-    return tree.get(Stats::getPresentCount, presentIndex, Segment::getOrThrow);
+    return tree.get(Stats.PRESENT_COUNT, presentIndex, Segment::getOrThrow);
   }
 
   public int getPresentCountBefore(int position) {
     Lists.checkPosition(position, size());
     return tree
-      .getSummaryBetween(Stats::getSize, 0, position, Segment::getStatsBetween)
+      .getSummaryBetween(Stats.SIZE, 0, position, Segment::getStatsBetween)
       .orElse(Stats.ZERO)
       .getPresentCount();
   }
@@ -79,21 +79,21 @@ public class SparseList<E> {
 
   public int indexOfPresentItem(int presentIndex) {
     Lists.checkIndex(presentIndex, getPresentCount());
-    return tree.locateProgressively(Stats::getPresentCount, presentIndex).map(this::locationToPosition);
+    return tree.locateProgressively(Stats.PRESENT_COUNT, presentIndex).map(this::locationToPosition);
   }
 
   public IndexRange getPresentItemsRange() {
     if (getPresentCount() == 0) {
       return new IndexRange(0, 0);
     } else {
-      var lowerBound = tree.locateProgressively(Stats::getPresentCount, 0).map(this::locationToPosition);
-      var upperBound = tree.locateRegressively(Stats::getPresentCount, getPresentCount()).map(this::locationToPosition);
+      var lowerBound = tree.locateProgressively(Stats.PRESENT_COUNT, 0).map(this::locationToPosition);
+      var upperBound = tree.locateRegressively(Stats.PRESENT_COUNT, getPresentCount()).map(this::locationToPosition);
       return new IndexRange(lowerBound, upperBound);
     }
   }
 
   int locationToPosition(int major, int minor) {
-    return tree.getSummaryBetween(0, major).orElse(Stats.ZERO).size + minor;
+    return tree.getSummaryBetween(0, major).orElse(Stats.ZERO).getSize() + minor;
   }
 
   public List<E> collect() {
@@ -104,7 +104,7 @@ public class SparseList<E> {
   public List<E> collect(int from, int to) {
     List<E> acc = new ArrayList<E>(getPresentCountBetween(from, to));
     return tree.foldBetween(acc,
-      (l, seg) -> seg.appendTo(l), Stats::getSize, from, to,
+      (l, seg) -> seg.appendTo(l), Stats.SIZE, from, to,
       (l, seg, start, end) -> seg.appendRangeTo(l, start, end)
     );
   }
@@ -125,7 +125,7 @@ public class SparseList<E> {
   }
 
   public void set(int index, E elem) {
-    tree.get(Stats::getSize, index)
+    tree.get(Stats.SIZE, index)
       .exec((seg, loc) -> {
         if (seg.isPresent()) {
           seg.setOrThrow(loc.minor, elem);
@@ -157,7 +157,7 @@ public class SparseList<E> {
     tree = tree.caseEmpty().unify(
       emptyTree -> emptyTree.append(seg),
       nonEmptyTree -> nonEmptyTree
-        .split(Stats::getSize, position)
+        .split(Stats.SIZE, position)
         .map((l, m, r) -> join(l, m, seg, m, r))
       );
   }
@@ -172,7 +172,7 @@ public class SparseList<E> {
     tree = tree.caseEmpty().unify(
       emptyTree -> emptyTree.append(seg),
       nonEmptyTree -> nonEmptyTree
-        .split(Stats::getSize, position)
+        .split(Stats.SIZE, position)
         .map((l, m, r) -> join(l, m, seg, m, r))
       );
   }
@@ -204,9 +204,9 @@ public class SparseList<E> {
     tree = tree.caseEmpty()
       .mapLeft(emptyTree -> join(emptyTree, middle, emptyTree))
       .toLeft(nonEmptyTree -> nonEmptyTree
-         .split(Stats::getSize, from)
+         .split(Stats.SIZE, from)
          .map((left, lSuffix, r) -> {
-            return nonEmptyTree.split(Stats::getSize, to).map((l, rPrefix, right) -> {
+            return nonEmptyTree.split(Stats.SIZE, to).map((l, rPrefix, right) -> {
               return join(left, lSuffix, middle, rPrefix, right);
             });
           })
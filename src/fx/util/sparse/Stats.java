@@ -1,24 +1,52 @@
 package fx.util.sparse;
 
-class Stats {
+import fx.util.tree.IntPair;
+
+/**
+ * The size and present count of a sequence of segments.
+ */
+final class Stats extends IntPair {
 
   static final Stats ZERO = new Stats(0, 0);
 
-  final int size;
-  final int presentCount;
+  static final IntPair.Metric SIZE = IntPair.Metric.FIRST;
+  static final IntPair.Metric PRESENT_COUNT = IntPair.Metric.SECOND;
+
+  /**
+   * Stats of segments shorter than this are shared instead of allocated per segment.
+   */
+  static final int CACHED_SIZES = 64;
+  static final Stats[] ABSENT = new Stats[CACHED_SIZES];
+  static final Stats[] PRESENT = new Stats[CACHED_SIZES];
+  static {
+    for (var i = 0; i < CACHED_SIZES; ++i) {
+      ABSENT[i] = new Stats(i, 0);
+      PRESENT[i] = new Stats(i, i);
+    }
+  }
+
+  static Stats of(int size, int presentCount) {
+    if (size < CACHED_SIZES) {
+      if (presentCount == 0) {
+        return ABSENT[size];
+      } else if (presentCount == size) {
+        return PRESENT[size];
+      }
+    }
+    return new Stats(size, presentCount);
+  }
 
   Stats(int size, int presentCount) {
+    super(size, presentCount);
     assert size >= presentCount && presentCount >= 0;
-    this.size = size;
-    this.presentCount = presentCount;
   }
 
   int getSize() {
-    return size;
+    return first;
   }
 
   int getPresentCount() {
-    return presentCount;
+    return second;
   }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,270 @@
+package fx.util.tree;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.ToIntFunction;
+
+import fx.util.Lists;
+import fx.util.tree.FingerTree._2t;
+
+/**
+ * An immutable sequence with the same {@code split}/{@code join}/{@code locate} API as {@link FingerTree},
+ * whose leaves are small arrays of items (chunks) with a precomputed summary instead of one item each.
+ * This cuts the number of tree nodes by roughly the chunk size, at the cost of scanning (at most
+ * {@link #CHUNK_SIZE}) items inside a chunk.
+ *
+ * <p>It backs {@link fx.react.collection.LiveList#reduce list reductions}, whose leaves are the list's items.
+ * {@code SparseList} is left on {@link FingerTree}, since its leaves are already runs of items, and so is
+ * {@link fx.rich.text.model.ReadOnlyStyledDocument}, whose paragraph tree is navigated through the
+ * {@link NonEmpty} API (e.g. regressive locates and metric-bounded folds) that this class does not offer.</p>
+ */
+public final class ChunkedFingerTree<T, S> {
+
+  /**
+   * Maximum number of items in a chunk.
+   */
+  static final int CHUNK_SIZE = 32;
+
+  /**
+   * Summary of a chunk or of a subtree of chunks: the number of items and the summary of those items.
+   */
+  record Counted<S>(int size, S summary) {}
+
+  static final class Chunk<T, S> {
+    final Object[] items;
+    final S summary;
+
+    Chunk(Object[] items, ToSemigroup<? super T, S> semigroup) {
+      assert items.length > 0 && items.length <= CHUNK_SIZE;
+      this.items = items;
+      this.summary = summarize(items, 0, items.length, semigroup);
+    }
+
+    int size() {
+      return items.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    T get(int index) {
+      return (T) items[index];
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T, S> S summarize(Object[] items, int from, int to, ToSemigroup<? super T, S> semigroup) {
+      var summary = semigroup.apply((T) items[from]);
+      for (var i = from + 1; i < to; ++i) {
+        summary = semigroup.reduce(summary, semigroup.apply((T) items[i]));
+      }
+      return summary;
+    }
+  }
+
+  static <T, S> ToSemigroup<Chunk<T, S>, Counted<S>> chunkSemigroup(ToSemigroup<? super T, S> semigroup) {
+    return new ToSemigroup<Chunk<T, S>, Counted<S>>() {
+      @Override
+      public Counted<S> apply(Chunk<T, S> chunk) {
+        return new Counted<>(chunk.size(), chunk.summary);
+      }
+      @Override
+      public Counted<S> reduce(Counted<S> left, Counted<S> right) {
+        return new Counted<>(left.size + right.size, semigroup.reduce(left.summary, right.summary));
+      }
+    };
+  }
+
+  public static <T, S> ChunkedFingerTree<T, S> empty(ToSemigroup<? super T, S> summaryProvider) {
+    return new ChunkedFingerTree<>(summaryProvider, FingerTree.empty(chunkSemigroup(summaryProvider)));
+  }
+
+  public static <T, S> ChunkedFingerTree<T, S> mkTree(List<? extends T> items, ToSemigroup<? super T, S> summaryProvider) {
+    var n = items.size();
+    var chunks = new ArrayList<Chunk<T, S>>((n + CHUNK_SIZE - 1) / CHUNK_SIZE);
+    for (var i = 0; i < n; i += CHUNK_SIZE) {
+      chunks.add(new Chunk<>(items.subList(i, Math.min(i + CHUNK_SIZE, n)).toArray(), summaryProvider));
+    }
+    return new ChunkedFingerTree<>(summaryProvider, FingerTree.mkTree(chunks, chunkSemigroup(summaryProvider)));
+  }
+
+  final ToSemigroup<? super T, S> semigroup;
+  final FingerTree<Chunk<T, S>, Counted<S>> chunks;
+
+  ChunkedFingerTree(ToSemigroup<? super T, S> semigroup, FingerTree<Chunk<T, S>, Counted<S>> chunks) {
+    this.semigroup = semigroup;
+    this.chunks = chunks;
+  }
+
+  ChunkedFingerTree<T, S> with(FingerTree<Chunk<T, S>, Counted<S>> chunks) {
+    return new ChunkedFingerTree<>(semigroup, chunks);
+  }
+
+  public boolean isEmpty() {
+    return chunks.isEmpty();
+  }
+
+  public int getLeafCount() {
+    return chunks.getSummaryOpt().map(Counted::size).orElse(0);
+  }
+
+  public Optional<S> getSummaryOpt() {
+    return chunks.getSummaryOpt().map(Counted::summary);
+  }
+
+  public S getSummary(S whenEmpty) {
+    return getSummaryOpt().orElse(whenEmpty);
+  }
+
+  /**
+   * Returns the index of the chunk containing the given item and the item's index within that chunk.
+   */
+  Index locateItem(int index) {
+    return chunks.locateProgressively(Counted::size, index);
+  }
+
+  int itemsBefore(int chunk) {
+    return chunks.getSummaryBetween(0, chunk).map(Counted::size).orElse(0);
+  }
+
+  public T getLeaf(int index) {
+    Lists.checkIndex(index, getLeafCount());
+    var loc = locateItem(index);
+    return chunks.getLeaf(loc.major).get(loc.minor);
+  }
+
+  public ChunkedFingerTree<T, S> updateLeaf(int index, T data) {
+    Lists.checkIndex(index, getLeafCount());
+    var loc = locateItem(index);
+    var items = chunks.getLeaf(loc.major).items.clone();
+    items[loc.minor] = data;
+    return with(chunks.updateLeaf(loc.major, new Chunk<>(items, semigroup)));
+  }
+
+  public Optional<S> getSummaryBetween(int startLeaf, int endLeaf) {
+    Lists.checkRange(startLeaf, endLeaf, getLeafCount());
+    if (startLeaf == endLeaf) {
+      return Optional.empty();
+    }
+    var start = locateItem(startLeaf);
+    var end = chunks.locateRegressively(Counted::size, endLeaf);
+    var first = chunks.getLeaf(start.major);
+    if (start.major == end.major) {
+      return Optional.of(Chunk.summarize(first.items, start.minor, end.minor, semigroup));
+    }
+    var last = chunks.getLeaf(end.major);
+    var summary = Chunk.summarize(first.items, start.minor, first.size(), semigroup);
+    var middle = chunks.getSummaryBetween(start.major + 1, end.major);
+    if (middle.isPresent()) {
+      summary = semigroup.reduce(summary, middle.get().summary);
+    }
+    return Optional.of(semigroup.reduce(summary, Chunk.summarize(last.items, 0, end.minor, semigroup)));
+  }
+
+  /**
+   * Same as {@link FingerTree#locateProgressively(ToIntFunction, int)}: the major index is the index of an item.
+   */
+  public Index locateProgressively(ToIntFunction<? super S> metric, int position) {
+    var loc = chunks.locateProgressively(c -> metric.applyAsInt(c.summary), position);
+    var chunk = chunks.getLeaf(loc.major);
+    var minor = loc.minor;
+    var n = chunk.size();
+    for (var i = 0; i < n; ++i) {
+      var len = metric.applyAsInt(semigroup.apply(chunk.get(i)));
+      if (minor < len || minor == len && i == n - 1) {
+        return new Index(itemsBefore(loc.major) + i, minor);
+      }
+      minor -= len;
+    }
+    throw new AssertionError("Unreachable code");
+  }
+
+  public <E> E get(ToIntFunction<? super S> metric, int index, BiFunction<? super T, Integer, ? extends E> leafAccessor) {
+    return locateProgressively(metric, index).map((major, minor) -> leafAccessor.apply(getLeaf(major), minor));
+  }
+
+  public _2t<ChunkedFingerTree<T, S>, ChunkedFingerTree<T, S>> split(int beforeLeaf) {
+    Lists.checkPosition(beforeLeaf, getLeafCount());
+    if (beforeLeaf == 0) {
+      return new _2t<>(empty(semigroup), this);
+    } else if (beforeLeaf == getLeafCount()) {
+      return new _2t<>(this, empty(semigroup));
+    }
+    var loc = locateItem(beforeLeaf);
+    if (loc.minor == 0) {
+      return chunks.split(loc.major).map((l, r) -> new _2t<>(with(l), with(r)));
+    }
+    var items = chunks.getLeaf(loc.major).items;
+    var leftChunk = new Chunk<T, S>(Arrays.copyOfRange(items, 0, loc.minor), semigroup);
+    var rightChunk = new Chunk<T, S>(Arrays.copyOfRange(items, loc.minor, items.length), semigroup);
+    var left = chunks.split(loc.major).a().append(leftChunk);
+    var right = chunks.split(loc.major + 1).b().prepend(rightChunk);
+    return new _2t<>(with(left), with(right));
+  }
+
+  /**
+   * Joins this tree with the given one; the two chunks at the seam are merged if they fit into one chunk,
+   * so that repeated splitting and joining does not fragment the tree.
+   */
+  public ChunkedFingerTree<T, S> join(ChunkedFingerTree<T, S> rightTree) {
+    if (rightTree.isEmpty()) {
+      return this;
+    } else if (this.isEmpty()) {
+      return rightTree;
+    }
+    var n = chunks.getLeafCount();
+    var last = chunks.getLeaf(n - 1);
+    var first = rightTree.chunks.getLeaf(0);
+    if (last.size() + first.size() > CHUNK_SIZE) {
+      return with(chunks.join(rightTree.chunks));
+    }
+    var items = Arrays.copyOf(last.items, last.size() + first.size());
+    System.arraycopy(first.items, 0, items, last.size(), first.size());
+    var left = chunks.split(n - 1).a();
+    var right = rightTree.chunks.split(1).b().prepend(new Chunk<>(items, semigroup));
+    return with(left.join(right));
+  }
+
+  public ChunkedFingerTree<T, S> insertLeaf(int position, T data) {
+    Lists.checkPosition(position, getLeafCount());
+    return split(position).map((l, r) -> l.join(mkTree(Collections.singletonList(data), semigroup)).join(r));
+  }
+
+  public ChunkedFingerTree<T, S> removeLeafs(int fromLeaf, int toLeaf) {
+    Lists.checkRange(fromLeaf, toLeaf, getLeafCount());
+    return (fromLeaf == toLeaf) ? this : split(fromLeaf).a().join(split(toLeaf).b());
+  }
+
+  public <R> R fold(R acc, BiFunction<? super R, ? super T, ? extends R> reduction) {
+    return chunks.fold(acc, (r, chunk) -> {
+      for (var i = 0; i < chunk.size(); ++i) {
+        r = reduction.apply(r, chunk.get(i));
+      }
+      return r;
+    });
+  }
+
+  /**
+   * Returns a list view of this tree; {@code get} is O(log(n)).
+   */
+  public List<T> asList() {
+    return new AbstractList<>() {
+      @Override
+      public T get(int index) {
+        return getLeaf(index);
+      }
+      @Override
+      public int size() {
+        return getLeafCount();
+      }
+    };
+  }
+
+  @Override
+  public String toString() {
+    return "ChunkedFingerTree" + asList();
+  }
+
+}
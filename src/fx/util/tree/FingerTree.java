@@ -64,6 +64,10 @@ public abstract class FingerTree<T, S> {
     return trees.get(0);
   }
 
+  public static <T, S> FingerTreeBuilder<T, S> builder(ToSemigroup<? super T, S> summaryProvider) {
+    return new FingerTreeBuilder<>(summaryProvider);
+  }
+
   static <T, S> Branch<T, S> branch(NonEmpty<T, S> left, NonEmpty<T, S> right) {
     return branch(Sequence.of(left, right));
   }
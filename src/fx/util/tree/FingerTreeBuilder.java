@@ -0,0 +1,63 @@
+package fx.util.tree;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds a {@link FingerTree} bottom-up from items that arrive one at a time, such as lines read from a stream.
+ * Unlike {@link FingerTree#mkTree(List, ToSemigroup)}, the items need not be collected into a list first;
+ * every level of the tree keeps at most two pending nodes, and three nodes of one level are combined into a
+ * branch of the next level as soon as they are complete.
+ */
+public final class FingerTreeBuilder<T, S> {
+
+  final ToSemigroup<? super T, S> summaryProvider;
+  final List<List<NonEmpty<T, S>>> levels = new ArrayList<>();
+
+  int leafCount = 0;
+
+  FingerTreeBuilder(ToSemigroup<? super T, S> summaryProvider) {
+    this.summaryProvider = summaryProvider;
+  }
+
+  public int getLeafCount() {
+    return leafCount;
+  }
+
+  /**
+   * Appends the given item as the next leaf of the tree.
+   */
+  public FingerTreeBuilder<T, S> add(T item) {
+    add(0, new Leaf<>(summaryProvider, item));
+    ++leafCount;
+    return this;
+  }
+
+  void add(int level, NonEmpty<T, S> node) {
+    if (level == levels.size()) {
+      levels.add(new ArrayList<>(3));
+    }
+    var pending = levels.get(level);
+    pending.add(node);
+    if (pending.size() == 3) {
+      var branch = FingerTree.branch(pending.get(0), pending.get(1), pending.get(2));
+      pending.clear();
+      add(level + 1, branch);
+    }
+  }
+
+  /**
+   * Returns the tree of all items added so far.
+   */
+  public FingerTree<T, S> build() {
+    FingerTree<T, S> tree = FingerTree.empty(summaryProvider);
+    // nodes of the higher levels precede the nodes of the lower levels
+    for (var level = levels.size() - 1; level >= 0; --level) {
+      for (var node : levels.get(level)) {
+        tree = tree.join(node);
+      }
+    }
+    return tree;
+  }
+
+}
@@ -0,0 +1,60 @@
+package fx.util.tree;
+
+import java.util.function.ToIntFunction;
+
+/**
+ * Base class for tree summaries that consist of two int counts, such as the number of paragraphs and
+ * characters of a document. The counts are plain fields, so reducing two summaries is a pair of additions
+ * and a single allocation.
+ *
+ * <p>When one of the {@link Metric} constants is passed to {@link FingerTree#locateProgressively(ToIntFunction, int)},
+ * the tree is walked iteratively and the counts are read directly from each node's summary, without a call
+ * through a metric lambda per node.</p>
+ */
+public class IntPair {
+
+  /**
+   * The ways an {@link IntPair} can be measured.
+   */
+  public enum Metric implements ToIntFunction<IntPair> {
+    FIRST,
+    SECOND,
+    SUM;
+
+    @Override
+    public int applyAsInt(IntPair pair) {
+      return switch (this) {
+        case FIRST -> pair.first;
+        case SECOND -> pair.second;
+        case SUM -> pair.first + pair.second;
+      };
+    }
+  }
+
+  public final int first;
+  public final int second;
+
+  public IntPair(int first, int second) {
+    this.first = first;
+    this.second = second;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    return other instanceof IntPair that
+      && this.getClass() == that.getClass()
+      && this.first == that.first
+      && this.second == that.second;
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * first + second;
+  }
+
+  @Override
+  public String toString() {
+    return "(" + first + ", " + second + ")";
+  }
+
+}
@@ -9,6 +9,7 @@ import java.util.function.ToIntFunction;
 
 import fx.util.Either;
 import fx.util.Lists;
+import fx.util.Sequence;
 
 public abstract class NonEmpty<T, S> extends FingerTree<T, S> {
 
@@ -38,9 +39,37 @@ public abstract class NonEmpty<T, S> extends FingerTree<T, S> {
   @Override
   public Index locateProgressively(ToIntFunction<? super S> metric, int position) {
     Lists.checkPosition(position, measure(metric));
+    if (metric instanceof IntPair.Metric m) {
+      return locateProgressively(m, position);
+    }
     return locateProgressively0(metric, position);
   }
 
+  /**
+   * Same as {@link #locateProgressively0(ToIntFunction, int)}, but for summaries that are {@link IntPair}s:
+   * walks down the tree in a loop and reads the counts directly from the summaries.
+   */
+  final Index locateProgressively(IntPair.Metric metric, int position) {
+    var major = 0;
+    NonEmpty<T, S> node = this;
+    while (node instanceof Branch<T, S> branch) {
+      Sequence<? extends NonEmpty<T, S>> nodes = branch.children;
+      for (;;) {
+        var head = nodes.head();
+        var tail = nodes.tail();
+        var headLen = metric.applyAsInt((IntPair) head.getSummary());
+        if (position < headLen || (position == headLen && tail.isEmpty())) {
+          node = head;
+          break;
+        }
+        position -= headLen;
+        major += head.getLeafCount();
+        nodes = tail;
+      }
+    }
+    return new Index(major, position);
+  }
+
   @Override
   public Index locateRegressively(ToIntFunction<? super S> metric, int position) {
     Lists.checkPosition(position, measure(metric));
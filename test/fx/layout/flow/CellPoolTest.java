@@ -0,0 +1,118 @@
+package fx.layout.flow;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+
+import javafx.scene.Node;
+
+class CellPoolTest {
+
+  static class TestCell implements Cell<String, Node> {
+    final String kind;
+    String item;
+    boolean disposed = false;
+
+    TestCell(String item) {
+      this.kind = kindOf(item);
+      this.item = item;
+    }
+
+    static String kindOf(String item) {
+      return item.startsWith("img:") ? "image" : "text";
+    }
+
+    @Override public Node getNode() { return null; }
+    @Override public boolean isReusable() { return true; }
+    @Override public void updateItem(String item) { this.item = item; }
+    @Override public void dispose() { disposed = true; }
+  }
+
+  final ArrayList<TestCell> created = new ArrayList<>();
+
+  CellPool<String, TestCell> pool() {
+    return new CellPool<>(item -> {
+      var cell = new TestCell(item);
+      created.add(cell);
+      return cell;
+    });
+  }
+
+  @Test
+  void cellsAreReusedForItemsOfTheSameKind() {
+    var pool = pool();
+    pool.setCellKind(TestCell::kindOf);
+    var text = pool.getCell("a");
+    var image = pool.getCell("img:b");
+    pool.acceptCell(text);
+    pool.acceptCell(image);
+
+    var image2 = pool.getCell("img:c");
+    assertSame(image, image2);
+    assertEquals("img:c", image2.item);
+    var text2 = pool.getCell("d");
+    assertSame(text, text2);
+    assertEquals(2, created.size());
+    assertEquals(0, pool.getIdleCount());
+  }
+
+  @Test
+  void cellsInUseWhenTheKindChangesAreDisposedWhenAccepted() {
+    var pool = pool();
+    var plain = pool.getCell("a"); // default kind
+    pool.setCellKind(TestCell::kindOf);
+    var text = pool.getCell("b");
+    var image = pool.getCell("img:c");
+    pool.setCellKind(item -> item.length());
+    pool.acceptCell(plain);
+    pool.acceptCell(text);
+    pool.acceptCell(image);
+    assertTrue(plain.disposed);
+    assertTrue(text.disposed);
+    assertTrue(image.disposed);
+    assertEquals(0, pool.getIdleCount());
+
+    var one = pool.getCell("d");
+    pool.acceptCell(one);
+    assertFalse(one.disposed);
+    assertSame(one, pool.getCell("e"));
+    assertEquals(4, created.size());
+  }
+
+  @Test
+  void excessIdleCellsAreDisposed() {
+    var pool = pool();
+    pool.setMaxIdleCells(2);
+    var cells = new ArrayList<TestCell>();
+    for (var i = 0; i < 5; ++i) {
+      cells.add(pool.getCell("x" + i));
+    }
+    cells.forEach(pool::acceptCell);
+    assertEquals(2, pool.getIdleCount());
+    assertEquals(3, created.stream().filter(c -> c.disposed).count());
+
+    pool.setMaxIdleCells(1);
+    assertEquals(1, pool.getIdleCount());
+    assertSame(cells.get(4), pool.getCell("y")); // the most recently used one is kept
+  }
+
+  @Test
+  void prewarm() {
+    var pool = pool();
+    pool.setCellKind(TestCell::kindOf);
+    pool.prewarm("sample", 10);
+    assertEquals(10, pool.getIdleCount());
+    assertEquals(10, created.size());
+    for (var i = 0; i < 10; ++i) {
+      pool.getCell("t" + i);
+    }
+    assertEquals(10, created.size());
+    pool.getCell("img:a"); // no prewarmed image cells
+    assertEquals(11, created.size());
+
+    pool.dispose();
+    assertEquals(0, pool.getIdleCount());
+  }
+
+}
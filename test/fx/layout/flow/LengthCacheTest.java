@@ -0,0 +1,50 @@
+package fx.layout.flow;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+class LengthCacheTest {
+
+  @Test
+  void keyedByIdentityAndBreadth() {
+    var cache = new LengthCache(10);
+    var a = new String("paragraph");
+    var b = new String("paragraph");
+    cache.put(a, 100, 42);
+    assertEquals(42.0, cache.get(a, 100));
+    assertTrue(Double.isNaN(cache.get(b, 100))); // equal, but a replacement
+    assertEquals(1, cache.hits);
+    assertEquals(1, cache.misses);
+
+    assertTrue(Double.isNaN(cache.get(a, 120))); // the width changed
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  void evictsLeastRecentlyUsed() {
+    var cache = new LengthCache(3);
+    var items = new Object[] { new Object(), new Object(), new Object(), new Object() };
+    for (var i = 0; i < 3; ++i) {
+      cache.put(items[i], 100, i);
+    }
+    cache.get(items[0], 100);
+    cache.put(items[3], 100, 3);
+    assertEquals(3, cache.size());
+    assertEquals(0.0, cache.get(items[0], 100));
+    assertTrue(Double.isNaN(cache.get(items[1], 100)));
+
+    cache.setCapacity(1);
+    assertEquals(1, cache.size());
+    assertEquals(0.0, cache.get(items[0], 100));
+  }
+
+  @Test
+  void disabledByZeroCapacity() {
+    var cache = new LengthCache(0);
+    var item = new Object();
+    cache.put(item, 100, 1);
+    assertTrue(Double.isNaN(cache.get(item, 100)));
+    assertEquals(0, cache.size());
+  }
+
+}
@@ -0,0 +1,103 @@
+package fx.layout.flow;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+class LengthIndexTest {
+
+  static double naiveLengthBefore(double[] lengths, int index, double unknownLength) {
+    var sum = 0.0;
+    for (var i = 0; i < index; ++i) {
+      sum += Double.isNaN(lengths[i]) ? unknownLength : lengths[i];
+    }
+    return sum;
+  }
+
+  @Test
+  void lengthBeforeAndLocate() {
+    var index = new LengthIndex(5);
+    index.set(0, 10);
+    index.set(2, 30);
+    index.set(4, 50);
+    assertEquals(30.0, index.averageKnownLength());
+
+    // unknown items 1 and 3 count as 20
+    assertEquals(0.0, index.lengthBefore(0, 20));
+    assertEquals(10.0, index.lengthBefore(1, 20));
+    assertEquals(60.0, index.lengthBefore(3, 20));
+    assertEquals(130.0, index.totalLength(20));
+
+    assertEquals(new LengthIndex.Position(0, 5.0), index.locate(5, 20));
+    assertEquals(new LengthIndex.Position(2, 0.0), index.locate(30, 20));
+    assertEquals(new LengthIndex.Position(3, 15.0), index.locate(75, 20));
+    assertEquals(new LengthIndex.Position(5, 10.0), index.locate(140, 20));
+
+    index.set(1, 5);
+    assertEquals(new LengthIndex.Position(2, 15.0), index.locate(30, 20));
+    index.forget(1);
+    assertEquals(new LengthIndex.Position(2, 0.0), index.locate(30, 20));
+  }
+
+  @Test
+  void replaceKeepsTheLengthsOfTheOtherItems() {
+    var index = new LengthIndex(4);
+    for (var i = 0; i < 4; ++i) {
+      index.set(i, i + 1);
+    }
+    index.replace(1, 2, 3); // 1, ?, ?, ?, 4
+    assertEquals(5, index.size());
+    assertEquals(1.0, index.lengthBefore(1, 100));
+    assertEquals(301.0, index.lengthBefore(4, 100));
+    assertEquals(305.0, index.totalLength(100));
+    assertEquals(2.5, index.averageKnownLength());
+
+    assertEquals(1, index.nextUnknown(0));
+    assertEquals(3, index.nextUnknown(3));
+    assertEquals(5, index.nextUnknown(4));
+
+    index.replace(0, 4, 0); // 4
+    assertEquals(1, index.size());
+    assertEquals(4.0, index.totalLength(100));
+  }
+
+  @Test
+  void randomized() {
+    var random = new Random(7);
+    var index = new LengthIndex(0);
+    var model = new double[0];
+    for (var round = 0; round < 2_000; ++round) {
+      var size = model.length;
+      if (size == 0 || random.nextInt(4) == 0) {
+        var from = random.nextInt(size + 1);
+        var removed = random.nextInt(Math.min(3, size - from) + 1);
+        var added = random.nextInt(20);
+        index.replace(from, removed, added);
+        var newModel = new double[size - removed + added];
+        System.arraycopy(model, 0, newModel, 0, from);
+        java.util.Arrays.fill(newModel, from, from + added, Double.NaN);
+        System.arraycopy(model, from + removed, newModel, from + added, size - from - removed);
+        model = newModel;
+      } else {
+        var i = random.nextInt(size);
+        if (random.nextInt(5) == 0) {
+          index.forget(i);
+          model[i] = Double.NaN;
+        } else {
+          model[i] = 1 + random.nextInt(40);
+          index.set(i, model[i]);
+        }
+      }
+      var at = random.nextInt(model.length + 1);
+      var expected = naiveLengthBefore(model, at, 12.5);
+      assertEquals(expected, index.lengthBefore(at, 12.5), 1e-6);
+      if (at < model.length) {
+        var position = index.locate(expected + 0.25, 12.5);
+        assertEquals(at, position.index());
+        assertEquals(0.25, position.offset(), 1e-6);
+      }
+    }
+  }
+
+}
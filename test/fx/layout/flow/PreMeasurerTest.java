@@ -0,0 +1,118 @@
+package fx.layout.flow;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.Region;
+
+import fx.react.EventSource;
+import fx.react.value.Var;
+
+class PreMeasurerTest {
+
+  final ObservableList<Integer> items = FXCollections.observableArrayList(10, 20, 30, 40, 50);
+  final CellListManager<Integer, Cell<Integer, Node>> cellListManager = new CellListManager<>(new Pane(), items, item -> {
+    var region = new Region();
+    region.setPrefHeight(item);
+    return Cell.wrapNode(region);
+  });
+  final SizeTracker sizeTracker = new SizeTracker(
+    new VerticalHelper(),
+    new SimpleObjectProperty<Bounds>(new BoundingBox(0, 0, 100, 50)),
+    cellListManager.getLazyCellList(),
+    cellListManager::itemOf
+  );
+  final Var<Boolean> active = Var.newSimpleVar(false);
+  final EventSource<Long> ticks = new EventSource<>();
+
+  PreMeasurer<Integer, Cell<Integer, Node>> preMeasurer() {
+    sizeTracker.lengthIndexed.setValue(true);
+    var preMeasurer = new PreMeasurer<>(items, cellListManager, new VerticalHelper(), sizeTracker, Duration.ofSeconds(10), active, ticks);
+    new Pane(preMeasurer.measuringArea); // the viewport
+    return preMeasurer;
+  }
+
+  void assertAllMeasured() {
+    var index = sizeTracker.lengthIndex;
+    assertEquals(items.size(), index.size());
+    for (var i = 0; i < items.size(); ++i) {
+      assertEquals(items.get(i).doubleValue(), index.lengthBefore(i + 1, 0) - index.lengthBefore(i, 0));
+    }
+    var total = items.stream().mapToInt(Integer::intValue).sum();
+    assertEquals(total, sizeTracker.totalLengthEstimateProperty().getValue());
+  }
+
+  @Test
+  void ticksAreObservedOnlyWhileActiveAndSomeLengthIsUnknown() {
+    var preMeasurer = preMeasurer();
+    assertFalse(preMeasurer.isMeasuring());
+    assertFalse(ticks.isObservingInputs());
+
+    active.setValue(true);
+    assertTrue(preMeasurer.isMeasuring());
+    assertTrue(ticks.isObservingInputs());
+
+    ticks.push(0L);
+    assertAllMeasured();
+    assertFalse(preMeasurer.isMeasuring());
+    assertFalse(ticks.isObservingInputs());
+  }
+
+  @Test
+  void measuringStopsWhenInactiveAndResumesWhenActiveAgain() {
+    var preMeasurer = preMeasurer();
+    active.setValue(true);
+    active.setValue(false); // e.g. detached, hidden or needs layout
+    assertFalse(ticks.isObservingInputs());
+    assertEquals(0, sizeTracker.lengthIndex.nextUnknown(0));
+
+    items.add(60); // unknown, but inactive
+    assertFalse(preMeasurer.isMeasuring());
+
+    active.setValue(true);
+    ticks.push(0L);
+    assertAllMeasured();
+    assertFalse(ticks.isObservingInputs());
+  }
+
+  @Test
+  void measuringRestartsFromTheFirstUnknownLength() {
+    var preMeasurer = preMeasurer();
+    active.setValue(true);
+    ticks.push(0L);
+    assertFalse(preMeasurer.isMeasuring());
+
+    items.add(1, 15);
+    assertTrue(preMeasurer.isMeasuring());
+    assertEquals(1, preMeasurer.cursor);
+    ticks.push(1L);
+    assertAllMeasured();
+    assertFalse(preMeasurer.isMeasuring());
+
+    items.set(3, 35);
+    ticks.push(2L);
+    assertAllMeasured();
+    assertFalse(ticks.isObservingInputs());
+  }
+
+  @Test
+  void disposeStopsMeasuring() {
+    var preMeasurer = preMeasurer();
+    active.setValue(true);
+    preMeasurer.dispose();
+    assertFalse(ticks.isObservingInputs());
+
+    items.add(60);
+    assertFalse(ticks.isObservingInputs());
+  }
+
+}
@@ -3,7 +3,12 @@ package fx.layout.flow;
 import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
 import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import javafx.scene.shape.Rectangle;
 
 import fx.jupiter.Fx;
@@ -71,4 +76,131 @@ class VirtualFlowTest { // extends FlowlessTestBase
     assertTrue(vf.getFirstVisibleIndex() <= 99 && 99 <= vf.getLastVisibleIndex());
   }
 
+  static Viewport<Integer, Cell<Integer, Rectangle>> flowOfHeights(ObservableList<Integer> heights, boolean incremental) {
+    var vf = Viewport.<Integer, Cell<Integer, Rectangle>>createVertical(heights, h -> Cell.wrapNode(new Rectangle(500, h)));
+    vf.setIncrementalLayout(incremental);
+    vf.resize(100, 450); // size of VirtualFlow enough to show several cells
+    vf.layout();
+    return vf;
+  }
+
+  static ObservableList<Integer> heights(int count, int height) {
+    var heights = FXCollections.<Integer>observableArrayList();
+    for (var i = 0; i < count; i++) {
+      heights.add(height);
+    }
+    return heights;
+  }
+
+  /** The visible indices and the position of each visible cell */
+  static List<Double> layoutOf(Viewport<Integer, Cell<Integer, Rectangle>> vf) {
+    var layout = new ArrayList<Double>();
+    layout.add((double) vf.getFirstVisibleIndex());
+    layout.add((double) vf.getLastVisibleIndex());
+    for (var i = vf.getFirstVisibleIndex(); i <= vf.getLastVisibleIndex(); i++) {
+      layout.add(vf.getCell(i).getNode().getBoundsInParent().getMinY());
+    }
+    return layout;
+  }
+
+  /**
+   * Applies the same steps to an incremental and a non-incremental flow, laying out both after each step, and
+   * asserts that they end up with the same layout.
+   */
+  @SafeVarargs
+  static void assertIncrementalMatchesFull(ObservableList<Integer> initialHeights, Consumer<Viewport<Integer, Cell<Integer, Rectangle>>>... steps) {
+    var incrementalHeights = FXCollections.observableArrayList(initialHeights);
+    var fullHeights = FXCollections.observableArrayList(initialHeights);
+    var incremental = flowOfHeights(incrementalHeights, true);
+    var full = flowOfHeights(fullHeights, false);
+    for (var step : steps) {
+      step.accept(incremental);
+      step.accept(full);
+      incremental.layout();
+      full.layout();
+      assertEquals(layoutOf(full), layoutOf(incremental));
+    }
+  }
+
+  @Test
+  void incrementalLayoutSkipsEditsOutsideTheViewport() {
+    var heights = heights(100, 100);
+    var vf = flowOfHeights(heights, true);
+    vf.showAsFirst(50);
+    vf.layout();
+    var before = layoutOf(vf);
+
+    heights.set(90, 200);
+    heights.add(95, 50);
+    heights.remove(99);
+    assertFalse(vf.navigator.isNeedsLayout());
+    vf.layout();
+    assertEquals(before, layoutOf(vf));
+
+    heights.set(vf.getFirstVisibleIndex() + 1, 150); // visible
+    assertTrue(vf.navigator.isNeedsLayout());
+  }
+
+  @Test
+  void editsBeforeTheViewportShiftTheVisibleIndices() {
+    var heights = heights(100, 100);
+    var vf = flowOfHeights(heights, true);
+    vf.showAsFirst(50);
+    vf.layout();
+    var first = vf.getFirstVisibleIndex();
+    var last = vf.getLastVisibleIndex();
+    var firstCell = vf.getCell(first);
+    var minY = firstCell.getNode().getBoundsInParent().getMinY();
+
+    heights.addAll(0, List.of(10, 20, 30));
+    heights.remove(5);
+    assertFalse(vf.navigator.isNeedsLayout());
+    assertEquals(first + 2, vf.getFirstVisibleIndex());
+    assertEquals(last + 2, vf.getLastVisibleIndex());
+
+    vf.layout();
+    assertSame(firstCell, vf.getCell(vf.getFirstVisibleIndex()));
+    assertEquals(minY, firstCell.getNode().getBoundsInParent().getMinY(), 0.01);
+  }
+
+  @Test
+  void incrementalLayoutOfVisibleEditsMatchesFullLayout() {
+    var heights = heights(100, 100);
+    // a modified visible item, and the modified first visible item
+    assertIncrementalMatchesFull(heights,
+      vf -> vf.showAtOffset(50, -30),
+      vf -> vf.items.set(vf.getFirstVisibleIndex() + 2, 170),
+      vf -> vf.items.set(vf.getFirstVisibleIndex(), 40),
+      vf -> vf.items.add(vf.getFirstVisibleIndex() + 1, 60),
+      vf -> vf.items.remove(vf.getLastVisibleIndex()));
+  }
+
+  @Test
+  void incrementalLayoutFallbacksMatchFullLayout() {
+    var heights = heights(100, 100);
+    // scrolled, then edited before the next layout
+    assertIncrementalMatchesFull(heights,
+      vf -> vf.showAsFirst(50),
+      vf -> {
+        vf.scrollYBy(30);
+        vf.items.set(vf.getFirstVisibleIndex() + 1, 170);
+      });
+    // resized, then edited before the next layout
+    assertIncrementalMatchesFull(heights,
+      vf -> vf.showAsFirst(50),
+      vf -> {
+        vf.resize(100, 300);
+        vf.items.set(vf.getFirstVisibleIndex() + 1, 170);
+      });
+    // at the end of the list, shrinking the last items would leave a gap: the cells shift towards the ground
+    assertIncrementalMatchesFull(heights,
+      vf -> vf.showAsLast(99),
+      vf -> vf.items.set(99, 20),
+      vf -> vf.items.remove(97, 100));
+    // few items that do not fill the viewport
+    assertIncrementalMatchesFull(heights(3, 100),
+      vf -> vf.items.set(1, 20),
+      vf -> vf.items.add(0, 50));
+  }
+
 }
@@ -0,0 +1,63 @@
+package fx.react;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * A minimal harness for the {@code @Disabled} efficiency tests of the reactive operators. It runs an operation
+ * repeatedly on the calling thread, without a JavaFX toolkit, and reports the time and the bytes allocated per
+ * operation, so that regressions in the notification path show up as changed numbers.
+ *
+ * <p>Each measurement is preceded by warm-up runs of the same operation, so that it is compiled. The time is
+ * the best of the measured runs; the allocation is their average.</p>
+ */
+public final class Benchmark {
+
+  /**
+   * An operation that is run {@code ops} times; returns anything, to keep its work from being eliminated.
+   */
+  @FunctionalInterface
+  public interface Operation {
+    long run(int ops);
+  }
+
+  public record Result(String name, double nanosPerOp, double bytesPerOp) {
+    @Override
+    public String toString() {
+      return String.format("%-40s %10.1f ns/op %10.1f B/op", name, nanosPerOp, bytesPerOp);
+    }
+  }
+
+  static final int WARMUP_RUNS = 5;
+  static final int MEASURED_RUNS = 5;
+
+  static volatile long sink;
+
+  static long allocatedBytes() {
+    var bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+
+  /**
+   * Measures the given operation, prints the result and returns it.
+   */
+  public static Result run(String name, int ops, Operation op) {
+    for (var i = 0; i < WARMUP_RUNS; ++i) {
+      sink += op.run(ops);
+    }
+    var bestNanos = Long.MAX_VALUE;
+    var bytes = 0L;
+    for (var i = 0; i < MEASURED_RUNS; ++i) {
+      var allocated = allocatedBytes();
+      var start = System.nanoTime();
+      sink += op.run(ops);
+      bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+      bytes += allocatedBytes() - allocated;
+    }
+    var res = new Result(name, (double) bestNanos / ops, (double) bytes / MEASURED_RUNS / ops);
+    System.out.println(res);
+    return res;
+  }
+
+  private Benchmark() {}
+
+}
@@ -0,0 +1,139 @@
+package fx.react;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class ConcurrentEventSourceTest {
+
+  static final int THREADS = 4;
+  static final int EVENTS = 20_000;
+
+  /**
+   * Pushes {@code thread * EVENTS + i} from each thread and checks that every thread's events arrive in order.
+   */
+  static List<Integer> pushConcurrently(ConcurrentEventSource<Integer> source, ExecutorService consumer) throws Exception {
+    var received = new ArrayList<Integer>();
+    var subscribed = new CountDownLatch(1);
+    consumer.execute(() -> {
+      source.subscribe(received::add);
+      subscribed.countDown();
+    });
+    subscribed.await();
+    var producers = new ArrayList<Thread>();
+    for (var t = 0; t < THREADS; ++t) {
+      var base = t * EVENTS;
+      producers.add(new Thread(() -> {
+        for (var i = 0; i < EVENTS; ++i) {
+          source.push(base + i);
+        }
+      }));
+    }
+    producers.forEach(Thread::start);
+    for (var p : producers) {
+      p.join();
+    }
+    // wait for the consumer to drain everything
+    var done = new CountDownLatch(1);
+    consumer.execute(done::countDown);
+    done.await();
+    var drained = new CountDownLatch(1);
+    consumer.execute(drained::countDown);
+    drained.await();
+    consumer.shutdown();
+    assertTrue(consumer.awaitTermination(10, TimeUnit.SECONDS));
+
+    var last = new int[THREADS];
+    Arrays.fill(last, -1);
+    for (var e : received) {
+      var t = e / EVENTS;
+      assertTrue(e % EVENTS > last[t], "events of a thread out of order");
+      last[t] = e % EVENTS;
+    }
+    return received;
+  }
+
+  @Test
+  void testBlockingDeliversAllEventsInOrder() throws Exception {
+    var consumer = Executors.newSingleThreadExecutor();
+    var source = ConcurrentEventSource.<Integer>blocking(64, consumer);
+    var received = pushConcurrently(source, consumer);
+    assertEquals(THREADS * EVENTS, received.size());
+  }
+
+  @Test
+  void testDropOldestKeepsOrder() throws Exception {
+    var consumer = Executors.newSingleThreadExecutor();
+    var source = ConcurrentEventSource.<Integer>droppingOldest(64, consumer);
+    var received = pushConcurrently(source, consumer);
+    assertEquals(THREADS * EVENTS, received.size() + source.getDroppedCount());
+  }
+
+  @Test
+  void testCoalescingLosesNothing() throws Exception {
+    var consumer = Executors.newSingleThreadExecutor();
+    var source = ConcurrentEventSource.<Integer>coalescing(64, consumer, Integer::sum);
+    var received = new ArrayList<Integer>();
+    var subscribed = new CountDownLatch(1);
+    consumer.execute(() -> {
+      source.subscribe(received::add);
+      subscribed.countDown();
+    });
+    subscribed.await();
+    var producers = new ArrayList<Thread>();
+    for (var t = 0; t < THREADS; ++t) {
+      producers.add(new Thread(() -> {
+        for (var i = 0; i < EVENTS; ++i) {
+          source.push(1);
+        }
+      }));
+    }
+    producers.forEach(Thread::start);
+    for (var p : producers) {
+      p.join();
+    }
+    var done = new CountDownLatch(1);
+    consumer.execute(done::countDown);
+    done.await();
+    consumer.shutdown();
+    assertTrue(consumer.awaitTermination(10, TimeUnit.SECONDS));
+    assertEquals(THREADS * EVENTS, received.stream().mapToInt(i -> i).sum());
+    assertEquals(THREADS * EVENTS, received.size() + source.getCoalescedCount());
+  }
+
+  @Test
+  void testOverflowPolicies() {
+    var tasks = new ArrayDeque<Runnable>();
+    var dropping = ConcurrentEventSource.<Integer>droppingOldest(4, tasks::add);
+    var coalescing = ConcurrentEventSource.<Integer>coalescing(4, tasks::add, Integer::sum);
+    var dropped = new ArrayList<Integer>();
+    var reduced = new ArrayList<Integer>();
+    dropping.subscribe(dropped::add);
+    coalescing.subscribe(reduced::add);
+    for (var i = 1; i <= 7; ++i) {
+      dropping.push(i);
+      coalescing.push(i);
+    }
+    assertEquals(2, tasks.size()); // one drain per source
+    while (!tasks.isEmpty()) {
+      tasks.poll().run();
+    }
+    assertEquals(List.of(4, 5, 6, 7), dropped);
+    assertEquals(3, dropping.getDroppedCount());
+    assertEquals(List.of(1, 2, 3, 4, 5 + 6 + 7), reduced);
+
+    coalescing.push(8);
+    tasks.poll().run();
+    assertEquals(8, reduced.get(reduced.size() - 1));
+  }
+
+}
@@ -0,0 +1,128 @@
+package fx.react;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import fx.util.Try;
+
+class LatestAsyncStreamTest {
+
+  ExecutorService client;
+  ExecutorService workers;
+
+  @BeforeEach
+  void setUp() {
+    client = Executors.newSingleThreadExecutor();
+    workers = Executors.newCachedThreadPool();
+  }
+
+  @AfterEach
+  void tearDown() {
+    client.shutdown();
+    workers.shutdownNow();
+  }
+
+  @Test
+  void testSupersededComputationIsInterrupted() throws Exception {
+    var started = new CountDownLatch(1);
+    var interrupted = new CountDownLatch(1);
+    var result = new CompletableFuture<List<Integer>>();
+    var src = new EventSource<Integer>();
+    var stream = src.mapLatestAsync(i -> {
+      if (i == 1) {
+        started.countDown();
+        try {
+          Thread.sleep(10_000);
+        } catch (InterruptedException e) {
+          interrupted.countDown();
+        }
+      }
+      return i * 10;
+    }, workers, 2, client);
+    client.execute(() -> {
+      var emitted = new ArrayList<Integer>();
+      stream.map(Try::get).subscribe(i -> {
+        emitted.add(i);
+        result.complete(emitted);
+      });
+      src.push(1);
+    });
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    client.execute(() -> src.push(2));
+    assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    assertEquals(List.of(20), result.get(5, TimeUnit.SECONDS));
+    var pending = new CompletableFuture<Boolean>();
+    client.execute(() -> pending.complete(stream.isPending()));
+    assertFalse(pending.get(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void testConcurrencyIsBounded() throws Exception {
+    var started = new CountDownLatch(1);
+    var release = new CountDownLatch(1);
+    var computed = Collections.synchronizedList(new ArrayList<Integer>());
+    var result = new CompletableFuture<Integer>();
+    var src = new EventSource<Integer>();
+    var stream = src.mapLatestAsync(i -> {
+      computed.add(i);
+      if (i == 1) {
+        started.countDown();
+        // ignores the interruption, like a computation that does not check for it
+        while (true) {
+          try {
+            release.await();
+            break;
+          } catch (InterruptedException e) {
+            // keep waiting
+          }
+        }
+      }
+      return i;
+    }, workers, 1, client);
+    client.execute(() -> {
+      stream.subscribe(t -> result.complete(t.get()));
+      src.push(1);
+    });
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    var pushed = new CountDownLatch(1);
+    client.execute(() -> {
+      src.push(2); // waits for 1 to return
+      src.push(3); // replaces 2
+      pushed.countDown();
+    });
+    assertTrue(pushed.await(5, TimeUnit.SECONDS));
+    assertEquals(List.of(1), computed);
+    release.countDown();
+    assertEquals(3, result.get(5, TimeUnit.SECONDS));
+    assertEquals(List.of(1, 3), computed);
+  }
+
+  @Test
+  void testFailure() throws Exception {
+    var result = new CompletableFuture<Try<Integer>>();
+    var src = new EventSource<Integer>();
+    var stream = src.<Integer>mapLatestAsync(i -> {
+      throw new IllegalStateException("boom");
+    }, workers, 1, client);
+    client.execute(() -> {
+      stream.subscribe(result::complete);
+      src.push(1);
+    });
+    var t = result.get(5, TimeUnit.SECONDS);
+    assertTrue(t.isFailure());
+    assertInstanceOf(IllegalStateException.class, t.getFailure());
+  }
+
+}
@@ -0,0 +1,54 @@
+package fx.react;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares the default observer registry of {@link ObservableBase} with the indexed one: observers are
+ * subscribed and unsubscribed in random order, as paragraph cells are when they are recycled, and an event
+ * is pushed after every round.
+ */
+@Disabled
+class ObserverRegistryEfficiencyTest {
+
+  static final int OBSERVERS = 500;
+  static final int ROUNDS = 2_000;
+
+  static long run(Supplier<EventSource<Integer>> factory) {
+    var random = new Random(42);
+    var source = factory.get();
+    var counter = new int[1];
+    var subscriptions = new ArrayList<Subscription>();
+    for (var i = 0; i < OBSERVERS; ++i) {
+      subscriptions.add(source.subscribe(x -> counter[0] += x));
+    }
+    var start = System.nanoTime();
+    for (var round = 0; round < ROUNDS; ++round) {
+      Collections.shuffle(subscriptions, random);
+      var recycled = subscriptions.subList(0, OBSERVERS / 10);
+      recycled.forEach(Subscription::unsubscribe);
+      for (var i = 0; i < recycled.size(); ++i) {
+        recycled.set(i, source.subscribe(x -> counter[0] += x));
+      }
+      source.push(1);
+    }
+    return System.nanoTime() - start;
+  }
+
+  @Test
+  void compareRegistries() {
+    for (var warmup = 0; warmup < 3; ++warmup) {
+      run(EventSource::new);
+      run(() -> ObservableBase.withIndexedObservers(new EventSource<>()));
+    }
+    var vector = run(EventSource::new);
+    var indexed = run(() -> ObservableBase.withIndexedObservers(new EventSource<>()));
+    System.out.printf("Vectors: %d ms, indexed: %d ms%n", vector / 1_000_000, indexed / 1_000_000);
+  }
+
+}
@@ -0,0 +1,113 @@
+package fx.react;
+
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Measures the time and allocation per event of the core {@link EventStream} operators.
+ */
+@Disabled
+class OperatorEfficiencyTest {
+
+  static final int EVENTS = 1_000_000;
+
+  @Test
+  void push() {
+    Benchmark.run("push", EVENTS, ops -> {
+      var source = new EventSource<Integer>();
+      var sum = new long[1];
+      source.subscribe(i -> sum[0] += i);
+      for (var i = 0; i < ops; ++i) {
+        source.push(i & 127);
+      }
+      return sum[0];
+    });
+  }
+
+  @Test
+  void mapFilter() {
+    Benchmark.run("map.filter", EVENTS, ops -> {
+      var source = new EventSource<Integer>();
+      var sum = new long[1];
+      source.map(i -> i * 3).filter(i -> i % 2 == 0).subscribe(i -> sum[0] += i);
+      for (var i = 0; i < ops; ++i) {
+        source.push(i & 127);
+      }
+      return sum[0];
+    });
+  }
+
+  @Test
+  void flatMap() {
+    Benchmark.run("flatMap", EVENTS, ops -> {
+      var source = new EventSource<Integer>();
+      var inner = new EventSource<Integer>();
+      var sum = new long[1];
+      source.flatMap(i -> inner).subscribe(i -> sum[0] += i);
+      for (var i = 0; i < ops; ++i) {
+        if ((i & 15) == 0) {
+          source.push(i); // resubscribes to the inner stream
+        }
+        inner.push(i & 127);
+      }
+      return sum[0];
+    });
+  }
+
+  @Test
+  void accumulateBetween() {
+    Benchmark.run("accumulateBetween", EVENTS, ops -> {
+      var source = new EventSource<Integer>();
+      var ticks = new EventSource<Void>();
+      var sum = new long[1];
+      source.accumulateBetween(ticks, () -> new ArrayList<Integer>(), (l, i) -> { l.add(i); return l; }, l -> l)
+        .subscribe(i -> sum[0] += i);
+      for (var i = 0; i < ops; ++i) {
+        source.push(i & 127);
+        if ((i & 63) == 63) {
+          ticks.push(null);
+        }
+      }
+      return sum[0];
+    });
+  }
+
+  @Test
+  void pausable() {
+    Benchmark.run("pausable", EVENTS, ops -> {
+      var source = new EventSource<Integer>();
+      var pausable = source.pausable();
+      var sum = new long[1];
+      pausable.subscribe(i -> sum[0] += i);
+      for (var i = 0; i < ops; i += 64) {
+        pausable.suspendWhile(() -> {
+          for (var j = 0; j < 64; ++j) {
+            source.push(j);
+          }
+        });
+      }
+      return sum[0];
+    });
+  }
+
+  @Test
+  void reducible() {
+    Benchmark.run("reducible", EVENTS, ops -> {
+      var source = new EventSource<Integer>();
+      var reducible = source.reducible(Integer::sum);
+      var sum = new long[1];
+      reducible.subscribe(i -> sum[0] += i);
+      for (var i = 0; i < ops; i += 64) {
+        reducible.suspendWhile(() -> {
+          for (var j = 0; j < 64; ++j) {
+            source.push(j);
+          }
+        });
+      }
+      return sum[0];
+    });
+  }
+
+}
@@ -0,0 +1,41 @@
+package fx.react;
+
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares the time and allocation per event of a boxed {@link EventStream} chain and of the same
+ * {@link IntEventStream} chain.
+ */
+@Disabled
+class PrimitiveStreamEfficiencyTest {
+
+  static final int EVENTS = 1_000_000;
+
+  @Test
+  void boxed() {
+    Benchmark.run("EventStream<Integer> map.filter", EVENTS, ops -> {
+      var source = new EventSource<Integer>();
+      var sum = new long[1];
+      source.map(i -> i * 3).filter(i -> i % 2 == 0).subscribe(i -> sum[0] += i);
+      for (var i = 0; i < ops; ++i) {
+        source.push(1000 + i); // outside the Integer cache
+      }
+      return sum[0];
+    });
+  }
+
+  @Test
+  void primitive() {
+    Benchmark.run("IntEventStream map.filter", EVENTS, ops -> {
+      var source = new IntEventSource();
+      var sum = new long[1];
+      source.map(i -> i * 3).filter(i -> i % 2 == 0).subscribe(i -> sum[0] += i);
+      for (var i = 0; i < ops; ++i) {
+        source.push(1000 + i);
+      }
+      return sum[0];
+    });
+  }
+
+}
@@ -0,0 +1,104 @@
+package fx.react;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import fx.react.value.DoubleVal;
+import fx.react.value.IntVal;
+import fx.react.value.Var;
+
+class PrimitiveStreamTest {
+
+  @Test
+  void testOperators() {
+    var source = new IntEventSource();
+    var ints = new ArrayList<Integer>();
+    var doubles = new ArrayList<Double>();
+    var sub = Subscription.multi(
+      source.filter(i -> i % 2 == 1).map(i -> i * 10).accumulate(0, Integer::sum).subscribe(ints::add),
+      source.mapToDouble(i -> i / 2.0).map(d -> d + 1).subscribe(doubles::add)
+    );
+    for (var i = 1; i <= 4; ++i) {
+      source.push(i);
+    }
+    assertEquals(List.of(10, 40), ints);
+    assertEquals(List.of(1.5, 2.0, 2.5, 3.0), doubles);
+    sub.unsubscribe();
+    assertFalse(source.isObservingInputs());
+  }
+
+  @Test
+  void testRecursiveEmission() {
+    var source = new IntEventSource();
+    var seen = new ArrayList<String>();
+    source.subscribe(i -> {
+      seen.add("a" + i);
+      if (i == 1) {
+        source.push(2);
+      }
+    });
+    source.subscribe(i -> seen.add("b" + i));
+    source.push(1);
+    assertEquals(List.of("a1", "a2", "b2", "b1"), seen);
+  }
+
+  @Test
+  void testBoxed() {
+    var source = new IntEventSource();
+    var seen = new ArrayList<Integer>();
+    source.boxed().map(i -> i + 1).subscribe(seen::add);
+    source.push(1000);
+    assertEquals(List.of(1001), seen);
+  }
+
+  @Test
+  void testCombine() {
+    var a = new IntEventSource();
+    var b = new IntEventSource();
+    var ints = new ArrayList<Integer>();
+    var sub = IntEventStream.combine(a, b, (x, y) -> 10 * x + y).subscribe(ints::add);
+    a.push(1);
+    a.push(2); // b has not emitted yet
+    b.push(3);
+    a.push(4);
+    b.push(5);
+    assertEquals(List.of(23, 43, 45), ints);
+    sub.unsubscribe();
+    assertFalse(a.isObservingInputs());
+
+    var c = new DoubleEventSource();
+    var d = new DoubleEventSource();
+    var doubles = new ArrayList<Double>();
+    DoubleEventStream.combine(c, d, (x, y) -> x / y).subscribe(doubles::add);
+    d.push(2.0);
+    c.push(1.0);
+    d.push(4.0);
+    assertEquals(List.of(0.5, 0.25), doubles);
+  }
+
+  @Test
+  void testPrimitiveVals() {
+    var a = Var.newSimpleVar(2);
+    var b = Var.newSimpleVar(3.0);
+    var ia = IntVal.create(a::getValue, a);
+    var db = DoubleVal.create(b::getValue, b);
+    var product = DoubleVal.combine(ia.mapToDouble(i -> i), db, (x, y) -> x * y);
+    var changes = new ArrayList<Double>();
+    product.addListener((obs, oldVal, newVal) -> changes.add(newVal));
+    var values = new ArrayList<Integer>();
+    product.mapToInt(d -> (int) d).intValues().subscribe(values::add);
+
+    assertEquals(6.0, product.getAsDouble());
+    a.setValue(4);
+    b.setValue(0.5);
+    b.setValue(0.5);
+    assertEquals(2.0, product.getAsDouble());
+    assertEquals(List.of(12.0, 2.0), changes);
+    assertEquals(List.of(6, 12, 2), values);
+  }
+
+}
@@ -3,6 +3,7 @@ package fx.react;
 import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -12,6 +13,8 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
 
+import fx.react.util.NotificationAccumulator;
+
 class ThreadBridgeTest {
 
   @Test
@@ -77,4 +80,32 @@ class ThreadBridgeTest {
     exec2.shutdown();
   }
 
+  @Test
+  void testBatched() {
+    var tasks = new ArrayDeque<Runnable>();
+    var src = new EventSource<Integer>();
+    var all = new ArrayList<Integer>();
+    var latest = new ArrayList<Integer>();
+    var sums = new ArrayList<Integer>();
+    src.threadBridgeBatched(Runnable::run, tasks::add).subscribe(all::add);
+    src.threadBridgeBatched(Runnable::run, tasks::add, NotificationAccumulator.retainLatestStreamNotifications()).subscribe(latest::add);
+    src.threadBridgeBatched(Runnable::run, tasks::add, NotificationAccumulator.<Integer>reducingStreamNotifications((a, b) -> (a == null ? 0 : a) + (b == null ? 0 : b))).subscribe(sums::add);
+
+    src.push(1);
+    src.push(null);
+    src.push(3);
+    assertEquals(3, tasks.size()); // one drain task per bridge
+    while (!tasks.isEmpty()) {
+      tasks.poll().run();
+    }
+    src.push(4);
+    while (!tasks.isEmpty()) {
+      tasks.poll().run();
+    }
+
+    assertEquals(Arrays.asList(1, null, 3, 4), all);
+    assertEquals(Arrays.asList(3, 4), latest);
+    assertEquals(Arrays.asList(4, 4), sums);
+  }
+
 }
@@ -0,0 +1,66 @@
+package fx.react.collection;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+class IndexedListChangeAccumulatorTest {
+
+  static String describe(QuasiChange<?> change) {
+    var sb = new StringBuilder();
+    for (var mod : change) {
+      sb.append(mod.getFrom()).append(mod.getRemoved()).append(mod.getAddedSize()).append(';');
+    }
+    return sb.toString();
+  }
+
+  @Test
+  void testMatchesListChangeAccumulator() {
+    var rnd = new Random(11);
+    for (var round = 0; round < 300; ++round) {
+      var list = new ArrayList<Integer>();
+      for (var i = 0; i < 50; ++i) {
+        list.add(i);
+      }
+      var expected = new ListChangeAccumulator<Integer>();
+      var actual = new IndexedListChangeAccumulator<Integer>();
+      var next = 1000;
+      var count = 1 + rnd.nextInt(20);
+      for (var k = 0; k < count; ++k) {
+        var from = rnd.nextInt(list.size() + 1);
+        var to = from + rnd.nextInt(Math.min(4, list.size() - from + 1));
+        var removed = new ArrayList<>(list.subList(from, to));
+        var addedSize = rnd.nextInt(4);
+        list.subList(from, to).clear();
+        for (var i = 0; i < addedSize; ++i) {
+          list.add(from + i, next++);
+        }
+        var mod = QuasiModification.<Integer>create(from, removed, addedSize);
+        expected.add(mod);
+        actual.add(mod);
+      }
+      assertEquals(describe(expected.fetch()), describe(actual.fetch()));
+      assertTrue(actual.isEmpty());
+    }
+  }
+
+  @Test
+  void testScatteredModifications() {
+    var acc = new IndexedListChangeAccumulator<Integer>();
+    // insert one element at every other position, from the end towards the start
+    for (var i = 10_000; i >= 0; i -= 2) {
+      acc.add(QuasiModification.create(i, List.of(), 1));
+    }
+    assertEquals(5001, acc.getModificationCount());
+    var change = acc.fetch();
+    var prev = -1;
+    for (var mod : change) {
+      assertTrue(mod.getFrom() > prev);
+      prev = mod.getFrom();
+    }
+  }
+
+}
@@ -0,0 +1,74 @@
+package fx.react.collection;
+
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import fx.react.Benchmark;
+
+/**
+ * Measures the time and allocation per modification of observed {@link LiveList} chains.
+ */
+@Disabled
+class LiveListEfficiencyTest {
+
+  static final int SIZE = 1_000;
+  static final int MODIFICATIONS = 200_000;
+
+  static LiveArrayList<Integer> source() {
+    var source = new LiveArrayList<Integer>();
+    for (var i = 0; i < SIZE; ++i) {
+      source.add(i);
+    }
+    return source;
+  }
+
+  @Test
+  void map() {
+    Benchmark.run("LiveList.map", MODIFICATIONS, ops -> {
+      var source = source();
+      var sum = new long[1];
+      LiveList.map(source, i -> i * 2).observeModifications(mod -> sum[0] += mod.getAddedSize());
+      for (var i = 0; i < ops; ++i) {
+        source.set(i % SIZE, i);
+      }
+      return sum[0];
+    });
+  }
+
+  @Test
+  void mapMemoize() {
+    Benchmark.run("LiveList.map.memoize", MODIFICATIONS, ops -> {
+      var source = source();
+      var memoized = LiveList.map(source, i -> i * 2).memoize();
+      var sum = new long[1];
+      memoized.observeModifications(mod -> sum[0] += mod.getAddedSize());
+      memoized.force(0, SIZE);
+      for (var i = 0; i < ops; ++i) {
+        var index = i % SIZE;
+        source.set(index, i);
+        sum[0] += memoized.get(index);
+      }
+      return sum[0];
+    });
+  }
+
+  @Test
+  void suspendable() {
+    Benchmark.run("LiveList.suspendable", MODIFICATIONS, ops -> {
+      var source = source();
+      var suspendable = source.suspendable();
+      var sum = new long[1];
+      suspendable.observeModifications(mod -> sum[0] += mod.getAddedSize());
+      for (var i = 0; i < ops; i += 64) {
+        var base = i;
+        suspendable.suspendWhile(() -> {
+          for (var j = 0; j < 64; ++j) {
+            source.set((base + j * 7) % SIZE, j);
+          }
+        });
+      }
+      return sum[0];
+    });
+  }
+
+}
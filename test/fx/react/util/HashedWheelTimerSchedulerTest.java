@@ -0,0 +1,96 @@
+package fx.react.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import fx.react.EventSource;
+
+class HashedWheelTimerSchedulerTest {
+
+  @Test
+  void timersFireOnTheFirstTickAfterTheirDelay() {
+    var driver = new VirtualTimeScheduler();
+    var wheel = new HashedWheelTimerScheduler(Duration.ofMillis(10), 8, driver);
+    var log = new ArrayList<String>();
+    var timers = new ArrayList<Timer>();
+    for (var i = 0; i < 1000; ++i) {
+      var id = i;
+      timers.add(wheel.create(Duration.ofMillis(i % 200), () -> log.add(id + "@" + driver.now().toMillis())));
+    }
+    timers.forEach(Timer::restart);
+    assertEquals(1000, wheel.getScheduledCount());
+    assertEquals(1, driver.getPendingCount());
+
+    for (var i = 0; i < 1000; i += 2) {
+      timers.get(i).stop();
+    }
+    driver.advanceBy(Duration.ofMillis(1000));
+    assertEquals(500, log.size());
+    // also beyond a full turn of the wheel
+    assertTrue(log.contains("1@10"));
+    assertTrue(log.contains("11@20"));
+    assertTrue(log.contains("199@200"));
+    assertEquals(0, wheel.getScheduledCount());
+    assertEquals(0, driver.getPendingCount()); // the driver stops when there is nothing to do
+  }
+
+  @Test
+  void periodic() {
+    var driver = new VirtualTimeScheduler();
+    var wheel = new HashedWheelTimerScheduler(Duration.ofMillis(10), 4, driver);
+    var count = new int[1];
+    var timer = wheel.createPeriodic(Duration.ofMillis(25), () -> ++count[0]);
+    timer.restart();
+    driver.advanceBy(Duration.ofMillis(300));
+    assertEquals(10, count[0]); // every 3 ticks
+    timer.stop();
+    driver.advanceBy(Duration.ofMillis(300));
+    assertEquals(10, count[0]);
+  }
+
+  @Test
+  void restartMovesTheDeadline() {
+    var driver = new VirtualTimeScheduler();
+    var wheel = new HashedWheelTimerScheduler(Duration.ofMillis(10), 8, driver);
+    var log = new ArrayList<Long>();
+    var timer = wheel.create(Duration.ofMillis(30), () -> log.add(driver.now().toMillis()));
+    timer.restart();
+    for (var i = 0; i < 25; ++i) {
+      driver.advanceBy(Duration.ofMillis(10));
+      timer.restart();
+    }
+    assertEquals(List.of(), log);
+    driver.advanceBy(Duration.ofMillis(100));
+    assertEquals(List.of(280L), log);
+  }
+
+  @Test
+  void manyDebouncedStreams() {
+    var driver = new VirtualTimeScheduler();
+    var wheel = new HashedWheelTimerScheduler(Duration.ofMillis(16), 64, driver);
+    var sources = new ArrayList<EventSource<Integer>>();
+    var emitted = new ArrayList<Integer>();
+    for (var i = 0; i < 300; ++i) {
+      var source = new EventSource<Integer>();
+      source.successionEnds(Duration.ofMillis(100), wheel).subscribe(emitted::add);
+      sources.add(source);
+    }
+    for (var round = 0; round < 10; ++round) {
+      for (var i = 0; i < sources.size(); ++i) {
+        sources.get(i).push(round * 1000 + i);
+      }
+      driver.advanceBy(Duration.ofMillis(16));
+    }
+    assertEquals(List.of(), emitted);
+    driver.advanceBy(Duration.ofMillis(200));
+    assertEquals(300, emitted.size());
+    for (var i = 0; i < 300; ++i) {
+      assertEquals(9000 + i, emitted.get(i));
+    }
+  }
+
+}
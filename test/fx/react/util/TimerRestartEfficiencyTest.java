@@ -0,0 +1,62 @@
+package fx.react.util;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+
+import javafx.application.Platform;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import fx.react.EventSource;
+
+/**
+ * Compares the time taken by pushing events to many debounced streams, whose timers are restarted on each
+ * event, with {@link FxTimer}s and with the shared {@link HashedWheelTimerScheduler#fx()}.
+ */
+@Disabled
+class TimerRestartEfficiencyTest {
+
+  static final int STREAMS = 500;
+  static final int ROUNDS = 2_000;
+
+  @BeforeAll
+  static void startUp() {
+    fx.jupiter.FxEnv.startup(); // initializes JavaFX toolkit
+  }
+
+  static long nanosPerEvent(TimerScheduler scheduler) {
+    var sources = new ArrayList<EventSource<Integer>>();
+    for (var i = 0; i < STREAMS; ++i) {
+      var source = new EventSource<Integer>();
+      source.successionEnds(Duration.ofSeconds(10), scheduler).subscribe(x -> {});
+      sources.add(source);
+    }
+    var start = System.nanoTime();
+    for (var round = 0; round < ROUNDS; ++round) {
+      for (var source : sources) {
+        source.push(round);
+      }
+    }
+    var res = (System.nanoTime() - start) / ((long) STREAMS * ROUNDS);
+    sources.clear(); // the pending timers are stopped by unsubscribing; here they just expire later
+    return res;
+  }
+
+  @Test
+  void compareRestarts() throws Exception {
+    var result = new CompletableFuture<String>();
+    Platform.runLater(() -> {
+      for (var warmup = 0; warmup < 3; ++warmup) {
+        nanosPerEvent(TimerScheduler.fx());
+        nanosPerEvent(HashedWheelTimerScheduler.fx());
+      }
+      result.complete(String.format("FxTimer: %d ns/event, hashed wheel: %d ns/event",
+        nanosPerEvent(TimerScheduler.fx()), nanosPerEvent(HashedWheelTimerScheduler.fx())));
+    });
+    System.out.println(result.get());
+  }
+
+}
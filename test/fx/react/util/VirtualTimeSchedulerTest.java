@@ -0,0 +1,71 @@
+package fx.react.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import fx.react.EventSource;
+import fx.react.EventStreams;
+
+class VirtualTimeSchedulerTest {
+
+  @Test
+  void timersRunInDeadlineOrder() {
+    var scheduler = new VirtualTimeScheduler();
+    var log = new ArrayList<String>();
+    var a = scheduler.create(Duration.ofMillis(30), () -> log.add("a@" + scheduler.now().toMillis()));
+    var b = scheduler.create(Duration.ofMillis(10), () -> log.add("b@" + scheduler.now().toMillis()));
+    var c = scheduler.create(Duration.ofMillis(20), () -> log.add("c@" + scheduler.now().toMillis()));
+    a.restart();
+    b.restart();
+    c.restart();
+    c.stop();
+    assertEquals(2, scheduler.getPendingCount());
+
+    assertEquals(1, scheduler.advanceBy(Duration.ofMillis(25)));
+    b.restart(); // due at 35
+    assertEquals(2, scheduler.advanceBy(Duration.ofMillis(25)));
+    assertEquals(List.of("b@10", "a@30", "b@35"), log);
+    assertEquals(Duration.ofMillis(50), scheduler.now());
+    assertEquals(0, scheduler.getPendingCount());
+  }
+
+  @Test
+  void successionEnds() {
+    var scheduler = new VirtualTimeScheduler();
+    var source = new EventSource<Integer>();
+    var emitted = new ArrayList<Integer>();
+    var ends = source.successionEnds(Duration.ofMillis(100), scheduler);
+    ends.subscribe(emitted::add);
+
+    source.push(1);
+    scheduler.advanceBy(Duration.ofMillis(50));
+    source.push(2);
+    scheduler.advanceBy(Duration.ofMillis(99));
+    assertTrue(ends.isPending());
+    assertEquals(List.of(), emitted);
+    scheduler.advanceBy(Duration.ofMillis(1));
+    assertEquals(List.of(2), emitted);
+
+    source.push(3);
+    scheduler.advanceBy(Duration.ofSeconds(1));
+    assertEquals(List.of(2, 3), emitted);
+  }
+
+  @Test
+  void ticks() {
+    var scheduler = new VirtualTimeScheduler();
+    var count = new int[1];
+    var sub = EventStreams.ticks(Duration.ofMillis(10), scheduler).subscribe(x -> ++count[0]);
+    scheduler.advanceBy(Duration.ofMillis(95));
+    assertEquals(9, count[0]);
+    sub.unsubscribe();
+    scheduler.advanceBy(Duration.ofMillis(100));
+    assertEquals(9, count[0]);
+    assertEquals(0, scheduler.getPendingCount());
+  }
+
+}
@@ -0,0 +1,113 @@
+package fx.react.value;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class TopologicalPropagationTest {
+
+  @Test
+  void testDiamondIsRecomputedOncePerPulse() {
+    var a = Var.newSimpleVar(1);
+    var b = a.map(x -> x + 1);
+    var c = a.map(x -> x * 10);
+    var computations = new int[1];
+    var d = Val.combine(b, c, (x, y) -> {
+      ++computations[0];
+      return x + y;
+    });
+    var seen = new ArrayList<Integer>();
+    d.addListener((obs, oldVal, newVal) -> seen.add(newVal));
+    var propagation = new TopologicalPropagation();
+
+    propagation.suspendWhile(() -> a.setValue(2)); // learns the heights
+    seen.clear();
+    computations[0] = 0;
+
+    propagation.suspendWhile(() -> a.setValue(3));
+    assertEquals(1, computations[0]);
+    assertEquals(List.of(34), seen); // no glitch, e.g. 4 + 20
+    assertEquals(2, propagation.getPulseCount());
+    assertTrue(propagation.getAvoidedRecomputationCount() > 0);
+  }
+
+  @Test
+  void testImmediatePropagationOutsideTransactions() {
+    var a = Var.newSimpleVar(1);
+    var b = a.map(x -> x + 1);
+    var c = a.map(x -> x * 10);
+    var d = Val.combine(b, c, Integer::sum);
+    var seen = new ArrayList<Integer>();
+    d.addListener((obs, oldVal, newVal) -> seen.add(newVal));
+
+    a.setValue(2);
+    assertEquals(23, d.getValue());
+    assertEquals(23, seen.get(seen.size() - 1));
+  }
+
+  @Test
+  void testInvalidationsAreCollectedInTransaction() {
+    var a = Var.newSimpleVar(1);
+    var b = Var.newSimpleVar(1);
+    var sum = Val.combine(a, b, Integer::sum);
+    var seen = new ArrayList<Integer>();
+    sum.addListener((obs, oldVal, newVal) -> seen.add(newVal));
+    var propagation = new TopologicalPropagation();
+
+    var outer = propagation.suspend();
+    try {
+      a.setValue(2);
+      var inner = propagation.suspend();
+      try {
+        b.setValue(3);
+      } finally {
+        inner.close();
+      }
+      assertTrue(seen.isEmpty());
+    } finally {
+      outer.close();
+    }
+    assertEquals(List.of(5), seen);
+    assertNull(TopologicalPropagation.current());
+  }
+
+  @Test
+  void testPrimitiveValsTakePartInPropagation() {
+    var a = Var.newSimpleVar(1);
+    var b = IntVal.create(() -> a.getValue() + 1, a);
+    var c = IntVal.create(() -> a.getValue() * 10, a);
+    var computations = new int[1];
+    var d = DoubleVal.combine(b.mapToDouble(x -> x), c.mapToDouble(x -> x), (x, y) -> {
+      ++computations[0];
+      return x + y;
+    });
+    var seen = new ArrayList<Double>();
+    d.addListener((obs, oldVal, newVal) -> seen.add(newVal));
+    var propagation = new TopologicalPropagation();
+
+    propagation.suspendWhile(() -> a.setValue(2)); // learns the heights
+    seen.clear();
+    computations[0] = 0;
+
+    propagation.suspendWhile(() -> a.setValue(3));
+    assertEquals(1, computations[0]);
+    assertEquals(List.of(34.0), seen); // no glitch, e.g. 4 + 20
+    assertTrue(propagation.getAvoidedRecomputationCount() > 0);
+  }
+
+  @Test
+  void testOnlyOnePropagationPerThread() {
+    var p = new TopologicalPropagation();
+    var q = new TopologicalPropagation();
+    var guard = p.suspend();
+    try {
+      assertThrows(IllegalStateException.class, q::suspend);
+    } finally {
+      guard.close();
+    }
+  }
+
+}
@@ -0,0 +1,69 @@
+package fx.react.value;
+
+import javafx.beans.property.SimpleIntegerProperty;
+
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import fx.react.Benchmark;
+
+/**
+ * Measures the time and allocation per change of observed {@link Val} chains.
+ */
+@Disabled
+class ValEfficiencyTest {
+
+  static final int CHANGES = 1_000_000;
+
+  @Test
+  void map() {
+    Benchmark.run("Val.map", CHANGES, ops -> {
+      var src = new SimpleIntegerProperty();
+      var mapped = Val.map(src, i -> i.intValue() * 2);
+      var sum = new long[1];
+      mapped.observeChanges((obs, old, val) -> sum[0] += val);
+      for (var i = 0; i < ops; ++i) {
+        src.set(i);
+      }
+      return sum[0];
+    });
+  }
+
+  @Test
+  void combine() {
+    Benchmark.run("Val.combine", CHANGES, ops -> {
+      var a = new SimpleIntegerProperty();
+      var b = new SimpleIntegerProperty();
+      var combined = Val.combine(a, b, (x, y) -> x.intValue() + y.intValue());
+      var sum = new long[1];
+      combined.observeChanges((obs, old, val) -> sum[0] += val);
+      for (var i = 0; i < ops; ++i) {
+        if ((i & 1) == 0) {
+          a.set(i);
+        } else {
+          b.set(i);
+        }
+      }
+      return sum[0];
+    });
+  }
+
+  @Test
+  void diamondInTransaction() {
+    Benchmark.run("Val.combine diamond, topological", CHANGES, ops -> {
+      var a = Var.newSimpleVar(0);
+      var b = a.map(x -> x + 1);
+      var c = a.map(x -> x * 2);
+      var d = Val.combine(b, c, Integer::sum);
+      var sum = new long[1];
+      d.observeChanges((obs, old, val) -> sum[0] += val);
+      var propagation = new TopologicalPropagation();
+      for (var i = 0; i < ops; ++i) {
+        var v = i;
+        propagation.suspendWhile(() -> a.setValue(v));
+      }
+      return sum[0];
+    });
+  }
+
+}
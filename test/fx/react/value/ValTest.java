@@ -28,4 +28,25 @@ class ValTest {
     assertArrayEquals(Arrays.asList(1, 2, 3).toArray(), changes.stream().map(change -> change.getNewValue()).toArray());
   }
 
+  @Test
+  void suspendableIntValTest() {
+    var src = Var.newSimpleVar(0);
+    var val = IntVal.create(src::getValue, src).suspendable();
+    assertSame(val, val.suspendable());
+
+    var changes = new ArrayList<Change<Integer>>();
+    val.changes().subscribe(changes::add);
+
+    val.suspendWhile(() -> {
+      src.setValue(1);
+      src.setValue(2);
+      assertEquals(2, val.getAsInt());
+    });
+    src.setValue(1000);
+
+    assertArrayEquals(Arrays.asList(0, 2).toArray(), changes.stream().map(change -> change.getOldValue()).toArray());
+    assertArrayEquals(Arrays.asList(2, 1000).toArray(), changes.stream().map(change -> change.getNewValue()).toArray());
+    assertSame(val.getValue(), val.getValue()); // boxed once per change
+  }
+
 }
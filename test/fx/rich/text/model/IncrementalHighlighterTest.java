@@ -0,0 +1,168 @@
+package fx.rich.text.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+class IncrementalHighlighterTest {
+
+  /**
+   * Styles text inside "/* ... *&#47;" as "comment" and everything else as "code"; the state is whether a
+   * paragraph ends inside a comment.
+   */
+  static class CommentLexer implements IncrementalHighlighter.Lexer<String, Boolean> {
+    final List<String> tokenized = new ArrayList<>();
+
+    @Override
+    public Boolean initialState() {
+      return false;
+    }
+
+    @Override
+    public IncrementalHighlighter.Tokens<String, Boolean> tokenize(String text, Boolean inComment) {
+      tokenized.add(text);
+      var builder = new StyleSpansBuilder<String>();
+      var i = 0;
+      var comment = inComment.booleanValue();
+      while (i < text.length()) {
+        var j = text.indexOf(comment ? "*/" : "/*", i);
+        var end = (j < 0) ? text.length() : j + 2;
+        builder.add(comment ? "comment" : "code", end - i);
+        comment = (j >= 0) ? !comment : comment;
+        i = end;
+      }
+      if (text.isEmpty()) {
+        builder.add(comment ? "comment" : "code", 0);
+      }
+      return new IncrementalHighlighter.Tokens<>(builder.create(), comment);
+    }
+  }
+
+  static String styleAt(EditableStyledDocument<String, String, String> doc, int paragraph, int column) {
+    return doc.getParagraph(paragraph).getStyleAtPosition(column + 1);
+  }
+
+  @Test
+  void testRetokenizesOnlyDamagedParagraphs() {
+    var doc = new SimpleEditableStyledDocument<String, String>("", "");
+    doc.replace(0, 0, ReadOnlyStyledDocument.fromString("a\nb\nc\nd\ne", "", "", SegmentOps.styledTextOps()));
+    var lexer = new CommentLexer();
+    var changes = new ArrayList<List<RichTextChange<String, String, String>>>();
+    doc.multiRichChanges().subscribe(changes::add);
+    new IncrementalHighlighter<>(doc, lexer, Runnable::run, Runnable::run);
+    assertEquals(List.of("a", "b", "c", "d", "e"), lexer.tokenized);
+    assertEquals("code", styleAt(doc, 4, 0));
+    assertEquals(1, changes.size()); // all paragraphs restyled in one update
+
+    // an edit that does not change the state at the end of the paragraph
+    lexer.tokenized.clear();
+    doc.replace(5, 5, ReadOnlyStyledDocument.fromString("x", "", "", SegmentOps.styledTextOps()));
+    assertEquals(List.of("cx", "d"), lexer.tokenized);
+
+    // opening a comment re-tokenizes up to the end
+    lexer.tokenized.clear();
+    doc.replace(3, 3, ReadOnlyStyledDocument.fromString("/*", "", "", SegmentOps.styledTextOps()));
+    assertEquals(List.of("b/*", "cx", "d", "e"), lexer.tokenized);
+    assertEquals("comment", styleAt(doc, 3, 0));
+    assertEquals("comment", styleAt(doc, 4, 0));
+
+    // closing it again stops after the paragraphs whose state changed
+    lexer.tokenized.clear();
+    doc.replace(8, 8, ReadOnlyStyledDocument.fromString("*/", "", "", SegmentOps.styledTextOps()));
+    assertEquals(List.of("cx*/", "d", "e"), lexer.tokenized);
+    assertEquals("code", styleAt(doc, 3, 0));
+  }
+
+  @Test
+  void testLexerFailureIsReportedAndRetriedAfterNextEdit() {
+    var doc = new SimpleEditableStyledDocument<String, String>("", "");
+    doc.replace(0, 0, ReadOnlyStyledDocument.fromString("/*a\nb!\nc*/\nd", "", "", SegmentOps.styledTextOps()));
+    var lexer = new CommentLexer() {
+      @Override
+      public IncrementalHighlighter.Tokens<String, Boolean> tokenize(String text, Boolean inComment) {
+        if (text.contains("!")) {
+          throw new IllegalStateException("cannot tokenize " + text);
+        }
+        return super.tokenize(text, inComment);
+      }
+    };
+    var highlighter = new IncrementalHighlighter<>(doc, lexer, Runnable::run, Runnable::run);
+    var errors = new ArrayList<Throwable>();
+    highlighter.errors().subscribe(errors::add);
+    // the error of the initial tokenizing is emitted before subscribing; edit to see it again
+    lexer.tokenized.clear();
+    doc.replace(0, 0, ReadOnlyStyledDocument.fromString(" ", "", "", SegmentOps.styledTextOps()));
+    assertEquals(List.of(" /*a"), lexer.tokenized);
+    assertEquals(1, errors.size());
+    assertEquals("cannot tokenize b!", errors.get(0).getMessage());
+    assertEquals("comment", styleAt(doc, 0, 3)); // paragraphs before the failed one are styled
+    assertEquals("", styleAt(doc, 3, 0)); // the rest keep their styles
+
+    // not retried until the text changes
+    lexer.tokenized.clear();
+    doc.setStyle(3, "x");
+    assertTrue(lexer.tokenized.isEmpty());
+
+    // retried from the failed paragraph after the next edit
+    doc.replace(6, 7, ReadOnlyStyledDocument.fromString("", "", "", SegmentOps.styledTextOps()));
+    assertEquals(List.of("b", "c*/", "d"), lexer.tokenized);
+    assertEquals(1, errors.size());
+    assertEquals("code", styleAt(doc, 3, 0));
+  }
+
+  @Test
+  void testRejectedTaskIsReportedAndRetriedAfterNextEdit() {
+    var doc = new SimpleEditableStyledDocument<String, String>("", "");
+    doc.replace(0, 0, ReadOnlyStyledDocument.fromString("a\nb", "", "", SegmentOps.styledTextOps()));
+    var lexer = new CommentLexer();
+    var rejecting = new boolean[] { false };
+    Executor worker = task -> {
+      if (rejecting[0]) {
+        throw new RejectedExecutionException("shut down");
+      }
+      task.run();
+    };
+    var highlighter = new IncrementalHighlighter<>(doc, lexer, worker, Runnable::run);
+    var errors = new ArrayList<Throwable>();
+    highlighter.errors().subscribe(errors::add);
+
+    rejecting[0] = true;
+    lexer.tokenized.clear();
+    doc.replace(0, 0, ReadOnlyStyledDocument.fromString("/*", "", "", SegmentOps.styledTextOps()));
+    assertEquals(1, errors.size());
+    assertInstanceOf(RejectedExecutionException.class, errors.get(0));
+    assertFalse(highlighter.running);
+    assertTrue(lexer.tokenized.isEmpty());
+
+    rejecting[0] = false;
+    doc.replace(2, 2, ReadOnlyStyledDocument.fromString("x", "", "", SegmentOps.styledTextOps()));
+    assertEquals(List.of("/*xa", "b"), lexer.tokenized);
+    assertEquals("comment", styleAt(doc, 1, 0));
+  }
+
+  @Test
+  void testSetParagraphStyleSpansSkipsUnchangedParagraphs() {
+    var doc = new SimpleEditableStyledDocument<String, String>("", "x");
+    doc.replace(0, 0, ReadOnlyStyledDocument.fromString("ab\ncd\nef", "", "x", SegmentOps.styledTextOps()));
+    var changes = new ArrayList<List<RichTextChange<String, String, String>>>();
+    doc.multiRichChanges().subscribe(changes::add);
+
+    var same = StyleSpans.singleton("x", 2);
+    var other = StyleSpans.singleton("y", 2);
+    doc.setParagraphStyleSpans(0, List.of(same, same, same));
+    assertTrue(changes.isEmpty());
+
+    doc.setParagraphStyleSpans(0, List.of(other, same, other));
+    assertEquals(1, changes.size());
+    assertEquals(2, changes.get(0).size());
+    assertEquals("y", doc.getParagraph(0).getStyleAtPosition(1));
+    assertEquals("x", doc.getParagraph(1).getStyleAtPosition(1));
+    assertEquals("y", doc.getParagraph(2).getStyleAtPosition(1));
+    assertEquals("ab\ncd\nef", doc.getText());
+  }
+
+}
@@ -0,0 +1,203 @@
+package fx.rich.text.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import fx.rich.text.model.TwoDimensional.Bias;
+
+import static fx.rich.text.model.TwoDimensional.Bias.*;
+
+class MappedStyledDocumentTest {
+
+  @TempDir
+  Path dir;
+
+  MappedStyledDocument<String, String, String> open(String text, int cacheSize) throws IOException {
+    var file = dir.resolve("doc.txt");
+    Files.writeString(file, text, StandardCharsets.UTF_8);
+    return MappedStyledDocument.open(file, StandardCharsets.UTF_8, "", "", SegmentOps.<String>styledTextOps(), cacheSize);
+  }
+
+  @Test
+  void testMatchesReadOnlyDocument() throws IOException {
+    var sb = new StringBuilder();
+    for (var i = 0; i < 1000; ++i) {
+      sb.append("línea ").append(i).append(i % 3 == 0 ? "\r\n" : i % 3 == 1 ? "\r" : "\n");
+    }
+    var text = sb.toString();
+    var expected = ReadOnlyStyledDocument.fromString(text, "", "", SegmentOps.<String>styledTextOps());
+    var doc = open(text, 16);
+
+    assertEquals(expected.getParagraphCount(), doc.getParagraphCount());
+    assertEquals(expected.length(), doc.length());
+    assertEquals(expected.getParagraphs(), doc.getParagraphs());
+    assertEquals(text.replaceAll("\r\n|\r", "\n"), doc.getText());
+
+    for (var offset = 0; offset <= expected.length(); offset += 7) {
+      var pos = doc.offsetToPosition(offset, Forward);
+      var expectedPos = expected.offsetToPosition(offset, Forward);
+      assertEquals(expectedPos.getMajor(), pos.getMajor());
+      assertEquals(expectedPos.getMinor(), pos.getMinor());
+      assertEquals(offset, pos.toOffset());
+    }
+    assertEquals(expected.subSequence(100, 5000), doc.subSequence(100, 5000));
+  }
+
+  @Test
+  void testBiasAtLineAndChunkBoundaries() throws IOException {
+    var sb = new StringBuilder();
+    for (var i = 0; i < 600; ++i) {
+      sb.append(i % 5 == 0 ? "" : "x".repeat(i % 7)).append('\n');
+    }
+    var text = sb.toString();
+    var expected = ReadOnlyStyledDocument.fromString(text, "", "", SegmentOps.<String>styledTextOps());
+    var doc = open(text, 16);
+
+    for (var offset = 0; offset <= expected.length(); ++offset) {
+      for (var bias : Bias.values()) {
+        var pos = doc.offsetToPosition(offset, bias);
+        var expectedPos = expected.offsetToPosition(offset, bias);
+        assertEquals(expectedPos.getMajor(), pos.getMajor(), "offset " + offset + " " + bias);
+        assertEquals(expectedPos.getMinor(), pos.getMinor(), "offset " + offset + " " + bias);
+      }
+    }
+    var pos = doc.position(300, 0);
+    assertEquals(expected.position(300, 0).offsetBy(-1, Backward).getMajor(), pos.offsetBy(-1, Backward).getMajor());
+  }
+
+  @Test
+  void testSingleByteCharset() throws IOException {
+    var file = dir.resolve("latin1.txt");
+    var text = "caf\u00e9\nna\u00efve\r\n\u00fcber";
+    Files.writeString(file, text, StandardCharsets.ISO_8859_1);
+    var doc = MappedStyledDocument.open(file, StandardCharsets.ISO_8859_1, "", "", SegmentOps.<String>styledTextOps());
+    assertEquals(3, doc.getParagraphCount());
+    assertEquals(4, doc.getParagraphLength(0));
+    assertEquals(5, doc.getParagraphLength(1));
+    assertEquals("\u00fcber", doc.getText(2));
+    assertEquals(text.replace("\r\n", "\n"), doc.getText());
+  }
+
+  @Test
+  void testTextView() throws IOException {
+    var doc = open("one\ntwo\r\nthree", 1);
+    var view = doc.getTextView();
+    assertEquals("one\ntwo\nthree", view.toString());
+    assertEquals('\n', view.charAt(3));
+    assertEquals('t', view.charAt(8));
+    assertEquals("o\nth", view.subSequence(6, 10).toString());
+  }
+
+  @Test
+  void testEditsMatchGenericDocument() throws IOException {
+    var sb = new StringBuilder();
+    for (var i = 0; i < 1000; ++i) {
+      sb.append("línea ").append(i).append(i % 2 == 0 ? "\r\n" : "\n");
+    }
+    var text = sb.toString();
+    var segOps = SegmentOps.<String>styledTextOps();
+    var mapped = new MappedEditableStyledDocument<>(open(text, 16));
+    var expected = new SimpleEditableStyledDocument<>(ReadOnlyStyledDocument.fromString(text, "", "", segOps));
+
+    var changes = new ArrayList<RichTextChange<String, String, String>>();
+    var expectedChanges = new ArrayList<RichTextChange<String, String, String>>();
+    mapped.multiRichChanges().subscribe(changes::addAll);
+    expected.multiRichChanges().subscribe(expectedChanges::addAll);
+    var pars = new ArrayList<>(mapped.getParagraphs());
+    mapped.getParagraphs().observeChanges(ch -> {
+      for (var mod : ch) {
+        pars.subList(mod.getFrom(), mod.getFrom() + mod.getRemovedSize()).clear();
+        pars.addAll(mod.getFrom(), mod.getAddedSubList());
+      }
+    });
+
+    var edits = List.<Consumer<EditableStyledDocument<String, String, String>>>of(
+      d -> d.replace(1234, 1240, ReadOnlyStyledDocument.fromString("A\nB", "", "", segOps)),
+      d -> d.replace(0, 0, ReadOnlyStyledDocument.fromString("start\n", "", "", segOps)),
+      d -> d.replace(d.length() - 3, d.length(), ReadOnlyStyledDocument.fromString("", "", "", segOps)),
+      d -> d.replace(d.position(250, 2).toOffset(), d.position(260, 1).toOffset(), ReadOnlyStyledDocument.fromString("", "", "", segOps)),
+      d -> d.setStyle(500, 700, "bold"),
+      d -> d.setStyle(7, "italic"),
+      d -> d.setStyle(9, 1, 3, "underline"),
+      d -> d.setParagraphStyle(400, "indent"),
+      d -> d.setStyleSpans(3000, StyleSpans.singleton("x", 50)),
+      d -> d.setParagraphStyleSpans(600, List.of(StyleSpans.singleton("a", d.getParagraphLength(600)), StyleSpans.singleton("b", d.getParagraphLength(601)))),
+      d -> d.replaceMulti(List.of(
+        new Replacement<>(10, 12, ReadOnlyStyledDocument.fromString("Q", "", "", segOps)),
+        new Replacement<>(5000, 5000, ReadOnlyStyledDocument.fromString("\n\n", "", "", segOps))
+      ))
+    );
+    for (var edit : edits) {
+      edit.accept(mapped);
+      edit.accept(expected);
+      assertEquals(expected.length(), mapped.length());
+      assertEquals(expected.getParagraphs().size(), mapped.getParagraphs().size());
+      assertEquals(new ArrayList<>(expected.getParagraphs()), new ArrayList<>(mapped.getParagraphs()));
+      assertEquals(new ArrayList<>(expected.getParagraphs()), pars);
+      assertEquals(expectedChanges, changes);
+      for (var offset = 0; offset <= expected.length(); offset += 97) {
+        for (var bias : Bias.values()) {
+          var pos = mapped.offsetToPosition(offset, bias);
+          var expectedPos = expected.offsetToPosition(offset, bias);
+          assertEquals(expectedPos.getMajor(), pos.getMajor());
+          assertEquals(expectedPos.getMinor(), pos.getMinor());
+          assertEquals(offset, pos.toOffset());
+        }
+      }
+    }
+    assertEquals(expected.getText(), mapped.getTextView().toString());
+
+    // only the touched lines are held in memory
+    var tree = mapped.getDocument().tree;
+    var edited = 0;
+    for (var i = 0; i < tree.getLeafCount(); ++i) {
+      if (tree.getLeaf(i) instanceof MappedStyledDocument.Edited) {
+        ++edited;
+      }
+    }
+    assertTrue(edited < 100, edited + " edited paragraphs");
+  }
+
+  @Test
+  void testEditLeavesOriginalDocumentUnchanged() throws IOException {
+    var doc = open("one\ntwo\nthree", 2);
+    var segOps = SegmentOps.<String>styledTextOps();
+    var edited = doc.replace(5, 6, ReadOnlyStyledDocument.fromString("W\nW", "", "", segOps)).updated();
+    assertEquals("one\ntwo\nthree", doc.getTextView().toString());
+    assertEquals("one\ntW\nWo\nthree", edited.getTextView().toString());
+    assertEquals(4, edited.getParagraphCount());
+    assertEquals("three", edited.getParagraph(3).getText());
+  }
+
+  @Test
+  void testWholeTextIsRejected() throws IOException {
+    var doc = open("one\ntwo\nthree", 2);
+    var editable = new MappedEditableStyledDocument<>(doc);
+    assertEquals(3, editable.getParagraphs().size());
+    assertEquals("two", editable.getParagraphs().get(1).getText());
+    assertEquals(doc.length(), editable.getLength());
+    assertEquals("one\ntwo\nthree", editable.getTextView().toString());
+    assertEquals("o\nth", editable.getText(6, 10));
+    assertThrows(UnsupportedOperationException.class, editable::textProperty);
+    assertThrows(UnsupportedOperationException.class, editable::getText);
+    assertThrows(UnsupportedOperationException.class, editable::snapshot);
+  }
+
+  @Test
+  void testEmptyFile() throws IOException {
+    var doc = open("", 1);
+    assertEquals(1, doc.getParagraphCount());
+    assertEquals(0, doc.length());
+    assertEquals("", doc.getParagraph(0).getText());
+  }
+
+}
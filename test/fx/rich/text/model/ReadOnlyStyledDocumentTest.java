@@ -3,6 +3,17 @@ package fx.rich.text.model;
 import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
 import java.util.function.BiConsumer;
 
 import static fx.rich.text.model.ReadOnlyStyledDocument.*;
@@ -98,4 +109,116 @@ class ReadOnlyStyledDocumentTest {
     assertEquals(spans.getStyleSpan(2).getStyle(), bold);
   }
 
+  @Test
+  void testFromReaderMatchesFromString() throws IOException {
+    var segOps = SegmentOps.<Void>styledTextOps();
+    var text = "Foo\r\nBar\rBaz\n\nQux\r";
+    var expected = fromString(text, NULL, NULL, segOps);
+    assertEquals(6, expected.getParagraphCount());
+
+    // a reader that returns one char at a time, so that "\r\n" is split between two reads
+    var reader = new Reader() {
+      final StringReader source = new StringReader(text);
+      @Override public int read(char[] buf, int off, int len) throws IOException { return source.read(buf, off, Math.min(len, 1)); }
+      @Override public void close() {}
+    };
+    assertEquals(expected, fromReader(reader, NULL, NULL, segOps));
+
+    var channel = Channels.newChannel(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)));
+    assertEquals(expected, fromChannel(channel, StandardCharsets.UTF_8, NULL, NULL, segOps));
+  }
+
+  @Test
+  void testFromFileDecodesCharactersSplitBetweenMappedRegions() throws IOException {
+    var segOps = SegmentOps.<Void>styledTextOps();
+    // "\u20ac" takes 3 bytes and "\ud83d\ude00" 4 bytes in UTF-8; with small regions, some of them straddle
+    // a region boundary, and so does the "\r\n"
+    var text = "a\u20ac\r\n\u00e9\u20ac\ud83d\ude00b\n\n\u20ac\u20ac\u20ac\rend\u00e9";
+    var expected = fromString(text, NULL, NULL, segOps);
+    var file = Files.createTempFile("ReadOnlyStyledDocumentTest", ".txt");
+    try {
+      Files.write(file, text.getBytes(StandardCharsets.UTF_8));
+      assertEquals(expected, fromFile(file, StandardCharsets.UTF_8, NULL, NULL, segOps));
+      for (var mapSize = 1; mapSize <= 8; ++mapSize) {
+        try (var channel = FileChannel.open(file)) {
+          var loader = new ParagraphLoader<>(NULL, NULL, segOps, mapSize);
+          assertEquals(expected, loader.load(channel, StandardCharsets.UTF_8), "map size " + mapSize);
+          assertEquals(channel.size(), channel.position());
+        }
+      }
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  void testBulkReplaceMultiMatchesSequential() {
+    var segOps = SegmentOps.<String>styledTextOps();
+    var rnd = new Random(7);
+    var texts = new String[] { "", "a", "xy\n", "\n", "one\ntwo", "\n\nz" };
+    for (var round = 0; round < 200; ++round) {
+      var doc = fromString("lorem\nipsum dolor\n\nsit amet\nconsectetur\n", "P", "S", segOps);
+      var replacements = new ArrayList<Replacement<String, String, String>>();
+      var pos = 0; // position in the document as updated by the previous replacements
+      var length = doc.length();
+      while (pos <= length && replacements.size() < 8) {
+        var start = pos + rnd.nextInt(Math.min(4, length - pos + 1));
+        var end = start + rnd.nextInt(Math.min(3, length - start + 1));
+        var inserted = fromString(texts[rnd.nextInt(texts.length)], "Q", "T", segOps);
+        replacements.add(new Replacement<>(start, end, inserted));
+        length += inserted.length() - (end - start);
+        pos = start + inserted.length() + rnd.nextInt(2);
+      }
+      assertTrue(doc.isAscending(replacements));
+
+      var expected = doc.replaceMultiSequentially(replacements);
+      var actual = doc.replaceMulti(replacements);
+      assertEquals(expected.updated(), actual.updated());
+      assertEquals(expected.changes(), actual.changes());
+
+      var pars = new ArrayList<>(doc.getParagraphs());
+      for (var mod : actual.parChanges()) {
+        pars.subList(mod.getFrom(), mod.getFrom() + mod.getRemovedSize()).clear();
+        pars.addAll(mod.getFrom(), mod.getAdded());
+      }
+      assertEquals(actual.updated().getParagraphs(), pars);
+    }
+  }
+
+  @Test
+  void testBulkReplaceMultiReportsOnlyTouchedParagraphs() {
+    var segOps = SegmentOps.<String>styledTextOps();
+    var text = new StringBuilder();
+    for (var i = 0; i < 1000; ++i) {
+      text.append(i == 0 ? "" : "\n").append("par ").append(i);
+    }
+    var doc = fromString(text.toString(), "P", "S", segOps);
+    // replacements are given in the coordinates of the document updated by the previous ones
+    var lastStart = doc.getAbsolutePosition(999, 0) + "first\nline".length() - 3;
+    var replacements = List.of(
+      new Replacement<>(0, 3, fromString("first\nline", "P", "S", segOps)),
+      new Replacement<>(lastStart + 7, lastStart + 7, fromString("!", "P", "S", segOps))
+    );
+    var parChanges = doc.replaceMulti(replacements).parChanges();
+    assertEquals(2, parChanges.size());
+    assertEquals(0, parChanges.get(0).getFrom());
+    assertEquals(1, parChanges.get(0).getRemovedSize());
+    assertEquals(2, parChanges.get(0).getAddedSize());
+    assertEquals(1000, parChanges.get(1).getFrom());
+    assertEquals(1, parChanges.get(1).getRemovedSize());
+    assertEquals("par 999!", parChanges.get(1).getAdded().get(0).getText());
+  }
+
+  @Test
+  void testReplaceMultiFallsBackForOverlappingReplacements() {
+    var segOps = SegmentOps.<String>styledTextOps();
+    var doc = fromString("abcdef", "P", "S", segOps);
+    var replacements = List.of(
+      new Replacement<>(4, 5, fromString("X", "P", "S", segOps)),
+      new Replacement<>(1, 2, fromString("Y", "P", "S", segOps))
+    );
+    assertFalse(doc.isAscending(replacements));
+    assertEquals("aYcdXf", doc.replaceMulti(replacements).updated().getText());
+  }
+
 }
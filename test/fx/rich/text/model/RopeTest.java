@@ -0,0 +1,55 @@
+package fx.rich.text.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+class RopeTest {
+
+  static String randomText(Random rnd, int length) {
+    var sb = new StringBuilder(length);
+    for (var i = 0; i < length; ++i) {
+      sb.append((char) ('a' + rnd.nextInt(26)));
+    }
+    return sb.toString();
+  }
+
+  @Test
+  void testEditsMatchString() {
+    var rnd = new Random(12345);
+    var text = randomText(rnd, 5000);
+    var rope = Rope.of(text);
+    for (var i = 0; i < 2000; ++i) {
+      var at = rnd.nextInt(text.length() + 1);
+      var inserted = randomText(rnd, rnd.nextInt(5));
+      text = text.substring(0, at) + inserted + text.substring(at);
+      rope = rope.subSequence(0, at).concat(Rope.of(inserted)).concat(rope.subSequence(at));
+
+      var from = rnd.nextInt(text.length());
+      var to = Math.min(text.length(), from + rnd.nextInt(3));
+      text = text.substring(0, from) + text.substring(to);
+      rope = rope.subSequence(0, from).concat(rope.subSequence(to));
+
+      var index = rnd.nextInt(text.length());
+      assertEquals(text.charAt(index), rope.charAt(index));
+    }
+    assertEquals(text, rope.toString());
+    assertEquals(text.hashCode(), rope.hashCode());
+    assertEquals(Rope.of(text), rope);
+  }
+
+  @Test
+  void testRopeParagraph() {
+    var segOps = SegmentOps.<Boolean>ropeTextOps();
+    var p1 = new Paragraph<Void, Rope, Boolean>(null, segOps, segOps.create("Hello, "), true);
+    var p2 = new Paragraph<Void, Rope, Boolean>(null, segOps, segOps.create("World!"), true);
+
+    var p = p1.concat(p2);
+    assertEquals("Hello, World!", p.getText());
+    assertEquals("World", p.substring(7, 12));
+    assertEquals('W', p.charAt(7));
+    assertEquals("Hello!", p.delete(5, 12).getText());
+  }
+
+}
@@ -3,6 +3,8 @@ package fx.rich.text.model;
 import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+
 import javafx.scene.control.IndexRange;
 
 class SimpleEditableStyledDocumentTest {
@@ -134,4 +136,33 @@ class SimpleEditableStyledDocumentTest {
     assertEquals(expected, range);
   }
 
+  @Test
+  void testParagraphChangesOfFewAndManyReplacements() {
+    for (var count : new int[] { 3, 2 * GenericEditableStyledDocumentBase.INDEXED_ACCUMULATION_THRESHOLD }) {
+      var text = new StringBuilder();
+      for (var i = 0; i < 3 * count; ++i) {
+        text.append(i == 0 ? "" : "\n").append("p").append(i);
+      }
+      var document = new SimpleEditableStyledDocument<>("", "");
+      replaceText(document, 0, 0, text.toString());
+      var pars = new ArrayList<>(document.getParagraphs());
+      document.getParagraphs().observeChanges(ch -> {
+        for (var mod : ch) {
+          pars.subList(mod.getFrom(), mod.getFrom() + mod.getRemovedSize()).clear();
+          pars.addAll(mod.getFrom(), mod.getAddedSubList());
+        }
+      });
+
+      // replace "p" by "q\nq" in every third paragraph, in descending order
+      var replacements = new ArrayList<Replacement<String, String, String>>();
+      for (var i = 3 * count - 1; i >= 0; i -= 3) {
+        var start = document.getAbsolutePosition(i, 0);
+        replacements.add(new Replacement<>(start, start + 1, ReadOnlyStyledDocument.fromString("q\nq", "", "", segOps)));
+      }
+      document.replaceMulti(replacements);
+      assertEquals(4 * count, document.getParagraphs().size());
+      assertEquals(document.getParagraphs(), pars);
+    }
+  }
+
 }
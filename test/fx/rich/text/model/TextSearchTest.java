@@ -0,0 +1,80 @@
+package fx.rich.text.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.regex.Pattern;
+
+import javafx.scene.control.IndexRange;
+
+class TextSearchTest {
+
+  static final String TEXT = "the cat sat\non the mat\n\nthe end ñthe";
+
+  static ReadOnlyStyledDocument<String, String, String> doc(String text) {
+    return ReadOnlyStyledDocument.fromString(text, "", "", SegmentOps.styledTextOps());
+  }
+
+  static List<IndexRange> naiveFindAll(String text, String pattern) {
+    var result = new ArrayList<IndexRange>();
+    for (var i = text.indexOf(pattern); i >= 0; i = text.indexOf(pattern, i + pattern.length())) {
+      result.add(new IndexRange(i, i + pattern.length()));
+    }
+    return result;
+  }
+
+  @Test
+  void testDocumentTextMatchesGetText() {
+    var doc = doc(TEXT);
+    var text = new DocumentText(doc);
+    assertEquals(TEXT.length(), text.length());
+    for (var i = 0; i < TEXT.length(); ++i) {
+      assertEquals(TEXT.charAt(i), text.charAt(i));
+    }
+    // random access moves the cursor backwards and across paragraphs
+    var rnd = new Random(3);
+    for (var k = 0; k < 200; ++k) {
+      var i = rnd.nextInt(TEXT.length());
+      assertEquals(TEXT.charAt(i), text.charAt(i));
+    }
+    assertEquals(TEXT.substring(4, 15), text.subSequence(4, 15).toString());
+    assertEquals(TEXT.charAt(14), text.subSequence(4, 15).charAt(10));
+  }
+
+  @Test
+  void testLiteralMatchesIndexOf() {
+    var doc = doc(TEXT);
+    for (var pattern : List.of("the", "t", "at", "\n", "\nthe", "ñ", "the end ñthe", "xyz")) {
+      assertEquals(naiveFindAll(TEXT, pattern), TextSearch.literal(pattern).findAll(doc), pattern);
+    }
+    assertEquals(new IndexRange(12, 14), TextSearch.literal("on").find(doc, 0).get());
+    assertTrue(TextSearch.literal("cat").find(doc, 5).isEmpty());
+    assertThrows(IllegalArgumentException.class, () -> TextSearch.literal(""));
+  }
+
+  @Test
+  void testRegexOnDocument() {
+    var doc = doc(TEXT);
+    var regex = Pattern.compile("^the", Pattern.MULTILINE);
+    var expected = new ArrayList<IndexRange>();
+    var matcher = regex.matcher(TEXT);
+    while (matcher.find()) {
+      expected.add(new IndexRange(matcher.start(), matcher.end()));
+    }
+    assertEquals(2, expected.size());
+    assertEquals(expected, TextSearch.regex(regex).findAll(doc));
+    assertEquals(new IndexRange(4, 7), TextSearch.regex("[cm]at").find(doc, 0).get());
+  }
+
+  @Test
+  void testFindAllAsync() throws Exception {
+    var doc = doc(TEXT.repeat(100));
+    var matches = TextSearch.literal("the").findAllAsync(doc, ForkJoinPool.commonPool()).get();
+    assertEquals(naiveFindAll(TEXT.repeat(100), "the"), matches);
+  }
+
+}
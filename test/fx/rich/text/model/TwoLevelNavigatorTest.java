@@ -80,4 +80,35 @@ class TwoLevelNavigatorTest {
     assertEquals(0, pos.getMinor());
   }
 
+  // indexed navigator with 20 elements of lengths 0, 1, 2, 0, 1, 2, ...
+  final TwoLevelNavigator indexed = TwoLevelNavigator.indexed(() -> 20, i -> i % 3);
+  final TwoLevelNavigator walking = new TwoLevelNavigator(() -> 20, i -> i % 3);
+
+  @Test
+  void testIndexedOffsetToPositionMatchesWalking() {
+    for (var offset = 0; offset <= 25; ++offset) {
+      for (var bias : TwoDimensional.Bias.values()) {
+        var expected = walking.offsetToPosition(offset, bias);
+        var actual = indexed.offsetToPosition(offset, bias);
+        assertEquals(expected.getMajor(), actual.getMajor());
+        assertEquals(expected.getMinor(), actual.getMinor());
+        assertEquals(expected.toOffset(), actual.toOffset());
+      }
+    }
+  }
+
+  @Test
+  void testIndexedOffsetByMatchesWalking() {
+    for (var major = 0; major < 20; ++major) {
+      for (var amount = -25; amount <= 25; ++amount) {
+        for (var bias : TwoDimensional.Bias.values()) {
+          var expected = walking.position(major, major % 3).offsetBy(amount, bias);
+          var actual = indexed.position(major, major % 3).offsetBy(amount, bias);
+          assertEquals(expected.getMajor(), actual.getMajor());
+          assertEquals(expected.getMinor(), actual.getMinor());
+        }
+      }
+    }
+  }
+
 }
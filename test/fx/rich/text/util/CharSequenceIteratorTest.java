@@ -0,0 +1,46 @@
+package fx.rich.text.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.text.BreakIterator;
+import java.util.ArrayList;
+import java.util.List;
+
+import fx.rich.text.model.ReadOnlyStyledDocument;
+import fx.rich.text.model.SegmentOps;
+
+class CharSequenceIteratorTest {
+
+  static List<Integer> boundaries(BreakIterator iterator) {
+    var result = new ArrayList<Integer>();
+    for (var i = iterator.first(); i != BreakIterator.DONE; i = iterator.next()) {
+      result.add(i);
+    }
+    return result;
+  }
+
+  @Test
+  void testWordBreaksMatchString() {
+    var text = "Hello, world!\nSecond line; with words.\n\nüber 123";
+    var doc = ReadOnlyStyledDocument.fromString(text, "", "", SegmentOps.<String>styledTextOps());
+
+    var expected = BreakIterator.getWordInstance();
+    expected.setText(text);
+    var actual = BreakIterator.getWordInstance();
+    actual.setText(new CharSequenceIterator(doc.getTextView()));
+    assertEquals(boundaries(expected), boundaries(actual));
+
+    assertEquals(expected.preceding(20), actual.preceding(20));
+    assertEquals(expected.following(30), actual.following(30));
+  }
+
+  @Test
+  void testEmptyText() {
+    var iterator = new CharSequenceIterator("");
+    assertEquals(CharSequenceIterator.DONE, iterator.first());
+    assertEquals(CharSequenceIterator.DONE, iterator.last());
+    assertEquals(0, iterator.getEndIndex());
+  }
+
+}
@@ -0,0 +1,123 @@
+package fx.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import javafx.beans.property.SimpleObjectProperty;
+
+import fx.react.EventSource;
+import fx.react.ObservableBase;
+
+class IndexedItemListTest {
+
+  static Integer[] toArray(Vector<Integer> lh) {
+    return Vectors.toArray(lh, n -> new Integer[n]);
+  }
+
+  @Test
+  void testAddAndRemoveKeepInsertionOrder() {
+    Vector<Integer> lh = null;
+    for (var i = 0; i < 100; ++i) {
+      lh = Vectors.addIndexed(lh, i);
+    }
+    for (var i = 0; i < 100; i += 2) {
+      lh = Vectors.remove(lh, i);
+    }
+    assertEquals(50, Vectors.size(lh));
+    assertEquals(1, Vectors.get(lh, 0));
+    assertEquals(99, Vectors.get(lh, 49));
+    var res = new ArrayList<Integer>();
+    Vectors.forEach(lh, res::add);
+    for (var i = 0; i < 50; ++i) {
+      assertEquals(2 * i + 1, res.get(i));
+    }
+    assertEquals(2500, Vectors.reduce(lh, 0, Integer::sum));
+
+    for (var i = 1; i < 100; i += 2) {
+      lh = Vectors.remove(lh, i);
+    }
+    assertTrue(Vectors.isEmpty(lh));
+  }
+
+  @Test
+  void testEqualElements() {
+    Vector<Integer> lh = null;
+    lh = Vectors.addIndexed(lh, 1);
+    lh = Vectors.addIndexed(lh, 2);
+    lh = Vectors.addIndexed(lh, 1);
+    lh = Vectors.remove(lh, 1);
+    assertEquals(2, Vectors.size(lh));
+    lh = Vectors.remove(lh, 1);
+    assertArrayEquals(new Integer[] { 2 }, toArray(lh));
+    lh = Vectors.remove(lh, 1);
+    assertArrayEquals(new Integer[] { 2 }, toArray(lh));
+  }
+
+  @Test
+  void testRemoveWhileIterating() {
+    Vector<Integer> lh = Vectors.indexed(Vectors.add(Vectors.add(Vectors.add(null, 0), 1), 2));
+
+    var it = Vectors.iterator(lh);
+    assertEquals(0, it.next());
+    lh = Vectors.remove(lh, 1);
+    assertEquals(2, it.next()); // 1 is skipped
+    assertFalse(it.hasNext());
+    assertArrayEquals(new Integer[] { 0, 2 }, toArray(lh));
+  }
+
+  @Test
+  void testAddInForEach() {
+    var lh = new SimpleObjectProperty<Vector<Integer>>(null);
+    for (var i = 0; i < 3; ++i) {
+      lh.set(Vectors.addIndexed(lh.get(), i));
+    }
+    var visited = new ArrayList<Integer>();
+    Vectors.forEach(lh.get(), i -> {
+      visited.add(i);
+      for (var j = 0; j < 10; ++j) { // forces reallocation
+        lh.set(Vectors.addIndexed(lh.get(), 10 * (i + 1) + j));
+      }
+    });
+    assertEquals(3, visited.size());
+    assertEquals(33, Vectors.size(lh.get()));
+  }
+
+  @Test
+  void testRemoveInForEach() {
+    var lh = new SimpleObjectProperty<Vector<Integer>>(null);
+    for (var i = 0; i < 4; ++i) {
+      lh.set(Vectors.addIndexed(lh.get(), i));
+    }
+    var visited = new ArrayList<Integer>();
+    Vectors.forEach(lh.get(), i -> {
+      visited.add(i);
+      lh.set(Vectors.remove(lh.get(), 3 - i));
+    });
+    assertEquals(2, visited.size()); // 0 removes 3, 1 removes 2
+    assertArrayEquals(new Integer[] { 0, 1 }, toArray(lh.get()));
+  }
+
+  @Test
+  void testObservableWithIndexedObservers() {
+    var source = ObservableBase.withIndexedObservers(new EventSource<Integer>());
+    var sum = new int[1];
+    var subs = new ArrayList<fx.react.Subscription>();
+    for (var i = 0; i < 100; ++i) {
+      subs.add(source.subscribe(x -> sum[0] += x));
+    }
+    source.push(1);
+    assertEquals(100, sum[0]);
+    for (var i = 0; i < 100; i += 2) {
+      subs.get(i).unsubscribe();
+    }
+    source.push(1);
+    assertEquals(150, sum[0]);
+    subs.forEach(s -> s.unsubscribe());
+    source.push(1);
+    assertEquals(150, sum[0]);
+  }
+
+}
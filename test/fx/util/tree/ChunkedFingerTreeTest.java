@@ -0,0 +1,144 @@
+package fx.util.tree;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+class ChunkedFingerTreeTest {
+
+  static final ToSemigroup<Integer, Integer> SUM = new ToSemigroup<>() {
+    @Override public Integer apply(Integer i) { return i; }
+    @Override public Integer reduce(Integer left, Integer right) { return left + right; }
+  };
+
+  static int sum(List<Integer> list, int from, int to) {
+    return list.subList(from, to).stream().mapToInt(Integer::intValue).sum();
+  }
+
+  @Test
+  void testEditsMatchList() {
+    var rnd = new Random(12345);
+    var list = new ArrayList<Integer>();
+    for (var i = 0; i < 1000; ++i) {
+      list.add(rnd.nextInt(5));
+    }
+    var tree = ChunkedFingerTree.mkTree(list, SUM);
+    for (var i = 0; i < 500; ++i) {
+      var from = rnd.nextInt(list.size() + 1);
+      var to = from + rnd.nextInt(Math.min(40, list.size() - from) + 1);
+      var added = new ArrayList<Integer>();
+      for (var j = rnd.nextInt(40); j > 0; --j) {
+        added.add(rnd.nextInt(5));
+      }
+      list.subList(from, to).clear();
+      list.addAll(from, added);
+      tree = tree.split(from).a().join(ChunkedFingerTree.mkTree(added, SUM)).join(tree.split(to).b());
+
+      assertEquals(list.size(), tree.getLeafCount());
+      var a = rnd.nextInt(list.size() + 1);
+      var b = a + rnd.nextInt(list.size() - a + 1);
+      assertEquals(a == b ? null : sum(list, a, b), tree.getSummaryBetween(a, b).orElse(null));
+    }
+    assertEquals(list, tree.asList());
+  }
+
+  @Test
+  void testLocateProgressively() {
+    var list = List.of(3, 0, 2, 5, 1);
+    var tree = ChunkedFingerTree.mkTree(list, SUM);
+    var fingerTree = FingerTree.mkTree(list, SUM);
+    for (var position = 0; position <= 11; ++position) {
+      var expected = fingerTree.locateProgressively(Integer::intValue, position);
+      var actual = tree.locateProgressively(Integer::intValue, position);
+      assertEquals(expected.major, actual.major);
+      assertEquals(expected.minor, actual.minor);
+    }
+  }
+
+  static List<Integer> multiChunkList() {
+    // zero-length items at and around the chunk edges
+    var list = new ArrayList<Integer>();
+    for (var i = 0; i < 5 * ChunkedFingerTree.CHUNK_SIZE + 7; ++i) {
+      var k = i % ChunkedFingerTree.CHUNK_SIZE;
+      list.add(k == 0 || k == 1 || k == ChunkedFingerTree.CHUNK_SIZE - 1 ? 0 : i % 4);
+    }
+    return list;
+  }
+
+  @Test
+  void testLocateAcrossChunks() {
+    var list = multiChunkList();
+    var tree = ChunkedFingerTree.mkTree(list, SUM);
+    var fingerTree = FingerTree.mkTree(list, SUM);
+    var total = sum(list, 0, list.size());
+    for (var position = 0; position <= total; ++position) {
+      var expected = fingerTree.locateProgressively(Integer::intValue, position);
+      var actual = tree.locateProgressively(Integer::intValue, position);
+      assertEquals(expected.major, actual.major, "position " + position);
+      assertEquals(expected.minor, actual.minor, "position " + position);
+    }
+  }
+
+  @Test
+  void testSplitAtChunkEdges() {
+    var list = multiChunkList();
+    var tree = ChunkedFingerTree.mkTree(list, SUM);
+    var n = ChunkedFingerTree.CHUNK_SIZE;
+    for (var at : List.of(0, 1, n - 1, n, n + 1, 2 * n, 3 * n - 1, 4 * n + 1, list.size() - 1, list.size())) {
+      var split = tree.split(at);
+      assertEquals(list.subList(0, at), split.a().asList(), "split at " + at);
+      assertEquals(list.subList(at, list.size()), split.b().asList(), "split at " + at);
+      assertEquals(list, split.a().join(split.b()).asList());
+      for (var b = at; b <= list.size(); b += 7) {
+        assertEquals(at == b ? null : sum(list, at, b), tree.getSummaryBetween(at, b).orElse(null));
+      }
+    }
+  }
+
+  @Test
+  void testLeafEditsAtChunkEdges() {
+    var list = multiChunkList();
+    var tree = ChunkedFingerTree.mkTree(list, SUM);
+    var n = ChunkedFingerTree.CHUNK_SIZE;
+    for (var at : List.of(n - 1, n, 2 * n - 1, 2 * n)) {
+      list.set(at, 9);
+      tree = tree.updateLeaf(at, 9);
+      list.add(at, 7);
+      tree = tree.insertLeaf(at, 7);
+      assertEquals(list, tree.asList());
+      assertEquals(sum(list, 0, list.size()), tree.getSummaryOpt().get());
+    }
+    tree = tree.removeLeafs(n - 2, 2 * n + 2);
+    list.subList(n - 2, 2 * n + 2).clear();
+    assertEquals(list, tree.asList());
+    assertEquals(sum(list, 0, list.size()), tree.getSummaryOpt().get());
+    for (var i = 0; i < list.size(); ++i) {
+      assertEquals(list.get(i), tree.getLeaf(i));
+    }
+  }
+
+  @Test
+  void testNullItems() {
+    // like FingerTree, accepts null items if the semigroup does
+    ToSemigroup<Integer, Integer> nonNull = new ToSemigroup<>() {
+      @Override public Integer apply(Integer i) { return (i == null) ? 0 : 1; }
+      @Override public Integer reduce(Integer left, Integer right) { return left + right; }
+    };
+    var list = multiChunkList();
+    list.set(3, null);
+    var tree = ChunkedFingerTree.mkTree(list, nonNull);
+    var n = ChunkedFingerTree.CHUNK_SIZE;
+    for (var at : List.of(0, n, list.size())) {
+      list.add(at, null);
+      tree = tree.insertLeaf(at, null);
+    }
+    tree = tree.updateLeaf(1, null);
+    list.set(1, null);
+    assertEquals(list, tree.asList());
+    assertEquals(list.size() - 5, tree.getSummaryOpt().get());
+  }
+
+}
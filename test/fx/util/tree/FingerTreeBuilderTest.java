@@ -0,0 +1,62 @@
+package fx.util.tree;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class FingerTreeBuilderTest {
+
+  static final ToSemigroup<Integer, Integer> SUM = new ToSemigroup<>() {
+    @Override public Integer apply(Integer i) { return i; }
+    @Override public Integer reduce(Integer left, Integer right) { return left + right; }
+  };
+
+  @Test
+  void testEmpty() {
+    var builder = FingerTree.builder(SUM);
+    assertEquals(0, builder.getLeafCount());
+    assertTrue(builder.build().isEmpty());
+  }
+
+  @Test
+  void testBuildsTheSameListAsMkTree() {
+    // sizes around powers of 3, where levels fill up
+    for (var n : List.of(1, 2, 3, 4, 8, 9, 10, 26, 27, 28, 80, 81, 82, 1000)) {
+      var list = new ArrayList<Integer>();
+      var builder = FingerTree.builder(SUM);
+      for (var i = 0; i < n; ++i) {
+        list.add(i % 7);
+        builder.add(i % 7);
+      }
+      assertEquals(n, builder.getLeafCount());
+      var tree = builder.build();
+      assertEquals(list, tree.asList());
+      assertEquals(n, tree.getLeafCount());
+      assertEquals(FingerTree.mkTree(list, SUM).getSummaryOpt(), tree.getSummaryOpt());
+      for (var i = 0; i < n; i += 1 + n / 10) {
+        assertEquals(list.get(i), tree.getLeaf(i));
+        assertEquals(list.subList(0, i).stream().mapToInt(Integer::intValue).sum(),
+          tree.getSummaryBetween(0, i).orElse(0));
+      }
+      // the tree stays balanced
+      assertTrue(tree.getDepth() <= 2 + Math.ceil(Math.log(n) / Math.log(2)), "depth of " + n);
+    }
+  }
+
+  @Test
+  void testBuildDoesNotConsumeTheBuilder() {
+    var builder = FingerTree.builder(SUM);
+    for (var i = 0; i < 10; ++i) {
+      builder.add(i);
+    }
+    var first = builder.build();
+    builder.add(10);
+    var second = builder.build();
+    assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), first.asList());
+    assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10), second.asList());
+    assertEquals(55, second.getSummary(0));
+  }
+
+}
@@ -7,6 +7,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Random;
+import java.util.function.ToIntFunction;
 
 class FingerTreeTest {
 
@@ -74,4 +75,25 @@ class FingerTreeTest {
     assertEquals(list, bwRes);
   }
 
+  @Test
+  void testIntPairMetricLocatesLikeLambda() {
+    var semigroup = new ToSemigroup<Integer, IntPair>() {
+      @Override public IntPair apply(Integer len) { return new IntPair(1, len); }
+      @Override public IntPair reduce(IntPair l, IntPair r) { return new IntPair(l.first + r.first, l.second + r.second); }
+    };
+    var rnd = new Random(42);
+    var lengths = new ArrayList<Integer>();
+    for (var i = 0; i < 1000; ++i) {
+      lengths.add(rnd.nextInt(5));
+    }
+    var tree = FingerTree.mkTree(lengths, semigroup);
+    for (var metric : IntPair.Metric.values()) {
+      ToIntFunction<IntPair> lambda = p -> metric.applyAsInt(p);
+      var total = tree.getSummary(new IntPair(0, 0));
+      for (var pos = 0; pos <= metric.applyAsInt(total); ++pos) {
+        assertEquals(tree.locateProgressively(lambda, pos).toString(), tree.locateProgressively(metric, pos).toString());
+      }
+    }
+  }
+
 }